@@ -0,0 +1,115 @@
+package com.passmais.application.service;
+
+import com.passmais.PassmaisApplication;
+import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.domain.entity.PatientProfile;
+import com.passmais.domain.entity.User;
+import com.passmais.domain.enums.Role;
+import com.passmais.infrastructure.repository.DoctorProfileRepository;
+import com.passmais.infrastructure.repository.PatientProfileRepository;
+import com.passmais.infrastructure.repository.UserRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vazão de reservas concorrentes contra PostgreSQL real (SPRING_DATASOURCE_URL): cada horário é disputado por
+ * {@link #CONTENDERS} tentativas e o índice único parcial decide o vencedor. Os contadores booked/conflicts
+ * aparecem como métricas secundárias e devem ficar em 1 : (CONTENDERS - 1).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class AppointmentBookingBenchmark {
+
+    static final int CONTENDERS = 4;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private UserRepository userRepository;
+    private List<UUID> createdUsers;
+    private DoctorProfile doctor;
+    private PatientProfile patient;
+    private Instant firstSlot;
+    private final AtomicLong attempts = new AtomicLong();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long booked;
+        public long conflicts;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (System.getenv("SPRING_DATASOURCE_URL") == null) {
+            throw new IllegalStateException("Defina SPRING_DATASOURCE_URL (ex.: docker compose up -d db)");
+        }
+        context = new SpringApplicationBuilder(PassmaisApplication.class)
+                .properties("server.port=0")
+                .run();
+        appointmentService = context.getBean(AppointmentService.class);
+        userRepository = context.getBean(UserRepository.class);
+        User doctorUser = user(Role.DOCTOR);
+        User patientUser = user(Role.PATIENT);
+        createdUsers = List.of(doctorUser.getId(), patientUser.getId());
+        doctor = context.getBean(DoctorProfileRepository.class)
+                .save(DoctorProfile.builder().user(doctorUser).crm("CRM-" + UUID.randomUUID()).build());
+        patient = context.getBean(PatientProfileRepository.class)
+                .save(PatientProfile.builder().user(patientUser).cpf("000.000.000-00").build());
+        firstSlot = Instant.now().plus(Duration.ofDays(3)).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // remove usuários; perfis e consultas vão em cascata
+        userRepository.deleteAllById(createdUsers);
+        context.close();
+    }
+
+    @Benchmark
+    public void contendedBooking(Outcomes outcomes) {
+        long slotIndex = attempts.getAndIncrement() / CONTENDERS;
+        Instant slot = firstSlot.plus(Duration.ofMinutes(SlotCalendar.SLOT_MINUTES * slotIndex));
+        try {
+            appointmentService.schedule(doctor, patient, slot);
+            outcomes.booked++;
+        } catch (SlotUnavailableException e) {
+            outcomes.conflicts++;
+        }
+    }
+
+    private User user(Role role) {
+        return userRepository.save(User.builder()
+                .name("Benchmark reservas")
+                .email(UUID.randomUUID() + "@passmais.test")
+                .password("x")
+                .role(role)
+                .build());
+    }
+}
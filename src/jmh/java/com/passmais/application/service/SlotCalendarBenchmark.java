@@ -0,0 +1,79 @@
+package com.passmais.application.service;
+
+import com.passmais.application.service.SlotCalendarTest.Exception;
+import com.passmais.application.service.SlotCalendarTest.Window;
+import com.passmais.domain.enums.AvailabilityExceptionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta de slots livres em 90 dias para um médico com ~400 exceções por ano (bloqueios parciais em dias
+ * alternados, dias inteiros e janelas extras), comparada ao mesmo modelo semanal sem exceções.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotCalendarBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    // segunda-feira
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+    private static final LocalDate TO = MONDAY.plusDays(89);
+
+    private SlotCalendar weeklyOnly;
+    private SlotCalendar withExceptions;
+
+    @Setup
+    public void setup() {
+        List<Window> windows = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            windows.add(new Window(day, LocalTime.of(8, 0), LocalTime.of(12, 40)));
+            windows.add(new Window(day, LocalTime.of(14, 0), LocalTime.of(18, 40)));
+        }
+        List<Exception> exceptions = new ArrayList<>();
+        for (int d = 0; d < 365; d++) {
+            LocalDate date = MONDAY.plusDays(d);
+            if (d % 2 == 0) {
+                exceptions.add(new Exception(AvailabilityExceptionType.BLOCKED, date, date, LocalTime.of(9, 10), LocalTime.of(10, 20)));
+            }
+            if (d % 7 == 3) {
+                exceptions.add(new Exception(AvailabilityExceptionType.EXTRA, date, date, LocalTime.of(19, 0), LocalTime.of(21, 20)));
+            }
+            if (d % 30 == 0) {
+                exceptions.add(new Exception(AvailabilityExceptionType.BLOCKED, date, date.plusDays(1), null, null));
+            }
+        }
+        weeklyOnly = new SlotCalendar(windows, ZONE);
+        withExceptions = new SlotCalendar(windows, exceptions, ZONE);
+    }
+
+    @Benchmark
+    public List<SlotCalendar.DaySlots> weeklyOnly() {
+        return weeklyOnly.freeSlots(MONDAY, TO, List.of(), Instant.EPOCH);
+    }
+
+    @Benchmark
+    public List<SlotCalendar.DaySlots> hundredsOfExceptionsPerYear() {
+        return withExceptions.freeSlots(MONDAY, TO, List.of(), Instant.EPOCH);
+    }
+}
@@ -0,0 +1,67 @@
+package com.passmais.infrastructure.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de verificar o access token por requisição: caminho antigo (parser novo a cada chamada, duas
+ * verificações por requisição no filtro) contra parse único com parser reaproveitado e contra o cache de
+ * tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private static final String ISSUER = "passmais-api";
+    private static final String SECRET = "d4a94c1d02b64f8a9f5d2d5a3e2f4b6c0a1d2e3f4a5b6c7d8e9f0a1b2c3d4e5";
+
+    private Key key;
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup
+    public void setup() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        uncached = new JwtService(ISSUER, SECRET, 60, 24, false, 0);
+        cached = new JwtService(ISSUER, SECRET, 60, 24, true, 10_000);
+        token = uncached.generateAccessToken("paciente@passmais.com", Map.of(JwtService.ROLE_CLAIM, "PATIENT"));
+    }
+
+    @Benchmark
+    public void legacyParseTwice(Blackhole bh) {
+        for (int i = 0; i < 2; i++) {
+            bh.consume(Jwts.parserBuilder().setSigningKey(key).requireIssuer(ISSUER).build().parseClaimsJws(token));
+        }
+    }
+
+    @Benchmark
+    public Object singleParse() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Object cachedVerify() {
+        return cached.verify(token);
+    }
+}
@@ -0,0 +1,43 @@
+package com.passmais.application.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Canal local que apenas registra a mensagem. Atende as preferências configuradas enquanto não há
+ * provedor real; usado também em desenvolvimento e testes.
+ */
+@Component
+public class LocalStubChannel implements NotificationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalStubChannel.class);
+
+    private final Set<String> preferences;
+    private final AtomicLong delivered = new AtomicLong();
+
+    public LocalStubChannel(@Value("${notifications.outbox.stub-preferences:EMAIL,SMS,WHATSAPP,PUSH}") List<String> preferences) {
+        this.preferences = preferences.stream().map(String::trim).map(String::toUpperCase).collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Set<String> preferences() {
+        return preferences;
+    }
+
+    @Override
+    public void deliver(OutboundMessage message) {
+        delivered.incrementAndGet();
+        log.info("[stub] evento {} para usuário {}: {}", message.eventId(), message.userId(), message.subject());
+    }
+
+    public long deliveredCount() {
+        return delivered.get();
+    }
+}
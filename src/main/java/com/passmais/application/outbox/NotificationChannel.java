@@ -0,0 +1,15 @@
+package com.passmais.application.outbox;
+
+import java.util.Set;
+
+/**
+ * Canal externo de entrega (e-mail, SMS, push...). Escolhido pela preferência de comunicação do paciente;
+ * lançar exceção faz o despachante tentar de novo mais tarde, com backoff.
+ */
+public interface NotificationChannel {
+
+    // valores de PatientProfile.communicationPreference atendidos por este canal (maiúsculos)
+    Set<String> preferences();
+
+    void deliver(OutboundMessage message) throws Exception;
+}
@@ -0,0 +1,6 @@
+package com.passmais.application.outbox;
+
+import java.util.UUID;
+
+// mensagem pronta para um canal externo; `eventId` permite ao provedor descartar reenvios
+public record OutboundMessage(UUID eventId, UUID userId, String email, String phone, String subject, String body) {}
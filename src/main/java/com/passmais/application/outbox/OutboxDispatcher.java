@@ -0,0 +1,241 @@
+package com.passmais.application.outbox;
+
+import com.passmais.domain.enums.NotificationType;
+import com.passmais.infrastructure.notification.NotificationEvent;
+import com.passmais.infrastructure.notification.NotificationWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Entrega os eventos do outbox. Cada lote é reivindicado com FOR UPDATE SKIP LOCKED (vários nós dividem a
+ * fila sem duplicar), entregue no canal externo da preferência do paciente e, com sucesso, vira notificação
+ * interna (caixa + stream) na mesma transação que marca o evento como despachado. Falhas voltam para a fila
+ * com backoff exponencial até o limite de tentativas.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final String CLAIM_SQL =
+            "select id, event_type, aggregate_id, attempts, created_at from outbox_events " +
+            "where dispatched_at is null and failed_at is null and available_at <= now() " +
+            "order by available_at limit ? for update skip locked";
+    private static final String RECIPIENTS_SQL =
+            "select a.id, a.date_time, p.user_id as patient_user_id, p.communication_preference, u.email, p.cell_phone, " +
+            "d.user_id as doctor_user_id from appointments a " +
+            "join patient_profiles p on p.id = a.patient_id join users u on u.id = p.user_id " +
+            "join doctor_profiles d on d.id = a.doctor_id where a.id = any(?)";
+    private static final String DISPATCHED_SQL =
+            "update outbox_events set dispatched_at = ?, attempts = attempts + 1, last_error = null where id = ?";
+    private static final String RETRY_SQL =
+            "update outbox_events set attempts = ?, available_at = ?, last_error = ?, failed_at = ? where id = ?";
+
+    record Claimed(UUID id, OutboxEventType type, UUID aggregateId, int attempts, Instant createdAt) {}
+
+    record Recipients(Instant dateTime, UUID patientUserId, String preference, String email, String phone, UUID doctorUserId) {}
+
+    private record Retry(Claimed event, String error) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationWriter notificationWriter;
+    private final Map<String, NotificationChannel> channelsByPreference = new HashMap<>();
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final ZoneId zone;
+    private final Counter dispatched;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer lag;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            NotificationWriter notificationWriter,
+                            List<NotificationChannel> channels,
+                            MeterRegistry meterRegistry,
+                            @Value("${notifications.outbox.batch-size:100}") int batchSize,
+                            @Value("${notifications.outbox.max-attempts:8}") int maxAttempts,
+                            @Value("${notifications.outbox.backoff-base-ms:2000}") long backoffBaseMs,
+                            @Value("${notifications.outbox.backoff-max-ms:600000}") long backoffMaxMs,
+                            @Value("${scheduling.time-zone:America/Sao_Paulo}") String zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationWriter = notificationWriter;
+        // canais específicos registrados depois sobrepõem o stub para a mesma preferência
+        for (NotificationChannel channel : channels) {
+            for (String preference : channel.preferences()) {
+                if (!(channel instanceof LocalStubChannel) || !channelsByPreference.containsKey(preference)) {
+                    channelsByPreference.put(preference, channel);
+                }
+            }
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = Duration.ofMillis(backoffBaseMs);
+        this.backoffMax = Duration.ofMillis(backoffMaxMs);
+        this.zone = ZoneId.of(zone);
+        this.dispatched = meterRegistry.counter("outbox.dispatched");
+        this.retried = meterRegistry.counter("outbox.retried");
+        this.failed = meterRegistry.counter("outbox.failed");
+        this.lag = meterRegistry.timer("outbox.lag");
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.interval-ms:1000}")
+    public void dispatch() {
+        try {
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> dispatchBatch(Instant.now()));
+            } while (claimed != null && claimed == batchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao despachar outbox: {}", ex.getMessage());
+        }
+    }
+
+    int dispatchBatch(Instant now) {
+        List<Claimed> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, i) -> new Claimed(
+                rs.getObject("id", UUID.class),
+                OutboxEventType.valueOf(rs.getString("event_type")),
+                rs.getObject("aggregate_id", UUID.class),
+                rs.getInt("attempts"),
+                rs.getTimestamp("created_at").toInstant()), batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, Recipients> recipients = loadRecipients(claimed);
+
+        List<Claimed> done = new ArrayList<>(claimed.size());
+        List<Retry> retries = new ArrayList<>();
+        List<NotificationEvent> inApp = new ArrayList<>();
+        for (Claimed event : claimed) {
+            Recipients r = recipients.get(event.aggregateId());
+            if (r == null) {
+                // consulta removida: nada a entregar
+                done.add(event);
+                continue;
+            }
+            String when = FORMAT.format(r.dateTime().atZone(zone));
+            NotificationChannel channel = r.preference() == null ? null
+                    : channelsByPreference.get(r.preference().trim().toUpperCase(Locale.ROOT));
+            if (channel != null) {
+                try {
+                    channel.deliver(new OutboundMessage(event.id(), r.patientUserId(), r.email(), r.phone(),
+                            subject(event.type()), patientText(event.type(), when)));
+                } catch (Exception ex) {
+                    retries.add(new Retry(event, ex.getMessage()));
+                    continue;
+                }
+            }
+            NotificationType type = event.type() == OutboxEventType.APPOINTMENT_CANCELED
+                    ? NotificationType.CANCELLATION
+                    : NotificationType.NEW_APPOINTMENT;
+            inApp.add(new NotificationEvent(UUID.randomUUID(), r.patientUserId(), type, patientText(event.type(), when), now));
+            inApp.add(new NotificationEvent(UUID.randomUUID(), r.doctorUserId(), type, doctorText(event.type(), when), now));
+            done.add(event);
+        }
+
+        notificationWriter.write(inApp);
+        Timestamp at = Timestamp.from(now);
+        jdbcTemplate.batchUpdate(DISPATCHED_SQL, done, done.size(), (ps, e) -> {
+            ps.setTimestamp(1, at);
+            ps.setObject(2, e.id());
+        });
+        jdbcTemplate.batchUpdate(RETRY_SQL, retries, retries.size(), (ps, r) -> {
+            int attempts = r.event().attempts() + 1;
+            boolean exhausted = attempts >= maxAttempts;
+            ps.setInt(1, attempts);
+            ps.setTimestamp(2, Timestamp.from(now.plus(backoff(attempts))));
+            ps.setString(3, truncate(r.error()));
+            ps.setTimestamp(4, exhausted ? at : null);
+            ps.setObject(5, r.event().id());
+        });
+
+        for (Claimed e : done) {
+            lag.record(Duration.between(e.createdAt(), now));
+        }
+        dispatched.increment(done.size());
+        for (Retry r : retries) {
+            (r.event().attempts() + 1 >= maxAttempts ? failed : retried).increment();
+        }
+        return claimed.size();
+    }
+
+    // base * 2^(tentativas - 1), limitado ao máximo
+    Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        Duration delay = backoffBase.multipliedBy(1L << Math.max(shift, 0));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private Map<UUID, Recipients> loadRecipients(List<Claimed> claimed) {
+        UUID[] ids = claimed.stream().map(Claimed::aggregateId).distinct().toArray(UUID[]::new);
+        return jdbcTemplate.execute((ConnectionCallback<Map<UUID, Recipients>>) con -> {
+            Map<UUID, Recipients> result = new HashMap<>();
+            try (PreparedStatement ps = con.prepareStatement(RECIPIENTS_SQL)) {
+                ps.setArray(1, con.createArrayOf("uuid", ids));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        result.put(rs.getObject("id", UUID.class), new Recipients(
+                                rs.getTimestamp("date_time").toInstant(),
+                                rs.getObject("patient_user_id", UUID.class),
+                                rs.getString("communication_preference"),
+                                rs.getString("email"),
+                                rs.getString("cell_phone"),
+                                rs.getObject("doctor_user_id", UUID.class)));
+                    }
+                }
+            }
+            return result;
+        });
+    }
+
+    private static String subject(OutboxEventType type) {
+        return type == OutboxEventType.APPOINTMENT_CANCELED ? "Consulta cancelada" : "Consulta agendada";
+    }
+
+    private static String patientText(OutboxEventType type, String when) {
+        return type == OutboxEventType.APPOINTMENT_CANCELED
+                ? "Sua consulta de " + when + " foi cancelada"
+                : "Sua consulta foi agendada para " + when;
+    }
+
+    private static String doctorText(OutboxEventType type, String when) {
+        return type == OutboxEventType.APPOINTMENT_CANCELED
+                ? "A consulta de " + when + " foi cancelada"
+                : "Nova consulta agendada para " + when;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return "erro sem mensagem";
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
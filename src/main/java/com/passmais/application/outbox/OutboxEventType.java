@@ -0,0 +1,6 @@
+package com.passmais.application.outbox;
+
+public enum OutboxEventType {
+    APPOINTMENT_SCHEDULED,
+    APPOINTMENT_CANCELED
+}
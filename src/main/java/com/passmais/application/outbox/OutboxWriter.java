@@ -0,0 +1,40 @@
+package com.passmais.application.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Acrescenta um evento ao outbox. Exige transação aberta: o evento só existe se a mudança que o originou
+ * for confirmada, e nenhuma entrega externa acontece dentro da requisição.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_SQL =
+            "insert into outbox_events (id, event_type, aggregate_id, payload) values (?, ?, ?, cast(? as jsonb))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UUID append(OutboxEventType type, UUID aggregateId, Object payload) {
+        UUID id = UUID.randomUUID();
+        try {
+            jdbcTemplate.update(INSERT_SQL, id, type.name(), aggregateId, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento do outbox", e);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,49 @@
+package com.passmais.application.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de paginação por chave (seek) sobre (instante, id). O custo de cada página independe de
+ * quantas páginas vieram antes, ao contrário de OFFSET.
+ */
+public record KeysetCursor(Instant at, UUID id) {
+
+    // anterior a qualquer linha real: usado como início quando não há cursor
+    public static final KeysetCursor START = new KeysetCursor(Instant.EPOCH, new UUID(0L, 0L));
+    // posterior a qualquer linha real: início de listagens em ordem decrescente
+    public static final KeysetCursor END = new KeysetCursor(Instant.parse("9999-12-31T23:59:59Z"), new UUID(-1L, -1L));
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public String encode() {
+        String raw = at.getEpochSecond() + ":" + at.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decodeOr(String token, KeysetCursor fallback) {
+        if (token == null || token.isBlank()) {
+            return fallback;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+            Instant at = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new KeysetCursor(at, UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,20 @@
+package com.passmais.application.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record KeysetPage<T>(List<T> items, KeysetCursor next) {
+
+    // `rows` vem da consulta com limit + 1: a linha extra só indica que existe próxima página
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, KeysetCursor> keyOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, keyOf.apply(items.get(limit - 1)));
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,30 @@
+package com.passmais.application.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de paginação por chave sobre (relevância, id), em ordem decrescente. A relevância é recalculada
+ * igual em toda requisição, então o valor exato da última linha basta como ponto de partida.
+ */
+public record ScoreCursor(double score, UUID id) {
+
+    public String encode() {
+        String raw = Double.toString(score) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // nulo quando não há cursor: primeira página
+    public static ScoreCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 2);
+            return new ScoreCursor(Double.parseDouble(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.passmais.application.payment;
+
+import com.passmais.domain.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ChargeRequest(UUID paymentId, PaymentMethod method, BigDecimal value, String description) {}
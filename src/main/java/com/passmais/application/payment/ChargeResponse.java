@@ -0,0 +1,4 @@
+package com.passmais.application.payment;
+
+// checkoutData: copia-e-cola do PIX ou URL de checkout do cartão, repassado ao cliente
+public record ChargeResponse(String reference, String checkoutData) {}
@@ -0,0 +1,7 @@
+package com.passmais.application.payment;
+
+import com.passmais.domain.enums.PaymentStatus;
+
+import java.util.UUID;
+
+public record GatewayEvent(String eventId, UUID paymentId, PaymentStatus status, String receipt) {}
@@ -0,0 +1,99 @@
+package com.passmais.application.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.passmais.domain.enums.PaymentMethod;
+import com.passmais.domain.enums.PaymentStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway simulado para desenvolvimento e testes: aprova toda cobrança após a latência configurada, sem
+ * rede. Webhooks são JSON {eventId, paymentId, status, receipt} assinados com HMAC-SHA256 (hex) do corpo.
+ * Só é registrado com payments.gateway=local: em qualquer outro ambiente /webhooks/local não existe.
+ */
+@Component
+@ConditionalOnProperty(name = "payments.gateway", havingValue = LocalPaymentGateway.NAME)
+public class LocalPaymentGateway implements PaymentGateway {
+
+    static final String NAME = "local";
+
+    record Webhook(String eventId, UUID paymentId, PaymentStatus status, String receipt) {}
+
+    private final ObjectMapper objectMapper;
+    private final byte[] secret;
+    private final Executor delayed;
+
+    public LocalPaymentGateway(ObjectMapper objectMapper,
+                               @Value("${payments.local.webhook-secret}") String secret,
+                               @Value("${payments.local.latency-ms:200}") long latencyMs) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("payments.local.webhook-secret é obrigatório");
+        }
+        this.objectMapper = objectMapper;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.delayed = CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public CompletableFuture<ChargeResponse> createCharge(ChargeRequest request) {
+        // referência derivada do pagamento: repetir a cobrança devolve a mesma, como num gateway real
+        String reference = "local_" + request.paymentId();
+        String checkout = request.method() == PaymentMethod.PIX
+                ? "PIX-LOCAL:" + reference + ":" + request.value().toPlainString()
+                : "https://localhost/checkout/" + reference;
+        return CompletableFuture.supplyAsync(() -> new ChargeResponse(reference, checkout), delayed);
+    }
+
+    @Override
+    public GatewayEvent parseWebhook(byte[] body, String signature) {
+        byte[] expected = HexFormat.of().formatHex(hmac(body)).getBytes(StandardCharsets.US_ASCII);
+        if (signature == null || !MessageDigest.isEqual(expected, signature.trim().toLowerCase().getBytes(StandardCharsets.US_ASCII))) {
+            throw new BadCredentialsException("Assinatura do webhook inválida");
+        }
+        Webhook webhook;
+        try {
+            webhook = objectMapper.readValue(body, Webhook.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Webhook malformado");
+        }
+        if (webhook.eventId() == null || webhook.eventId().isBlank() || webhook.paymentId() == null
+                || webhook.status() == null || webhook.status() == PaymentStatus.PENDING) {
+            throw new IllegalArgumentException("Webhook malformado");
+        }
+        return new GatewayEvent(webhook.eventId(), webhook.paymentId(), webhook.status(), webhook.receipt());
+    }
+
+    // usado pelos testes e para simular o gateway manualmente (curl)
+    public String sign(byte[] body) {
+        return HexFormat.of().formatHex(hmac(body));
+    }
+
+    private byte[] hmac(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.passmais.application.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Gateway de pagamento (PIX, cartão). As chamadas não bloqueiam: a cobrança devolve um future concluído
+ * pelo cliente HTTP do gateway, sem prender thread de requisição nem conexão do banco. A confirmação chega
+ * depois, por webhook.
+ */
+public interface PaymentGateway {
+
+    // valor de payments.gateway e do caminho /api/payments/webhooks/{gateway}
+    String name();
+
+    // o gateway deve usar paymentId como chave de idempotência e devolvê-lo nos webhooks
+    CompletableFuture<ChargeResponse> createCharge(ChargeRequest request);
+
+    // valida a assinatura (BadCredentialsException) e traduz o corpo (IllegalArgumentException se malformado)
+    GatewayEvent parseWebhook(byte[] body, String signature);
+}
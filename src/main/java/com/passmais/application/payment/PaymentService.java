@@ -0,0 +1,327 @@
+package com.passmais.application.payment;
+
+import com.passmais.application.service.ResourceNotFoundException;
+import com.passmais.domain.enums.AppointmentStatus;
+import com.passmais.domain.enums.PaymentMethod;
+import com.passmais.domain.enums.PaymentStatus;
+import com.passmais.infrastructure.audit.AuditEvent;
+import com.passmais.infrastructure.audit.AuditTrailWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Intenções de pagamento e recepção de webhooks. A intenção é gravada numa transação curta (chave de
+ * idempotência + pagamento PENDING); a cobrança no gateway roda depois do commit, sem conexão presa, e
+ * o resultado é gravado por um pool próprio e pequeno. Com o pool saturado, o thread do gateway não grava
+ * nada: a resposta sai da memória e o pagamento fica PENDING sem referência até a reconciliação marcá-lo
+ * FAILED (um webhook PAID posterior ainda o confirma). Webhooks são só validados e enfileirados aqui; as
+ * transições de status ficam com o {@link PaymentWebhookProcessor}.
+ */
+@Service
+public class PaymentService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
+    static final int MAX_KEY_LENGTH = 120;
+
+    private static final String OWNER_SQL =
+            "select p.user_id, a.status from appointments a join patient_profiles p on p.id = a.patient_id where a.id = ?";
+    private static final String FIND_KEY_SQL =
+            "select request_hash, payment_id from payment_idempotency_keys where user_id = ? and idempotency_key = ?";
+    // a chave vem primeiro: uma requisição repetida em paralelo espera aqui e depois cai no replay
+    private static final String INSERT_KEY_SQL =
+            "insert into payment_idempotency_keys (user_id, idempotency_key, request_hash, payment_id) " +
+            "values (?, ?, ?, ?) on conflict (user_id, idempotency_key) do nothing";
+    // um pagamento por consulta; só um FAILED pode ser reaberto por uma nova intenção
+    private static final String UPSERT_PAYMENT_SQL =
+            "insert into payments (id, appointment_id, method, value, status, gateway) " +
+            "values (?, ?, ?, ?, 'PENDING', ?) on conflict (appointment_id) do update set " +
+            "method = excluded.method, value = excluded.value, status = 'PENDING', gateway = excluded.gateway, " +
+            "gateway_reference = null, checkout_data = null, receipt = null, paid_at = null " +
+            "where payments.status = 'FAILED' returning id";
+    private static final String RELINK_KEY_SQL =
+            "update payment_idempotency_keys set payment_id = ? where user_id = ? and idempotency_key = ?";
+    private static final String CHARGED_SQL =
+            "update payments set gateway_reference = ?, checkout_data = ? where id = ? and gateway_reference is null";
+    private static final String CHARGE_FAILED_SQL =
+            "update payments set status = 'FAILED' where id = ? and status = 'PENDING' and gateway_reference is null";
+    // cobrança cujo resultado não foi gravado (pool saturado ou nó reiniciado) passado o prazo do gateway
+    private static final String RECONCILE_SQL =
+            "update payments set status = 'FAILED' where status = 'PENDING' and gateway_reference is null " +
+            "and created_at < now() - make_interval(secs => ?)";
+    private static final String VIEW_SQL =
+            "select py.id, py.appointment_id, py.method, py.value, py.status, py.checkout_data, py.created_at, " +
+            "p.user_id from payments py join appointments a on a.id = py.appointment_id " +
+            "join patient_profiles p on p.id = a.patient_id where py.id = ?";
+    private static final String INSERT_WEBHOOK_SQL =
+            "insert into payment_webhook_events (id, gateway, event_id, payment_id, status, receipt) " +
+            "values (?, ?, ?, ?, ?, ?) on conflict (gateway, event_id) do nothing";
+
+    public record PaymentView(UUID id, UUID appointmentId, PaymentMethod method, BigDecimal value,
+                              PaymentStatus status, String checkoutData, Instant createdAt) {}
+
+    // replayed = resposta de uma Idempotency-Key já usada (nenhuma cobrança nova)
+    public record IntentResult(PaymentView payment, boolean replayed) {}
+
+    private record Prepared(UUID paymentId, boolean replayed) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditTrailWriter auditTrail;
+    private final Map<String, PaymentGateway> gateways = new HashMap<>();
+    private final PaymentGateway activeGateway;
+    private final BigDecimal consultationValue;
+    private final long gatewayTimeoutMs;
+    private final ThreadPoolExecutor callbacks;
+    private final Counter charged;
+    private final Counter chargeFailed;
+    private final Counter replays;
+    private final Counter callbacksRejected;
+    private final Counter webhooksReceived;
+    private final Counter webhooksDuplicated;
+
+    public PaymentService(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          AuditTrailWriter auditTrail,
+                          List<PaymentGateway> gateways,
+                          MeterRegistry meterRegistry,
+                          @Value("${payments.gateway:}") String activeGateway,
+                          @Value("${payments.consultation-value:150.00}") BigDecimal consultationValue,
+                          @Value("${payments.gateway-timeout-ms:15000}") long gatewayTimeoutMs,
+                          @Value("${payments.callback-threads:4}") int callbackThreads,
+                          @Value("${payments.callback-queue:1000}") int callbackQueue) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.auditTrail = auditTrail;
+        for (PaymentGateway gateway : gateways) {
+            this.gateways.put(gateway.name(), gateway);
+        }
+        // vazio = pagamentos desligados; nome configurado sem implementação registrada é erro de implantação
+        this.activeGateway = activeGateway.isBlank() ? null : this.gateways.get(activeGateway);
+        if (this.activeGateway == null && !activeGateway.isBlank()) {
+            throw new IllegalStateException("Gateway de pagamento desconhecido: " + activeGateway);
+        }
+        this.consultationValue = consultationValue;
+        this.gatewayTimeoutMs = gatewayTimeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "payment-callback-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        // fila cheia rejeita: o thread do gateway (I/O do cliente HTTP) nunca executa JDBC
+        this.callbacks = new ThreadPoolExecutor(callbackThreads, callbackThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(callbackQueue), factory, new ThreadPoolExecutor.AbortPolicy());
+        this.charged = meterRegistry.counter("payments.charged");
+        this.chargeFailed = meterRegistry.counter("payments.charge.failed");
+        this.replays = meterRegistry.counter("payments.idempotent.replays");
+        this.callbacksRejected = meterRegistry.counter("payments.callbacks.rejected");
+        this.webhooksReceived = meterRegistry.counter("payments.webhooks.received");
+        this.webhooksDuplicated = meterRegistry.counter("payments.webhooks.duplicated");
+    }
+
+    public CompletableFuture<IntentResult> createIntent(UUID userId, String idempotencyKey,
+                                                        UUID appointmentId, PaymentMethod method) {
+        if (activeGateway == null) {
+            throw new PaymentsUnavailableException();
+        }
+        String key = idempotencyKey == null ? "" : idempotencyKey.trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Cabeçalho Idempotency-Key obrigatório (até " + MAX_KEY_LENGTH + " caracteres)");
+        }
+        String requestHash = requestHash(appointmentId, method);
+        Prepared prepared = transactionTemplate.execute(status -> prepare(userId, key, requestHash, appointmentId, method));
+        if (prepared.replayed()) {
+            replays.increment();
+            return CompletableFuture.completedFuture(new IntentResult(view(prepared.paymentId()), true));
+        }
+        UUID paymentId = prepared.paymentId();
+        CompletableFuture<ChargeResponse> charge;
+        try {
+            charge = activeGateway.createCharge(new ChargeRequest(paymentId, method, consultationValue,
+                    "Consulta " + appointmentId));
+        } catch (RuntimeException ex) {
+            charge = CompletableFuture.failedFuture(ex);
+        }
+        Instant requestedAt = Instant.now();
+        CompletableFuture<IntentResult> result = new CompletableFuture<>();
+        charge.orTimeout(gatewayTimeoutMs, TimeUnit.MILLISECONDS).whenComplete((response, error) -> {
+            try {
+                callbacks.execute(() -> {
+                    try {
+                        result.complete(settle(userId, paymentId, appointmentId, method, response, error));
+                    } catch (RuntimeException ex) {
+                        result.completeExceptionally(ex);
+                    }
+                });
+            } catch (RejectedExecutionException rejected) {
+                // sem gravar: a reconciliação (ou o webhook do gateway) resolve o pagamento depois
+                callbacksRejected.increment();
+                log.warn("Pool de retorno de pagamentos cheio; pagamento {} fica para a reconciliação", paymentId);
+                audit(userId, error == null ? "PAYMENT_INTENT_CREATED" : "PAYMENT_INTENT_FAILED",
+                        paymentId, appointmentId, method);
+                result.complete(new IntentResult(new PaymentView(paymentId, appointmentId, method, consultationValue,
+                        error == null ? PaymentStatus.PENDING : PaymentStatus.FAILED,
+                        error == null ? response.checkoutData() : null, requestedAt), false));
+            }
+        });
+        return result;
+    }
+
+    private IntentResult settle(UUID userId, UUID paymentId, UUID appointmentId, PaymentMethod method,
+                                ChargeResponse response, Throwable error) {
+        if (error != null) {
+            chargeFailed.increment();
+            log.warn("Cobrança do pagamento {} falhou: {}", paymentId, error.toString());
+            jdbcTemplate.update(CHARGE_FAILED_SQL, paymentId);
+        } else {
+            charged.increment();
+            jdbcTemplate.update(CHARGED_SQL, response.reference(), response.checkoutData(), paymentId);
+        }
+        audit(userId, error == null ? "PAYMENT_INTENT_CREATED" : "PAYMENT_INTENT_FAILED",
+                paymentId, appointmentId, method);
+        return new IntentResult(view(paymentId), false);
+    }
+
+    // folga de duas vezes o timeout do gateway: retornos ainda na fila do pool chegam antes
+    @Scheduled(fixedDelayString = "${payments.reconcile-interval-ms:60000}",
+            initialDelayString = "${payments.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            int failed = jdbcTemplate.update(RECONCILE_SQL, 2 * gatewayTimeoutMs / 1000.0);
+            if (failed > 0) {
+                log.info("{} pagamentos sem resultado da cobrança marcados como FAILED", failed);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha na reconciliação de pagamentos: {}", ex.getMessage());
+        }
+    }
+
+    // auditado só com o resultado da cobrança conhecido; replays não geram evento e a chave não é registrada
+    private void audit(UUID userId, String action, UUID paymentId, UUID appointmentId, PaymentMethod method) {
+        auditTrail.enqueue(new AuditEvent(UUID.randomUUID(), false, userId, action,
+                "PaymentService.createIntent(" + paymentId + ", " + appointmentId + ", " + method + ")", Instant.now()));
+    }
+
+    private Prepared prepare(UUID userId, String key, String requestHash, UUID appointmentId, PaymentMethod method) {
+        Optional<Prepared> existing = findKey(userId, key, requestHash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        List<Map<String, Object>> owner = jdbcTemplate.queryForList(OWNER_SQL, appointmentId);
+        if (owner.isEmpty() || !userId.equals(owner.get(0).get("user_id"))) {
+            throw new ResourceNotFoundException("Consulta não encontrada");
+        }
+        if (AppointmentStatus.CANCELED.name().equals(owner.get(0).get("status"))) {
+            throw new IllegalArgumentException("Consulta cancelada não pode ser paga");
+        }
+        UUID paymentId = UUID.randomUUID();
+        if (jdbcTemplate.update(INSERT_KEY_SQL, userId, key, requestHash, paymentId) == 0) {
+            // outra requisição com a mesma chave confirmou enquanto esperávamos
+            return findKey(userId, key, requestHash).orElseThrow();
+        }
+        List<UUID> ids = jdbcTemplate.queryForList(UPSERT_PAYMENT_SQL, UUID.class,
+                paymentId, appointmentId, method.name(), consultationValue, activeGateway.name());
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("Consulta já possui pagamento");
+        }
+        if (!ids.get(0).equals(paymentId)) {
+            // FAILED reaberto: mantém o id original (é a chave de idempotência no gateway)
+            jdbcTemplate.update(RELINK_KEY_SQL, ids.get(0), userId, key);
+        }
+        return new Prepared(ids.get(0), false);
+    }
+
+    private Optional<Prepared> findKey(UUID userId, String key, String requestHash) {
+        return jdbcTemplate.query(FIND_KEY_SQL, (rs, i) -> {
+            if (!rs.getString("request_hash").equals(requestHash)) {
+                throw new IllegalArgumentException("Idempotency-Key já usada com outra requisição");
+            }
+            return new Prepared(rs.getObject("payment_id", UUID.class), true);
+        }, userId, key).stream().findFirst();
+    }
+
+    // pagamento visível ao paciente dono da consulta e a administradores
+    public PaymentView find(UUID paymentId, UUID userId, boolean admin) {
+        List<Map.Entry<UUID, PaymentView>> rows = jdbcTemplate.query(VIEW_SQL,
+                (rs, i) -> Map.entry(rs.getObject("user_id", UUID.class), VIEW_MAPPER.mapRow(rs, i)), paymentId);
+        if (rows.isEmpty() || (!admin && !rows.get(0).getKey().equals(userId))) {
+            throw new ResourceNotFoundException("Pagamento não encontrado");
+        }
+        return rows.get(0).getValue();
+    }
+
+    // true = evento novo; reenvio do mesmo evento também é aceito (gateway para de tentar)
+    public boolean receiveWebhook(String gatewayName, byte[] body, String signature) {
+        PaymentGateway gateway = gateways.get(gatewayName);
+        if (gateway == null) {
+            throw new IllegalArgumentException("Gateway de pagamento desconhecido");
+        }
+        GatewayEvent event = gateway.parseWebhook(body, signature);
+        if (event.eventId().length() > 120 || (event.receipt() != null && event.receipt().length() > 255)) {
+            throw new IllegalArgumentException("Webhook malformado");
+        }
+        webhooksReceived.increment();
+        boolean inserted = jdbcTemplate.update(INSERT_WEBHOOK_SQL, UUID.randomUUID(), gateway.name(),
+                event.eventId(), event.paymentId(), event.status().name(), event.receipt()) == 1;
+        if (!inserted) {
+            webhooksDuplicated.increment();
+        }
+        return inserted;
+    }
+
+    private PaymentView view(UUID paymentId) {
+        return jdbcTemplate.query(VIEW_SQL, VIEW_MAPPER, paymentId).stream().findFirst().orElseThrow();
+    }
+
+    private static final RowMapper<PaymentView> VIEW_MAPPER = (rs, i) -> new PaymentView(
+            rs.getObject("id", UUID.class),
+            rs.getObject("appointment_id", UUID.class),
+            PaymentMethod.valueOf(rs.getString("method")),
+            rs.getBigDecimal("value"),
+            PaymentStatus.valueOf(rs.getString("status")),
+            rs.getString("checkout_data"),
+            rs.getTimestamp("created_at").toInstant());
+
+    static String requestHash(UUID appointmentId, PaymentMethod method) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((appointmentId + ":" + method).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        callbacks.shutdown();
+    }
+}
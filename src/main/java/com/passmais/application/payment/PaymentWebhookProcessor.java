@@ -0,0 +1,183 @@
+package com.passmais.application.payment;
+
+import com.passmais.domain.enums.PaymentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Aplica os webhooks enfileirados em lotes, fora da thread da requisição. Cada lote é reivindicado com
+ * FOR UPDATE SKIP LOCKED e cada evento vira um UPDATE condicionado ao status de origem
+ * (PENDING/FAILED → PAID, PENDING → FAILED, PAID → REFUNDED) e ao gateway que criou o pagamento:
+ * reenvios, eventos repetidos e eventos de outro gateway não mudam nada.
+ * Reembolso que chega antes da confirmação é adiado com backoff até o limite de tentativas.
+ */
+@Component
+public class PaymentWebhookProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookProcessor.class);
+
+    private static final String CLAIM_SQL =
+            "select id, gateway, payment_id, status, receipt, attempts from payment_webhook_events " +
+            "where processed_at is null and available_at <= now() " +
+            "order by received_at limit ? for update skip locked";
+    // sem "from" válido o UPDATE não casa nenhuma linha; paid_at preserva o primeiro pagamento.
+    // O evento só vale para pagamentos criados no mesmo gateway que o assinou
+    private static final String TRANSITION_SQL =
+            "update payments set status = ?, receipt = coalesce(?, receipt), " +
+            "paid_at = case when ? then coalesce(paid_at, ?) else paid_at end " +
+            "where id = ? and gateway = ? and status in (?, ?)";
+    private static final String STATUS_SQL = "select id, gateway, status from payments where id = any(?)";
+    private static final String DONE_SQL =
+            "update payment_webhook_events set processed_at = ?, outcome = ?, attempts = attempts + 1 where id = ?";
+    private static final String DEFER_SQL =
+            "update payment_webhook_events set attempts = attempts + 1, available_at = ? where id = ?";
+
+    enum Outcome { APPLIED, DUPLICATE, IGNORED, DEFERRED }
+
+    record Claimed(UUID id, String gateway, UUID paymentId, PaymentStatus status, String receipt, int attempts) {}
+
+    // status de origem aceitos para cada destino (dois, repetidos quando só há um)
+    private static final Map<PaymentStatus, PaymentStatus[]> SOURCES = new EnumMap<>(Map.of(
+            // FAILED → PAID: cobrança que expirou do nosso lado mas foi paga no gateway
+            PaymentStatus.PAID, new PaymentStatus[]{PaymentStatus.PENDING, PaymentStatus.FAILED},
+            PaymentStatus.FAILED, new PaymentStatus[]{PaymentStatus.PENDING, PaymentStatus.PENDING},
+            PaymentStatus.REFUNDED, new PaymentStatus[]{PaymentStatus.PAID, PaymentStatus.PAID}));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+    public PaymentWebhookProcessor(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${payments.webhooks.batch-size:200}") int batchSize,
+                                   @Value("${payments.webhooks.max-attempts:10}") int maxAttempts,
+                                   @Value("${payments.webhooks.retry-delay-ms:30000}") long retryDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofMillis(retryDelayMs);
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, meterRegistry.counter("payments.webhooks.processed", "outcome", outcome.name()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payments.webhooks.interval-ms:500}")
+    public void process() {
+        try {
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> processBatch(Instant.now()));
+            } while (claimed != null && claimed == batchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao processar webhooks de pagamento: {}", ex.getMessage());
+        }
+    }
+
+    int processBatch(Instant now) {
+        List<Claimed> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, i) -> new Claimed(
+                rs.getObject("id", UUID.class),
+                rs.getString("gateway"),
+                rs.getObject("payment_id", UUID.class),
+                PaymentStatus.valueOf(rs.getString("status")),
+                rs.getString("receipt"),
+                rs.getInt("attempts")), batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        Timestamp at = Timestamp.from(now);
+        // JDBC batch executa em ordem: eventos do mesmo pagamento no lote se aplicam em sequência
+        int[][] counts = jdbcTemplate.batchUpdate(TRANSITION_SQL, claimed, claimed.size(), (ps, e) -> {
+            PaymentStatus[] from = SOURCES.get(e.status());
+            ps.setString(1, e.status().name());
+            ps.setString(2, e.receipt());
+            ps.setBoolean(3, e.status() == PaymentStatus.PAID);
+            ps.setTimestamp(4, at);
+            ps.setObject(5, e.paymentId());
+            ps.setString(6, e.gateway());
+            ps.setString(7, from[0].name());
+            ps.setString(8, from[1].name());
+        });
+
+        List<Claimed> unapplied = new ArrayList<>();
+        for (int i = 0; i < claimed.size(); i++) {
+            if (counts[0][i] == 0) {
+                unapplied.add(claimed.get(i));
+            }
+        }
+        Map<String, PaymentStatus> current = unapplied.isEmpty() ? Map.of() : currentStatuses(unapplied);
+
+        List<Object[]> done = new ArrayList<>(claimed.size());
+        List<Object[]> deferred = new ArrayList<>();
+        for (int i = 0; i < claimed.size(); i++) {
+            Claimed e = claimed.get(i);
+            Outcome outcome = counts[0][i] > 0 ? Outcome.APPLIED
+                    : classify(e.status(), current.get(e.gateway() + ":" + e.paymentId()), e.attempts() + 1 < maxAttempts);
+            if (outcome == Outcome.DEFERRED) {
+                deferred.add(new Object[]{Timestamp.from(now.plus(retryDelay)), e.id()});
+            } else {
+                done.add(new Object[]{at, outcome.name(), e.id()});
+            }
+            outcomes.get(outcome).increment();
+        }
+        jdbcTemplate.batchUpdate(DONE_SQL, done);
+        jdbcTemplate.batchUpdate(DEFER_SQL, deferred);
+        return claimed.size();
+    }
+
+    // evento que não mudou o pagamento: já aplicado, fora de ordem (espera) ou transição inválida
+    static Outcome classify(PaymentStatus target, PaymentStatus current, boolean canRetry) {
+        if (current == null) {
+            return Outcome.IGNORED;
+        }
+        if (current == target) {
+            return Outcome.DUPLICATE;
+        }
+        if (target == PaymentStatus.REFUNDED && current == PaymentStatus.PENDING && canRetry) {
+            return Outcome.DEFERRED;
+        }
+        return Outcome.IGNORED;
+    }
+
+    // chave gateway:id; pagamento de outro gateway fica ausente e o evento é ignorado
+    private Map<String, PaymentStatus> currentStatuses(List<Claimed> events) {
+        UUID[] ids = events.stream().map(Claimed::paymentId).distinct().toArray(UUID[]::new);
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, PaymentStatus>>) con -> {
+            Map<String, PaymentStatus> result = new HashMap<>();
+            try (PreparedStatement ps = con.prepareStatement(STATUS_SQL)) {
+                ps.setArray(1, con.createArrayOf("uuid", ids));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        result.put(rs.getString("gateway") + ":" + rs.getObject("id", UUID.class),
+                                PaymentStatus.valueOf(rs.getString("status")));
+                    }
+                }
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.passmais.application.payment;
+
+public class PaymentsUnavailableException extends RuntimeException {
+    public PaymentsUnavailableException() {
+        super("Pagamentos indisponíveis no momento");
+    }
+}
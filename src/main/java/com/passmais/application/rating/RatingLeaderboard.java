@@ -0,0 +1,106 @@
+package com.passmais.application.rating;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Os K melhores médicos de um recorte (todas as especialidades ou uma), em memória. Invariante: toda
+ * entrada de fora do quadro tem nota menor ou igual a qualquer entrada de dentro. Atualizações que
+ * preservam o invariante são aplicadas na hora; as que não (um médico do quadro cai abaixo do último
+ * colocado sem que se saiba quem o substitui) marcam o quadro como desatualizado para recarga.
+ */
+public final class RatingLeaderboard {
+
+    public record Entry(UUID doctorId, String name, String specialty, int reviewCount, long ratingSum, double score) {}
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::doctorId);
+
+    private final int capacity;
+    private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+    private final Map<UUID, Entry> byDoctor = new HashMap<>();
+    private final Instant loadedAt;
+    // carregado com menos que `capacity` linhas: o quadro contém todos os candidatos do recorte
+    private boolean complete;
+    private boolean stale;
+
+    public RatingLeaderboard(int capacity, List<Entry> loaded, Instant loadedAt) {
+        this.capacity = capacity;
+        this.loadedAt = loadedAt;
+        for (Entry e : loaded) {
+            if (ordered.size() < capacity) {
+                add(e);
+            }
+        }
+        this.complete = loaded.size() < capacity;
+    }
+
+    public synchronized List<Entry> top(int limit) {
+        return ordered.stream().limit(limit).toList();
+    }
+
+    public synchronized boolean needsReload(Instant expiresBefore) {
+        return stale || loadedAt.isBefore(expiresBefore);
+    }
+
+    // `entry` nulo: o médico saiu do recorte (sem avaliações aprovadas ou não aprovado)
+    public synchronized void update(UUID doctorId, Entry entry) {
+        Entry old = byDoctor.remove(doctorId);
+        if (old != null) {
+            ordered.remove(old);
+        }
+        if (entry == null) {
+            if (old != null && !complete) {
+                stale = true;
+            }
+            return;
+        }
+        if (complete) {
+            add(entry);
+            if (ordered.size() > capacity) {
+                evictLast();
+                complete = false;
+            }
+            return;
+        }
+        Entry last = ordered.isEmpty() ? null : ordered.last();
+        boolean aboveLast = last != null && ORDER.compare(entry, last) < 0;
+        if (old != null) {
+            // estava no quadro: continua se ainda supera o último colocado; senão quem entra é desconhecido
+            if (aboveLast) {
+                add(entry);
+            } else {
+                stale = true;
+            }
+        } else if (aboveLast) {
+            add(entry);
+            if (ordered.size() > capacity) {
+                evictLast();
+            }
+        }
+    }
+
+    public synchronized void invalidate() {
+        stale = true;
+    }
+
+    public synchronized int size() {
+        return ordered.size();
+    }
+
+    private void add(Entry e) {
+        ordered.add(e);
+        byDoctor.put(e.doctorId(), e);
+    }
+
+    private void evictLast() {
+        Entry last = ordered.pollLast();
+        byDoctor.remove(last.doctorId());
+    }
+}
@@ -0,0 +1,7 @@
+package com.passmais.application.rating;
+
+import java.util.Set;
+import java.util.UUID;
+
+// publicado na moderação de avaliações; ouvintes reagem após o commit
+public record RatingSummaryChangedEvent(Set<UUID> doctorIds) {}
@@ -0,0 +1,232 @@
+package com.passmais.application.reminder;
+
+import com.passmais.domain.enums.NotificationType;
+import com.passmais.infrastructure.notification.NotificationEvent;
+import com.passmais.infrastructure.notification.NotificationWriter;
+import com.passmais.infrastructure.repository.AppointmentRepository;
+import com.passmais.infrastructure.repository.AppointmentRepository.ReminderCandidate;
+import com.passmais.infrastructure.scheduling.ClusterLease;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Gera notificações REMINDER antes das consultas pendentes (por padrão 24h e 2h antes).
+ * Só o nó que detém o lease trabalha: recarrega a roda de tempo com consultas por faixa de date_time
+ * (índice parcial de pendentes) e, a cada tick, grava em lote os lembretes vencidos. A tabela
+ * appointment_reminders garante no máximo um envio por consulta e antecedência, mesmo em troca de lease.
+ */
+@Component
+public class ReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+    static final String LEASE_NAME = "appointment-reminders";
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 2;
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    // o lembrete só é registrado se a consulta continuar pendente no mesmo horário
+    private static final String MARK_SENT_SQL =
+            "insert into appointment_reminders (appointment_id, offset_minutes, sent_at) " +
+            "select ?, ?, ? where exists (select 1 from appointments where id = ? and status = 'PENDING' and date_time = ?) " +
+            "on conflict do nothing";
+
+    record Reminder(UUID appointmentId, int offsetMinutes, Instant dateTime, UUID userId) {
+        Instant deadline() {
+            return dateTime.minus(Duration.ofMinutes(offsetMinutes));
+        }
+    }
+
+    private record ReminderKey(UUID appointmentId, int offsetMinutes) {}
+
+    private final AppointmentRepository appointmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterLease clusterLease;
+    private final NotificationWriter notificationWriter;
+    private final boolean enabled;
+    private final List<Integer> offsetsMinutes;
+    private final Duration tick;
+    private final Duration refillInterval;
+    private final Duration lookahead;
+    private final Duration leaseTtl;
+    private final int batchSize;
+    private final ZoneId zone;
+
+    private TimingWheel<Reminder> wheel;
+    // lembretes já colocados na roda (ou enviados) e seus prazos; evita reagendar na sobreposição das recargas
+    private final Map<ReminderKey, Instant> known = new HashMap<>();
+    private Instant lastRefill;
+    private Instant nextRefill;
+    private boolean leader;
+
+    public ReminderScheduler(AppointmentRepository appointmentRepository,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ClusterLease clusterLease,
+                             NotificationWriter notificationWriter,
+                             @Value("${notifications.reminders.enabled:true}") boolean enabled,
+                             @Value("${notifications.reminders.offsets-minutes:1440,120}") List<Integer> offsetsMinutes,
+                             @Value("${notifications.reminders.tick-ms:60000}") long tickMs,
+                             @Value("${notifications.reminders.refill-minutes:5}") long refillMinutes,
+                             @Value("${notifications.reminders.batch-size:500}") int batchSize,
+                             @Value("${scheduling.time-zone:America/Sao_Paulo}") String zone) {
+        this.appointmentRepository = appointmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clusterLease = clusterLease;
+        this.notificationWriter = notificationWriter;
+        this.enabled = enabled;
+        this.offsetsMinutes = List.copyOf(offsetsMinutes);
+        this.tick = Duration.ofMillis(tickMs);
+        this.refillInterval = Duration.ofMinutes(refillMinutes);
+        this.lookahead = refillInterval.multipliedBy(2);
+        this.leaseTtl = tick.multipliedBy(3);
+        this.batchSize = batchSize;
+        this.zone = ZoneId.of(zone);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.reminders.tick-ms:60000}")
+    public synchronized void tick() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        if (!clusterLease.tryAcquire(LEASE_NAME, leaseTtl)) {
+            if (leader) {
+                log.info("Lease de lembretes perdido; estado local descartado");
+                reset();
+            }
+            return;
+        }
+        if (!leader) {
+            leader = true;
+            wheel = new TimingWheel<>(tick, WHEEL_SIZE, WHEEL_LEVELS, now);
+            // cobre o intervalo em que o nó anterior pode ter caído sem disparar
+            lastRefill = now.minus(leaseTtl).minus(tick);
+            nextRefill = now;
+        }
+        try {
+            if (!now.isBefore(nextRefill)) {
+                refill(now);
+            }
+            fire(wheel.advanceTo(now), now);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao processar lembretes: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (leader) {
+            clusterLease.release(LEASE_NAME);
+        }
+    }
+
+    // prazos em [lastRefill, now + lookahead): a sobreposição com a recarga anterior pega consultas marcadas depois dela
+    void refill(Instant now) {
+        Instant from = lastRefill;
+        Instant to = now.plus(lookahead);
+        int added = 0;
+        for (int offset : offsetsMinutes) {
+            Duration ahead = Duration.ofMinutes(offset);
+            for (ReminderCandidate c : appointmentRepository.findPendingBetween(from.plus(ahead), to.plus(ahead))) {
+                Reminder r = new Reminder(c.getAppointmentId(), offset, c.getDateTime(), c.getUserId());
+                if (known.putIfAbsent(new ReminderKey(r.appointmentId(), offset), r.deadline()) == null) {
+                    wheel.schedule(r.deadline(), r);
+                    added++;
+                }
+            }
+        }
+        known.values().removeIf(deadline -> deadline.isBefore(from));
+        lastRefill = now;
+        nextRefill = now.plus(refillInterval);
+        log.debug("Roda de lembretes recarregada: {} novos, {} pendentes", added, wheel.size());
+    }
+
+    void fire(List<Reminder> due, Instant now) {
+        List<Reminder> batch = new ArrayList<>(batchSize);
+        for (Reminder r : due) {
+            // consulta já começou: lembrete perdeu o sentido
+            if (r.dateTime().isAfter(now)) {
+                batch.add(r);
+            }
+            if (batch.size() == batchSize) {
+                insertOrRetry(batch, now);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertOrRetry(batch, now);
+        }
+    }
+
+    // a roda já entregou estes lembretes e as chaves estão em `known` (a recarga não os traria de volta):
+    // em falha voltam para a roda como vencidos e saem no próximo tick; a transação desfeita não marcou nada
+    private void insertOrRetry(List<Reminder> batch, Instant now) {
+        try {
+            insertBatch(batch, now);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao gravar {} lembretes; nova tentativa no próximo tick: {}", batch.size(), ex.getMessage());
+            for (Reminder r : batch) {
+                wheel.schedule(now, r);
+            }
+        }
+    }
+
+    private void insertBatch(List<Reminder> batch, Instant now) {
+        Timestamp sentAt = Timestamp.from(now);
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] marked = jdbcTemplate.batchUpdate(MARK_SENT_SQL, batch, batch.size(), (ps, r) -> {
+                ps.setObject(1, r.appointmentId());
+                ps.setInt(2, r.offsetMinutes());
+                ps.setTimestamp(3, sentAt);
+                ps.setObject(4, r.appointmentId());
+                ps.setTimestamp(5, Timestamp.from(r.dateTime()));
+            })[0];
+            List<Reminder> toNotify = new ArrayList<>(batch.size());
+            for (int i = 0; i < marked.length; i++) {
+                if (marked[i] > 0) {
+                    toNotify.add(batch.get(i));
+                }
+            }
+            if (toNotify.isEmpty()) {
+                return;
+            }
+            List<NotificationEvent> events = new ArrayList<>(toNotify.size());
+            for (Reminder r : toNotify) {
+                events.add(new NotificationEvent(UUID.randomUUID(), r.userId(), NotificationType.REMINDER, content(r), now));
+            }
+            notificationWriter.write(events);
+        });
+    }
+
+    private String content(Reminder r) {
+        String ahead = r.offsetMinutes() % 60 == 0 ? (r.offsetMinutes() / 60) + "h" : r.offsetMinutes() + "min";
+        return "Lembrete: sua consulta começa em " + ahead + " (" + FORMAT.format(r.dateTime().atZone(zone)) + ")";
+    }
+
+    private void reset() {
+        leader = false;
+        wheel = null;
+        known.clear();
+        lastRefill = null;
+        nextRefill = null;
+    }
+}
@@ -0,0 +1,138 @@
+package com.passmais.application.reminder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Roda de tempo hierárquica: cada nível tem {@code wheelSize} baldes e cada balde de um nível cobre uma volta
+ * inteira do nível abaixo. Agendar e avançar um tick custam O(1) (amortizado); itens de níveis altos descem
+ * (cascata) quando o nível inferior completa uma volta. Não é thread-safe.
+ */
+public class TimingWheel<T> {
+
+    private record Entry<T>(long deadlineTick, T item) {}
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Entry<T>>[][] levels;
+    private final List<Entry<T>> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tick, int wheelSize, int levelCount, Instant start) {
+        if (tick.toMillis() <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Parâmetros inválidos para a roda de tempo");
+        }
+        this.tickMillis = tick.toMillis();
+        this.wheelSize = wheelSize;
+        this.levels = new List[levelCount][wheelSize];
+        this.currentTick = start.toEpochMilli() / tickMillis;
+    }
+
+    /** Maior distância agendável a partir do tick atual. */
+    public Duration horizon() {
+        return Duration.ofMillis(tickMillis * (long) Math.pow(wheelSize, levels.length));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** @return false se o prazo estiver além do horizonte da roda */
+    public boolean schedule(Instant deadline, T item) {
+        long deadlineTick = Math.floorDiv(deadline.toEpochMilli(), tickMillis);
+        if (!place(new Entry<>(deadlineTick, item))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /** Avança até {@code now} e devolve os itens vencidos, em ordem de tick. */
+    public List<T> advanceTo(Instant now) {
+        List<T> due = new ArrayList<>();
+        long target = Math.floorDiv(now.toEpochMilli(), tickMillis);
+        while (currentTick < target) {
+            currentTick++;
+            cascade(1);
+            drain(levels[0], slot(currentTick), due);
+        }
+        // agendados no passado e itens que a cascata trouxe exatamente para o tick atual
+        for (Entry<T> e : overdue) {
+            due.add(e.item());
+        }
+        overdue.clear();
+        size -= due.size();
+        return due;
+    }
+
+    public void clear() {
+        for (List<Entry<T>>[] level : levels) {
+            Arrays.fill(level, null);
+        }
+        overdue.clear();
+        size = 0;
+    }
+
+    // ao completar uma volta no nível (n - 1), o balde correspondente do nível n é redistribuído
+    private void cascade(int level) {
+        if (level >= levels.length || currentTick % span(level) != 0) {
+            return;
+        }
+        cascade(level + 1);
+        int index = (int) ((currentTick / span(level)) % wheelSize);
+        List<Entry<T>> bucket = levels[level][index];
+        levels[level][index] = null;
+        if (bucket != null) {
+            for (Entry<T> e : bucket) {
+                place(e);
+            }
+        }
+    }
+
+    private boolean place(Entry<T> e) {
+        long delta = e.deadlineTick() - currentTick;
+        if (delta <= 0) {
+            overdue.add(e);
+            return true;
+        }
+        for (int level = 0; level < levels.length; level++) {
+            if (delta < span(level + 1)) {
+                int index = (int) ((e.deadlineTick() / span(level)) % wheelSize);
+                List<Entry<T>> bucket = levels[level][index];
+                if (bucket == null) {
+                    bucket = levels[level][index] = new ArrayList<>();
+                }
+                bucket.add(e);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain(List<Entry<T>>[] level, int index, List<T> due) {
+        List<Entry<T>> bucket = level[index];
+        level[index] = null;
+        if (bucket != null) {
+            for (Entry<T> e : bucket) {
+                due.add(e.item());
+            }
+        }
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % wheelSize);
+    }
+
+    private long span(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+}
@@ -4,6 +4,7 @@ import com.passmais.domain.entity.Clinic;
 import com.passmais.domain.entity.DoctorProfile;
 import com.passmais.infrastructure.repository.ClinicRepository;
 import com.passmais.infrastructure.repository.DoctorProfileRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -14,17 +15,23 @@ public class AdminApprovalService {
 
     private final DoctorProfileRepository doctorRepo;
     private final ClinicRepository clinicRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AdminApprovalService(DoctorProfileRepository doctorRepo, ClinicRepository clinicRepo) {
+    public AdminApprovalService(DoctorProfileRepository doctorRepo,
+                                ClinicRepository clinicRepo,
+                                ApplicationEventPublisher eventPublisher) {
         this.doctorRepo = doctorRepo;
         this.clinicRepo = clinicRepo;
+        this.eventPublisher = eventPublisher;
     }
 
     public DoctorProfile approveDoctor(UUID doctorId) {
         DoctorProfile d = doctorRepo.findById(doctorId).orElseThrow();
         d.setApproved(true);
         d.setApprovedAt(Instant.now());
-        return doctorRepo.save(d);
+        DoctorProfile saved = doctorRepo.save(d);
+        eventPublisher.publishEvent(new DoctorApprovedEvent(saved.getId()));
+        return saved;
     }
 
     public Clinic approveClinic(UUID clinicId) {
@@ -34,4 +41,3 @@ public class AdminApprovalService {
         return clinicRepo.save(c);
     }
 }
-
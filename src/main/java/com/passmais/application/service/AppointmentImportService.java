@@ -0,0 +1,203 @@
+package com.passmais.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.passmais.domain.enums.AppointmentStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Importação em massa de consultas (NDJSON ou CSV) lida em streaming. Conflitos dentro do arquivo são
+ * detectados em memória; conflitos com a base são resolvidos pelo mesmo índice único parcial do
+ * agendamento (INSERT ... ON CONFLICT DO NOTHING), inserido em lotes JDBC, um lote por transação.
+ */
+@Service
+public class AppointmentImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    public record ImportRow(UUID doctorId, UUID patientId, Instant dateTime, AppointmentStatus status, BigDecimal value) {}
+
+    public record RowError(long line, String message) {}
+
+    public record ImportReport(long totalRows, long imported, long failed, List<RowError> errors) {}
+
+    static final int CHUNK_SIZE = 1_000;
+    // erros detalhados no relatório são limitados; o total de falhas continua exato
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private static final String INSERT_SQL =
+            "insert into appointments (id, doctor_id, patient_id, date_time, status, value) values (?, ?, ?, ?, ?, ?) " +
+            "on conflict (doctor_id, date_time) where status in ('PENDING', 'IN_PROGRESS', 'DONE') do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AppointmentImportService(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public ImportReport importAppointments(Reader input, Format format) throws IOException {
+        Instant now = Instant.now();
+        Progress progress = new Progress();
+        // horários ativos já vistos no arquivo (médico + instante)
+        Set<SlotKey> seen = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        BufferedReader reader = new BufferedReader(input);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && line.startsWith("doctorId"))) {
+                continue;
+            }
+            progress.total++;
+            ImportRow row;
+            try {
+                row = validate(format == Format.NDJSON ? objectMapper.readValue(line, ImportRow.class) : parseCsv(line), now);
+            } catch (IllegalArgumentException | IOException e) {
+                progress.fail(lineNumber, e instanceof IOException ? "Linha mal formatada" : e.getMessage());
+                continue;
+            }
+            if (isActive(row.status()) && !seen.add(new SlotKey(row.doctorId(), row.dateTime()))) {
+                progress.fail(lineNumber, "Horário duplicado no arquivo para o mesmo médico");
+                continue;
+            }
+            chunk.add(new PendingRow(lineNumber, row));
+            if (chunk.size() == CHUNK_SIZE) {
+                flush(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, progress);
+        }
+        return new ImportReport(progress.total, progress.imported, progress.failed, progress.errors);
+    }
+
+    private void flush(List<PendingRow> chunk, Progress progress) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // ids inexistentes violariam FK e abortariam o lote inteiro: filtra antes com duas consultas
+            Set<UUID> doctors = existingIds("doctor_profiles", chunk.stream().map(r -> r.row().doctorId()).toList());
+            Set<UUID> patients = existingIds("patient_profiles", chunk.stream().map(r -> r.row().patientId()).toList());
+            List<PendingRow> insertable = new ArrayList<>(chunk.size());
+            for (PendingRow r : chunk) {
+                if (!doctors.contains(r.row().doctorId())) {
+                    progress.fail(r.line(), "Médico não encontrado");
+                } else if (!patients.contains(r.row().patientId())) {
+                    progress.fail(r.line(), "Paciente não encontrado");
+                } else {
+                    insertable.add(r);
+                }
+            }
+            int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, insertable, insertable.size(), (ps, r) -> {
+                ImportRow row = r.row();
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, row.doctorId());
+                ps.setObject(3, row.patientId());
+                ps.setTimestamp(4, Timestamp.from(row.dateTime()));
+                ps.setString(5, row.status().name());
+                if (row.value() != null) {
+                    ps.setBigDecimal(6, row.value());
+                } else {
+                    ps.setNull(6, Types.NUMERIC);
+                }
+            });
+            int i = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    PendingRow r = insertable.get(i++);
+                    if (count == 0) {
+                        progress.fail(r.line(), "Médico indisponível neste horário");
+                    } else {
+                        progress.imported++;
+                    }
+                }
+            }
+        });
+    }
+
+    private Set<UUID> existingIds(String table, List<UUID> ids) {
+        List<UUID> found = namedJdbc.queryForList("select id from " + table + " where id in (:ids)",
+                new MapSqlParameterSource("ids", new HashSet<>(ids)), UUID.class);
+        return new HashSet<>(found);
+    }
+
+    // status ausente (coluna CSV omitida ou campo fora do NDJSON) vale PENDING, como no agendamento
+    private static ImportRow validate(ImportRow row, Instant now) {
+        if (row.doctorId() == null || row.patientId() == null || row.dateTime() == null) {
+            throw new IllegalArgumentException("ID do médico, ID do paciente e data/hora são obrigatórios");
+        }
+        if (row.status() == null) {
+            row = new ImportRow(row.doctorId(), row.patientId(), row.dateTime(), AppointmentStatus.PENDING, row.value());
+        }
+        if (row.status() == AppointmentStatus.PENDING && row.dateTime().isBefore(now)) {
+            throw new IllegalArgumentException("Consulta pendente deve ser no futuro");
+        }
+        if (row.value() != null && row.value().signum() < 0) {
+            throw new IllegalArgumentException("Valor não pode ser negativo");
+        }
+        return row;
+    }
+
+    // doctorId,patientId,dateTime[,status[,value]]
+    private static ImportRow parseCsv(String line) {
+        String[] f = line.split(",", -1);
+        if (f.length < 3) {
+            throw new IllegalArgumentException("Linha CSV deve ter ao menos doctorId,patientId,dateTime");
+        }
+        try {
+            AppointmentStatus status = f.length > 3 && !f[3].isBlank() ? AppointmentStatus.valueOf(f[3].trim()) : null;
+            BigDecimal value = f.length > 4 && !f[4].isBlank() ? new BigDecimal(f[4].trim()) : null;
+            return new ImportRow(UUID.fromString(f[0].trim()), UUID.fromString(f[1].trim()),
+                    Instant.parse(f[2].trim()), status, value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Linha mal formatada");
+        }
+    }
+
+    private static boolean isActive(AppointmentStatus status) {
+        return AppointmentService.ACTIVE_STATUSES.contains(status);
+    }
+
+    private record SlotKey(UUID doctorId, Instant dateTime) {}
+
+    private record PendingRow(long line, ImportRow row) {}
+
+    private static final class Progress {
+        long total;
+        long imported;
+        long failed;
+        final List<RowError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.passmais.application.service;
+
+import com.passmais.infrastructure.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Avança consultas vencidas: PENDING -> IN_PROGRESS no horário marcado e, passado o prazo de conclusão,
+ * IN_PROGRESS -> DONE (com nota clínica) ou NO_SHOW (sem nota). Cada lote é um UPDATE ... WHERE id IN
+ * (SELECT ... FOR UPDATE SKIP LOCKED) em transação própria, então vários nós podem rodar o job ao mesmo tempo.
+ */
+@Component
+public class AppointmentLifecycleJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentLifecycleJob.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final int chunkSize;
+    private final Duration completeAfter;
+    private final Counter started;
+    private final Counter completed;
+    private final Counter noShows;
+    private final Timer runTimer;
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+
+    public AppointmentLifecycleJob(AppointmentRepository appointmentRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${appointments.lifecycle.chunk-size:500}") int chunkSize,
+                                   @Value("${appointments.lifecycle.complete-after-minutes:120}") long completeAfterMinutes) {
+        this.appointmentRepository = appointmentRepository;
+        this.chunkSize = chunkSize;
+        this.completeAfter = Duration.ofMinutes(completeAfterMinutes);
+        this.started = transitionCounter(meterRegistry, "in_progress");
+        this.completed = transitionCounter(meterRegistry, "done");
+        this.noShows = transitionCounter(meterRegistry, "no_show");
+        this.runTimer = meterRegistry.timer("appointments.lifecycle.run");
+        meterRegistry.gauge("appointments.lifecycle.rows_per_second", lastRowsPerSecond);
+    }
+
+    @Scheduled(fixedDelayString = "${appointments.lifecycle.interval-ms:60000}",
+            initialDelayString = "${appointments.lifecycle.interval-ms:60000}")
+    public void run() {
+        Instant now = Instant.now();
+        long startNanos = System.nanoTime();
+        long rows;
+        try {
+            rows = drain(limit -> appointmentRepository.startDue(now, limit), started);
+            Instant cutoff = now.minus(completeAfter);
+            rows += drain(limit -> appointmentRepository.completeAttended(cutoff, limit), completed);
+            rows += drain(limit -> appointmentRepository.markNoShows(cutoff, limit), noShows);
+        } catch (RuntimeException ex) {
+            log.warn("Falha no ciclo de vida das consultas: {}", ex.getMessage());
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        runTimer.record(Duration.ofNanos(elapsedNanos));
+        long perSecond = elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+        lastRowsPerSecond.set(perSecond);
+        if (rows > 0) {
+            log.info("Ciclo de vida das consultas: {} linhas em {} ms ({} linhas/s)", rows, elapsedNanos / 1_000_000, perSecond);
+        }
+    }
+
+    // lotes até esvaziar; um lote menor que o limite significa que não há mais nada livre para este nó
+    private long drain(IntUnaryOperator chunk, Counter counter) {
+        long total = 0;
+        int updated;
+        do {
+            updated = chunk.applyAsInt(chunkSize);
+            counter.increment(updated);
+            total += updated;
+        } while (updated == chunkSize);
+        return total;
+    }
+
+    private static Counter transitionCounter(MeterRegistry registry, String to) {
+        return Counter.builder("appointments.lifecycle.transitions").tag("to", to).register(registry);
+    }
+}
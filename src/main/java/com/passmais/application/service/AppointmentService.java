@@ -1,47 +1,53 @@
 package com.passmais.application.service;
 
+import com.passmais.application.outbox.OutboxEventType;
+import com.passmais.application.outbox.OutboxWriter;
+import com.passmais.application.pagination.KeysetCursor;
+import com.passmais.application.pagination.KeysetPage;
 import com.passmais.domain.entity.Appointment;
 import com.passmais.domain.entity.DoctorProfile;
 import com.passmais.domain.entity.PatientProfile;
 import com.passmais.domain.enums.AppointmentStatus;
 import com.passmais.infrastructure.repository.AppointmentRepository;
+import com.passmais.infrastructure.repository.AppointmentRepository.AppointmentSummary;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class AppointmentService {
 
+    // status que ocupam o horário do médico
+    public static final List<AppointmentStatus> ACTIVE_STATUSES =
+            List.of(AppointmentStatus.PENDING, AppointmentStatus.IN_PROGRESS, AppointmentStatus.DONE);
+
     private final AppointmentRepository appointmentRepository;
+    private final OutboxWriter outboxWriter;
     private static final int MAX_RESCHEDULES_IN_30_DAYS = 2;
     private static final Duration CANCEL_MIN_NOTICE = Duration.ofHours(6); // antecedência mínima de cancelamento: 6h
 
-    public AppointmentService(AppointmentRepository appointmentRepository) {
+    public AppointmentService(AppointmentRepository appointmentRepository, OutboxWriter outboxWriter) {
         this.appointmentRepository = appointmentRepository;
+        this.outboxWriter = outboxWriter;
     }
 
+    // reserva e evento de notificação na mesma transação; a entrega fica com o OutboxDispatcher
+    @Transactional
     public Appointment schedule(DoctorProfile doctor, PatientProfile patient, Instant dateTime) {
-        if (dateTime.isBefore(Instant.now())) {
-            throw new IllegalArgumentException("Consulta deve ser no futuro");
-        }
-        // checar conflito do médico em status relevantes
-        if (appointmentRepository.existsByDoctorAndDateTimeAndStatusIn(doctor, dateTime,
-                List.of(AppointmentStatus.PENDING, AppointmentStatus.IN_PROGRESS, AppointmentStatus.DONE))) {
-            throw new IllegalArgumentException("Médico indisponível neste horário");
-        }
-        Appointment appt = Appointment.builder()
-                .doctor(doctor)
-                .patient(patient)
-                .dateTime(dateTime)
-                .status(AppointmentStatus.PENDING)
-                .build();
-        return appointmentRepository.save(appt);
+        return book(doctor, patient, dateTime, null);
     }
 
+    @Transactional
     public Appointment reschedule(Appointment original, Instant newDateTime) {
         if (original.getStatus() == AppointmentStatus.CANCELED) {
             throw new IllegalArgumentException("Consulta cancelada não pode ser reagendada");
@@ -53,18 +59,71 @@ public class AppointmentService {
         if (count >= MAX_RESCHEDULES_IN_30_DAYS) {
             throw new IllegalArgumentException("Reagendamentos excedidos no período de 30 dias");
         }
-        Appointment newAppt = schedule(original.getDoctor(), original.getPatient(), newDateTime);
-        newAppt.setRescheduledFrom(original);
-        return appointmentRepository.save(newAppt);
+        return book(original.getDoctor(), original.getPatient(), newDateTime, original);
     }
 
+    private Appointment book(DoctorProfile doctor, PatientProfile patient, Instant dateTime, Appointment rescheduledFrom) {
+        if (dateTime.isBefore(Instant.now())) {
+            throw new IllegalArgumentException("Consulta deve ser no futuro");
+        }
+        // conflito resolvido pelo índice único parcial (INSERT ... ON CONFLICT DO NOTHING), sem corrida entre checagem e insert
+        UUID id = UUID.randomUUID();
+        int inserted = appointmentRepository.insertIfSlotFree(id, doctor.getId(), patient.getId(), dateTime,
+                rescheduledFrom != null ? rescheduledFrom.getId() : null);
+        if (inserted == 0) {
+            throw new SlotUnavailableException();
+        }
+        outboxWriter.append(OutboxEventType.APPOINTMENT_SCHEDULED, id, eventPayload(id, doctor, patient, dateTime));
+        return Appointment.builder()
+                .id(id)
+                .doctor(doctor)
+                .patient(patient)
+                .dateTime(dateTime)
+                .rescheduledFrom(rescheduledFrom)
+                .status(AppointmentStatus.PENDING)
+                .build();
+    }
+
+    @Transactional
     public Appointment cancel(Appointment appt) {
         Instant now = Instant.now();
         if (appt.getDateTime().minus(CANCEL_MIN_NOTICE).isBefore(now)) {
             throw new IllegalArgumentException("Cancelamento permitido apenas com antecedência mínima");
         }
         appt.setStatus(AppointmentStatus.CANCELED);
-        return appointmentRepository.save(appt);
+        Appointment saved = appointmentRepository.save(appt);
+        outboxWriter.append(OutboxEventType.APPOINTMENT_CANCELED, saved.getId(),
+                eventPayload(saved.getId(), saved.getDoctor(), saved.getPatient(), saved.getDateTime()));
+        return saved;
+    }
+
+    private static Map<String, Object> eventPayload(UUID id, DoctorProfile doctor, PatientProfile patient, Instant dateTime) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("appointmentId", id);
+        payload.put("doctorId", doctor.getId());
+        payload.put("patientId", patient.getId());
+        payload.put("dateTime", dateTime.toString());
+        return payload;
+    }
+
+    public KeysetPage<AppointmentSummary> listByPatient(UUID patientId, List<AppointmentStatus> statuses, KeysetCursor after, int limit) {
+        List<AppointmentSummary> rows = appointmentRepository.findPatientPage(patientId, statusesOrAll(statuses),
+                after.at(), after.id(), PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, AppointmentService::keyOf);
+    }
+
+    public KeysetPage<AppointmentSummary> listByDoctor(UUID doctorId, List<AppointmentStatus> statuses, KeysetCursor after, int limit) {
+        List<AppointmentSummary> rows = appointmentRepository.findDoctorPage(doctorId, statusesOrAll(statuses),
+                after.at(), after.id(), PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, AppointmentService::keyOf);
+    }
+
+    private static List<AppointmentStatus> statusesOrAll(List<AppointmentStatus> statuses) {
+        return statuses == null || statuses.isEmpty() ? Arrays.asList(AppointmentStatus.values()) : statuses;
+    }
+
+    private static KeysetCursor keyOf(AppointmentSummary s) {
+        return new KeysetCursor(s.getDateTime(), s.getId());
     }
 
     public Appointment markDone(Appointment appt) {
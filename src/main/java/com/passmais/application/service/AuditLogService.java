@@ -0,0 +1,100 @@
+package com.passmais.application.service;
+
+import com.passmais.application.pagination.KeysetCursor;
+import com.passmais.application.pagination.KeysetPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Consulta de auditoria filtrada. A listagem é paginada por chave (created_at, id) decrescente; a exportação
+ * percorre o resultado com cursor no servidor (fetch size em transação somente leitura), com memória constante.
+ */
+@Service
+public class AuditLogService {
+
+    public record Filter(UUID actorUserId, String action, Instant from, Instant to) {}
+
+    public record Row(UUID id, UUID actorUserId, String action, String details, Instant createdAt) {}
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, i) -> new Row(
+            rs.getObject("id", UUID.class),
+            rs.getObject("actor_user_id", UUID.class),
+            rs.getString("action"),
+            rs.getString("details"),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate streamingJdbc;
+    private final TransactionTemplate readOnlyTx;
+
+    public AuditLogService(DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${audit.export.fetch-size:1000}") int fetchSize) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        // o driver do Postgres só usa cursor (em vez de carregar tudo) com fetch size e autocommit desligado
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        this.streamingJdbc = new NamedParameterJdbcTemplate(streaming);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public KeysetPage<Row> search(Filter filter, KeysetCursor before, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = select(filter, params)
+                .append(" and (created_at, id) < (:beforeTime, :beforeId)")
+                .append(" order by created_at desc, id desc limit :limit");
+        params.addValue("beforeTime", Timestamp.from(before.at()));
+        params.addValue("beforeId", before.id());
+        params.addValue("limit", limit + 1);
+        List<Row> rows = jdbc.query(sql.toString(), params, ROW_MAPPER);
+        return KeysetPage.of(rows, limit, r -> new KeysetCursor(r.createdAt(), r.id()));
+    }
+
+    public void export(Filter filter, Consumer<Row> sink) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = select(filter, params).append(" order by created_at desc, id desc").toString();
+        readOnlyTx.executeWithoutResult(status ->
+                streamingJdbc.query(sql, params, rs -> {
+                    sink.accept(ROW_MAPPER.mapRow(rs, 0));
+                }));
+    }
+
+    // só entram no SQL os filtros informados, para o planejador escolher o índice certo
+    static StringBuilder select(Filter filter, MapSqlParameterSource params) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior à final");
+        }
+        StringBuilder sql = new StringBuilder("select id, actor_user_id, action, details, created_at from audit_logs where true");
+        if (filter.actorUserId() != null) {
+            sql.append(" and actor_user_id = :actor");
+            params.addValue("actor", filter.actorUserId());
+        }
+        if (filter.action() != null && !filter.action().isBlank()) {
+            sql.append(" and action = :action");
+            params.addValue("action", filter.action());
+        }
+        if (filter.from() != null) {
+            sql.append(" and created_at >= :from");
+            params.addValue("from", Timestamp.from(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" and created_at < :to");
+            params.addValue("to", Timestamp.from(filter.to()));
+        }
+        return sql;
+    }
+}
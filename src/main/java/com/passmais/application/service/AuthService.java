@@ -3,6 +3,12 @@ package com.passmais.application.service;
 import com.passmais.domain.entity.User;
 import com.passmais.infrastructure.repository.UserRepository;
 import com.passmais.infrastructure.security.JwtService;
+import com.passmais.infrastructure.security.LoginAttemptTracker;
+import com.passmais.infrastructure.security.PasswordHashingExecutor;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,6 +19,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
@@ -21,76 +28,119 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-
-    private static final int MAX_ATTEMPTS = 5;
-    private static final Duration LOCK_DURATION = Duration.ofMinutes(15);
+    private final UserSecurityStateCache securityStateCache;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final RefreshTokenService refreshTokenService;
+    private final Duration revalidationTouchInterval;
 
     public AuthService(AuthenticationManager authenticationManager,
                        UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
-                       JwtService jwtService) {
+                       JwtService jwtService,
+                       UserSecurityStateCache securityStateCache,
+                       PasswordHashingExecutor hashingExecutor,
+                       LoginAttemptTracker loginAttemptTracker,
+                       RefreshTokenService refreshTokenService,
+                       @Value("${security.jwt.revalidation-touch-minutes:15}") long revalidationTouchMinutes) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.securityStateCache = securityStateCache;
+        this.hashingExecutor = hashingExecutor;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.refreshTokenService = refreshTokenService;
+        this.revalidationTouchInterval = Duration.ofMinutes(revalidationTouchMinutes);
+    }
+
+    // BCrypt roda no pool dedicado; a thread do servlet é liberada enquanto o hash é verificado
+    public CompletableFuture<Map<String, String>> loginAsync(String email, String rawPassword) {
+        return hashingExecutor.submit(() -> login(email, rawPassword));
+    }
+
+    public CompletableFuture<User> registerAsync(User user, String rawPassword) {
+        return hashingExecutor.submit(() -> register(user, rawPassword));
     }
 
     public Map<String, String> login(String email, String rawPassword) {
         User user = userRepository.findByEmail(email).orElseThrow(() -> new BadCredentialsException("Credenciais inválidas"));
 
-        if (user.getAccountLockedUntil() != null && user.getAccountLockedUntil().isAfter(Instant.now())) {
+        Instant now = Instant.now();
+        boolean lockedInDatabase = user.getAccountLockedUntil() != null && user.getAccountLockedUntil().isAfter(now);
+        if (lockedInDatabase || loginAttemptTracker.isLocked(email, now)) {
             throw new BadCredentialsException("Conta bloqueada temporariamente. Tente novamente mais tarde.");
         }
 
         try {
             authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, rawPassword));
         } catch (BadCredentialsException ex) {
-            int attempts = user.getFailedLoginAttempts() + 1;
-            user.setFailedLoginAttempts(attempts);
-            if (attempts >= MAX_ATTEMPTS) {
-                user.setAccountLockedUntil(Instant.now().plus(LOCK_DURATION));
-                user.setFailedLoginAttempts(0);
+            // contagem em memória; o banco recebe o delta e o bloqueio de forma assíncrona
+            Instant lockedUntil = loginAttemptTracker.recordFailure(email, user.getFailedLoginAttempts(), now);
+            if (lockedUntil != null) {
+                securityStateCache.put(user.getEmail(), new UserSecurityState(user.getId(), lockedUntil));
             }
-            userRepository.save(user);
             throw new BadCredentialsException("Credenciais inválidas");
         }
 
-        // sucesso: reset tentativas
-        user.setFailedLoginAttempts(0);
-        user.setAccountLockedUntil(null);
-        user.setLastTokenRevalidatedAt(Instant.now());
-        userRepository.save(user);
-
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
-        String accessToken = jwtService.generateAccessToken(user.getEmail(), claims);
-        String refreshToken = jwtService.generateRefreshToken(user.getEmail());
+        // sucesso: reset (assíncrono, só se houver algo a limpar) e, se o custo do BCrypt aumentou, regrava o hash
+        boolean dirty = user.getFailedLoginAttempts() > 0 || user.getAccountLockedUntil() != null;
+        loginAttemptTracker.recordSuccess(email, dirty);
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordEncoder.encode(rawPassword));
+        }
+        touchTokenRevalidation(user, now);
+        securityStateCache.put(user.getEmail(), new UserSecurityState(user.getId(), null));
 
-        Map<String, String> tokens = new HashMap<>();
-        tokens.put("accessToken", accessToken);
-        tokens.put("refreshToken", refreshToken);
-        return tokens;
+        return issueTokens(user, refreshTokenService.startFamily(user));
     }
 
     public Map<String, String> refresh(String refreshToken) {
-        if (!jwtService.isValid(refreshToken)) {
-            throw new BadCredentialsException("Token de refresh inválido");
+        Claims refreshClaims = jwtService.verify(refreshToken)
+                .orElseThrow(() -> new BadCredentialsException("Token de refresh inválido"));
+        User user = userRepository.findByEmail(refreshClaims.getSubject())
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+
+        // Rotação: o refresh token apresentado é consumido e um novo da mesma família é emitido
+        RefreshTokenService.IssuedRefreshToken next = refreshTokenService.rotate(user, refreshClaims);
+        touchTokenRevalidation(user, Instant.now());
+        return issueTokens(user, next);
+    }
+
+    // last_token_revalidated_at tem granularidade do intervalo: logins e refreshes seguidos não regravam a linha
+    private void touchTokenRevalidation(User user, Instant now) {
+        Instant last = user.getLastTokenRevalidatedAt();
+        if (last == null || !last.plus(revalidationTouchInterval).isAfter(now)) {
+            userRepository.touchTokenRevalidation(user.getId(), now);
         }
-        String email = jwtService.getSubject(refreshToken);
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+    }
 
-        // Revalidação a cada 24h: um novo refresh token é emitido e a data é atualizada
-        user.setLastTokenRevalidatedAt(Instant.now());
-        userRepository.save(user);
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(verifyRefresh(refreshToken));
+    }
 
+    public void logoutAll(String refreshToken) {
+        Claims claims = verifyRefresh(refreshToken);
+        refreshTokenService.revoke(claims);
+        User user = userRepository.findByEmail(claims.getSubject())
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+        refreshTokenService.revokeAll(user.getId());
+    }
+
+    private Claims verifyRefresh(String refreshToken) {
+        return jwtService.verify(refreshToken)
+                .orElseThrow(() -> new BadCredentialsException("Token de refresh inválido"));
+    }
+
+    private Map<String, String> issueTokens(User user, RefreshTokenService.IssuedRefreshToken refresh) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
-        String newAccessToken = jwtService.generateAccessToken(user.getEmail(), claims);
-        String newRefreshToken = jwtService.generateRefreshToken(user.getEmail());
+        claims.put(JwtService.ROLE_CLAIM, user.getRole().name());
+        claims.put(JwtService.FAMILY_CLAIM, refresh.familyId().toString());
+        String accessToken = jwtService.generateAccessToken(user.getEmail(), claims);
 
         Map<String, String> tokens = new HashMap<>();
-        tokens.put("accessToken", newAccessToken);
-        tokens.put("refreshToken", newRefreshToken);
+        tokens.put("accessToken", accessToken);
+        tokens.put("refreshToken", refresh.token());
         return tokens;
     }
 
@@ -1,23 +1,44 @@
 package com.passmais.application.service;
 
 import com.passmais.domain.entity.Availability;
+import com.passmais.domain.entity.AvailabilityException;
 import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.domain.enums.AvailabilityExceptionType;
+import com.passmais.infrastructure.repository.AvailabilityExceptionRepository;
 import com.passmais.infrastructure.repository.AvailabilityRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
 
 @Service
 public class AvailabilityService {
 
+    public record WeeklyBlock(DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {}
+
+    private static final Comparator<Availability> WEEK_ORDER =
+            Comparator.comparing(Availability::getDayOfWeek).thenComparing(Availability::getStartTime);
+
+    private static final int MAX_EXCEPTION_DAYS = 366;
+
     private final AvailabilityRepository availabilityRepository;
+    private final AvailabilityExceptionRepository exceptionRepository;
 
-    public AvailabilityService(AvailabilityRepository availabilityRepository) {
+    public AvailabilityService(AvailabilityRepository availabilityRepository,
+                               AvailabilityExceptionRepository exceptionRepository) {
         this.availabilityRepository = availabilityRepository;
+        this.exceptionRepository = exceptionRepository;
     }
 
     public Availability createAvailability(DoctorProfile doctor, DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
@@ -29,11 +50,7 @@ public class AvailabilityService {
         if (dayOfWeek.equals(today.getDayOfWeek()) && start.isBefore(LocalTime.now())) {
             throw new IllegalArgumentException("Disponibilidade deve ser futura");
         }
-        // Blocos de 35 min
-        long minutes = Duration.between(start, end).toMinutes();
-        if (minutes % 35 != 0) {
-            throw new IllegalArgumentException("Disponibilidade deve ser múltipla de 35 minutos");
-        }
+        requireSlotMultiple(start, end);
         // Sem sobreposição
         boolean overlaps = availabilityRepository.existsByDoctorAndDayOfWeekAndStartTimeLessThanAndEndTimeGreaterThan(
                 doctor, dayOfWeek, end, start);
@@ -50,6 +67,115 @@ public class AvailabilityService {
         return availabilityRepository.save(availability);
     }
 
+    /**
+     * Substitui o modelo semanal inteiro do médico. A validação é feita em memória (intervalos ordenados por
+     * dia) e só a diferença em relação ao que existe é gravada: remoções em um único DELETE e inserções em lote.
+     */
+    @Transactional
+    public List<Availability> replaceWeek(DoctorProfile doctor, List<WeeklyBlock> blocks) {
+        Map<DayOfWeek, TreeMap<LocalTime, LocalTime>> week = new EnumMap<>(DayOfWeek.class);
+        for (WeeklyBlock b : blocks) {
+            if (!b.startTime().isBefore(b.endTime())) {
+                throw new IllegalArgumentException("Horário inicial deve ser antes do final");
+            }
+            requireSlotMultiple(b.startTime(), b.endTime());
+            TreeMap<LocalTime, LocalTime> day = week.computeIfAbsent(b.dayOfWeek(), d -> new TreeMap<>());
+            // vizinhos imediatos no dia: o anterior não pode terminar depois do início, o seguinte não pode começar antes do fim
+            Map.Entry<LocalTime, LocalTime> before = day.floorEntry(b.startTime());
+            Map.Entry<LocalTime, LocalTime> after = day.ceilingEntry(b.startTime());
+            if ((before != null && before.getValue().isAfter(b.startTime()))
+                    || (after != null && after.getKey().isBefore(b.endTime()))) {
+                throw new IllegalArgumentException("Disponibilidade sobreposta: " + b.dayOfWeek() + " "
+                        + b.startTime() + "-" + b.endTime());
+            }
+            day.put(b.startTime(), b.endTime());
+        }
+
+        Map<WeeklyBlock, Availability> existing = new HashMap<>();
+        List<Availability> toDelete = new ArrayList<>();
+        for (Availability a : availabilityRepository.findByDoctor(doctor)) {
+            WeeklyBlock key = new WeeklyBlock(a.getDayOfWeek(), a.getStartTime(), a.getEndTime());
+            TreeMap<LocalTime, LocalTime> day = week.get(a.getDayOfWeek());
+            if (day != null && a.getEndTime().equals(day.get(a.getStartTime())) && existing.putIfAbsent(key, a) == null) {
+                continue;
+            }
+            toDelete.add(a);
+        }
+        List<Availability> toInsert = new ArrayList<>();
+        week.forEach((dayOfWeek, day) -> day.forEach((start, end) -> {
+            if (!existing.containsKey(new WeeklyBlock(dayOfWeek, start, end))) {
+                toInsert.add(Availability.builder().doctor(doctor).dayOfWeek(dayOfWeek).startTime(start).endTime(end).build());
+            }
+        }));
+
+        if (!toDelete.isEmpty()) {
+            availabilityRepository.deleteAllInBatch(toDelete);
+        }
+        List<Availability> result = new ArrayList<>(existing.values());
+        result.addAll(availabilityRepository.saveAll(toInsert));
+        result.sort(WEEK_ORDER);
+        return result;
+    }
+
+    // Exceções por data: o modelo semanal fica intacto, a expansão de slots aplica bloqueios e extras
+    public AvailabilityException createException(DoctorProfile doctor, AvailabilityExceptionType type,
+                                                 LocalDate startDate, LocalDate endDate,
+                                                 LocalTime startTime, LocalTime endTime, String reason) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à inicial");
+        }
+        if (endDate.toEpochDay() - startDate.toEpochDay() >= MAX_EXCEPTION_DAYS) {
+            throw new IllegalArgumentException("Exceção pode cobrir no máximo " + MAX_EXCEPTION_DAYS + " dias");
+        }
+        if ((startTime == null) != (endTime == null)) {
+            throw new IllegalArgumentException("Informe hora inicial e final, ou nenhuma para o dia inteiro");
+        }
+        if (startTime == null && type == AvailabilityExceptionType.EXTRA) {
+            throw new IllegalArgumentException("Horário extra exige hora inicial e final");
+        }
+        if (startTime != null) {
+            if (!startTime.isBefore(endTime)) {
+                throw new IllegalArgumentException("Horário inicial deve ser antes do final");
+            }
+            if (type == AvailabilityExceptionType.EXTRA) {
+                requireSlotMultiple(startTime, endTime);
+            }
+        }
+        if (endDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Exceção deve incluir datas futuras");
+        }
+        return exceptionRepository.save(AvailabilityException.builder()
+                .doctor(doctor)
+                .type(type)
+                .startDate(startDate)
+                .endDate(endDate)
+                .startTime(startTime)
+                .endTime(endTime)
+                .reason(reason)
+                .build());
+    }
+
+    public List<AvailabilityException> listExceptions(UUID doctorId, LocalDate from, LocalDate to) {
+        return exceptionRepository.findOverlapping(doctorId, from, to);
+    }
+
+    // só o médico dono (ou administrador) remove; para os demais a exceção simplesmente não existe
+    @Transactional
+    public void deleteException(UUID id, UUID callerUserId, boolean admin) {
+        AvailabilityException exception = exceptionRepository.findById(id)
+                .filter(e -> admin || e.getDoctor().getUser().getId().equals(callerUserId))
+                .orElseThrow(() -> new ResourceNotFoundException("Exceção de disponibilidade não encontrada"));
+        exceptionRepository.delete(exception);
+    }
+
+    // Blocos de 35 min
+    private static void requireSlotMultiple(LocalTime start, LocalTime end) {
+        long minutes = Duration.between(start, end).toMinutes();
+        if (minutes % SlotCalendar.SLOT_MINUTES != 0) {
+            throw new IllegalArgumentException("Disponibilidade deve ser múltipla de 35 minutos");
+        }
+    }
+
     public List<Availability> listByDay(DoctorProfile doctor, DayOfWeek dayOfWeek) {
         return availabilityRepository.findByDoctorAndDayOfWeekOrderByStartTime(doctor, dayOfWeek);
     }
@@ -0,0 +1,6 @@
+package com.passmais.application.service;
+
+import java.util.UUID;
+
+// médico passou a aparecer em buscas e rankings
+public record DoctorApprovedEvent(UUID doctorId) {}
@@ -0,0 +1,141 @@
+package com.passmais.application.service;
+
+import com.passmais.application.pagination.ScoreCursor;
+import com.passmais.infrastructure.cache.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Busca de médicos por nome e especialidade: prefixo e aproximação por trigramas (pg_trgm), mais texto em
+ * especialidade/bio (tsvector), ordenada por relevância com paginação por chave (relevância, id). Primeiras
+ * páginas ficam num cache curto, limpo quando a aprovação de um médico muda o que aparece na busca.
+ */
+@Service
+public class DoctorSearchService {
+
+    public record Query(String text, UUID clinicId, Boolean approved) {}
+
+    public record DoctorHit(UUID id, String name, String specialty, String crm, boolean approved, double score) {}
+
+    public record SearchPage(List<DoctorHit> items, ScoreCursor next) {}
+
+    private record CacheKey(Query query, int limit) {}
+
+    private static final int MAX_TEXT = 80;
+
+    // prefixo vale mais que semelhança; sem texto todos empatam e a ordem é só por id
+    private static final String TEXT_SCORE =
+            "cast(greatest(word_similarity(:q, lower(u.name)), word_similarity(:q, lower(coalesce(d.specialty, '')))) " +
+            "+ case when lower(u.name) like :prefix or lower(d.specialty) like :prefix then 1 else 0 end as double precision)";
+
+    private static final String TEXT_MATCH =
+            " and (lower(u.name) like :prefix or lower(d.specialty) like :prefix " +
+            "or :q <% lower(u.name) or :q <% lower(d.specialty) " +
+            "or to_tsvector('simple', coalesce(d.specialty, '') || ' ' || coalesce(d.bio, '')) @@ to_tsquery('simple', :tsq))";
+
+    private static final RowMapper<DoctorHit> ROW_MAPPER = (rs, i) -> new DoctorHit(
+            rs.getObject("id", UUID.class),
+            rs.getString("name"),
+            rs.getString("specialty"),
+            rs.getString("crm"),
+            rs.getBoolean("approved"),
+            rs.getDouble("score"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final BoundedTtlCache<CacheKey, SearchPage> firstPages;
+
+    public DoctorSearchService(JdbcTemplate jdbcTemplate,
+                               @Value("${doctors.search.cache.max-size:1000}") int cacheSize,
+                               @Value("${doctors.search.cache.ttl-seconds:30}") long cacheTtlSeconds) {
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.firstPages = new BoundedTtlCache<>(cacheSize, Duration.ofSeconds(cacheTtlSeconds));
+    }
+
+    public SearchPage search(Query query, ScoreCursor after, int limit) {
+        Query normalized = new Query(normalize(query.text()), query.clinicId(), query.approved());
+        if (after != null) {
+            return run(normalized, after, limit);
+        }
+        // buscas repetidas (ex.: "cardiologia") respondem da memória
+        return firstPages.get(new CacheKey(normalized, limit), key -> run(key.query(), null, key.limit()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorApproved(DoctorApprovedEvent event) {
+        firstPages.invalidateAll();
+    }
+
+    private SearchPage run(Query query, ScoreCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        boolean hasText = query.text() != null;
+        StringBuilder inner = new StringBuilder("select d.id, u.name, d.specialty, d.crm, d.approved, ")
+                .append(hasText ? TEXT_SCORE : "cast(0 as double precision)").append(" as score ")
+                .append("from doctor_profiles d join users u on u.id = d.user_id where true");
+        if (query.approved() != null) {
+            inner.append(" and d.approved = :approved");
+            params.addValue("approved", query.approved());
+        }
+        if (query.clinicId() != null) {
+            inner.append(" and exists (select 1 from doctor_clinics dc where dc.doctor_id = d.id and dc.clinic_id = :clinicId)");
+            params.addValue("clinicId", query.clinicId());
+        }
+        if (hasText) {
+            inner.append(TEXT_MATCH);
+            params.addValue("q", query.text());
+            params.addValue("prefix", escapeLike(query.text()) + "%");
+            params.addValue("tsq", prefixTsQuery(query.text()));
+        }
+        StringBuilder sql = new StringBuilder("select * from (").append(inner).append(") s");
+        if (after != null) {
+            sql.append(" where (s.score, s.id) < (:afterScore, :afterId)");
+            params.addValue("afterScore", after.score());
+            params.addValue("afterId", after.id());
+        }
+        sql.append(" order by s.score desc, s.id desc limit :limit");
+        params.addValue("limit", limit + 1);
+        List<DoctorHit> rows = jdbc.query(sql.toString(), params, ROW_MAPPER);
+        if (rows.size() <= limit) {
+            return new SearchPage(rows, null);
+        }
+        List<DoctorHit> items = List.copyOf(rows.subList(0, limit));
+        DoctorHit last = items.get(limit - 1);
+        return new SearchPage(items, new ScoreCursor(last.score(), last.id()));
+    }
+
+    // nulo quando não sobra termo pesquisável
+    static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String t = text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (t.length() > MAX_TEXT) {
+            t = t.substring(0, MAX_TEXT);
+        }
+        return tokens(t).length == 0 ? null : t;
+    }
+
+    // "card sil" -> "card:* & sil:*"; só letras e dígitos chegam ao to_tsquery
+    static String prefixTsQuery(String text) {
+        return Arrays.stream(tokens(text)).map(t -> t + ":*").collect(Collectors.joining(" & "));
+    }
+
+    private static String[] tokens(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
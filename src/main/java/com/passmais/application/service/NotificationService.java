@@ -0,0 +1,78 @@
+package com.passmais.application.service;
+
+import com.passmais.application.pagination.KeysetCursor;
+import com.passmais.application.pagination.KeysetPage;
+import com.passmais.infrastructure.cache.BoundedTtlCache;
+import com.passmais.infrastructure.notification.NotificationEvent;
+import com.passmais.infrastructure.repository.NotificationRepository;
+import com.passmais.infrastructure.repository.NotificationRepository.NotificationView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caixa de notificações do usuário. O contador de não lidas fica em cache limitado: leituras ajustam o
+ * contador deste nó e criações chegam a todos os nós pelo canal LISTEN/NOTIFY; o TTL cobre o restante.
+ */
+@Service
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final BoundedTtlCache<UUID, AtomicLong> unreadCounters;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               @Value("${notifications.unread-cache.max-size:50000}") int maxSize,
+                               @Value("${notifications.unread-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCounters = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public KeysetPage<NotificationView> list(UUID userId, boolean unreadOnly, KeysetCursor before, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<NotificationView> rows = unreadOnly
+                ? notificationRepository.findUnreadPage(userId, before.at(), before.id(), page)
+                : notificationRepository.findPage(userId, before.at(), before.id(), page);
+        return KeysetPage.of(rows, limit, n -> new KeysetCursor(n.getCreatedAt(), n.getId()));
+    }
+
+    public long unreadCount(UUID userId) {
+        return unreadCounters.get(userId, id -> new AtomicLong(notificationRepository.countUnread(id))).get();
+    }
+
+    public int markRead(UUID userId, Collection<UUID> ids) {
+        int updated = notificationRepository.markRead(userId, ids);
+        AtomicLong counter = unreadCounters.get(userId);
+        if (counter != null && updated > 0) {
+            counter.updateAndGet(v -> Math.max(0, v - updated));
+        }
+        return updated;
+    }
+
+    public int markAllRead(UUID userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        unreadCounters.put(userId, new AtomicLong());
+        return updated;
+    }
+
+    @EventListener
+    public void onNotification(NotificationEvent event) {
+        recordCreated(List.of(event.userId()));
+    }
+
+    // só ajusta contadores já em cache (os demais carregam do banco)
+    public void recordCreated(Collection<UUID> userIds) {
+        for (UUID userId : userIds) {
+            AtomicLong counter = unreadCounters.get(userId);
+            if (counter != null) {
+                counter.incrementAndGet();
+            }
+        }
+    }
+}
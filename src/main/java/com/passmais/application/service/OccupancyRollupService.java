@@ -0,0 +1,219 @@
+package com.passmais.application.service;
+
+import com.passmais.infrastructure.repository.AvailabilityExceptionRepository;
+import com.passmais.infrastructure.repository.AvailabilityRepository;
+import com.passmais.infrastructure.scheduling.ClusterLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Mantém doctor_daily_occupancy (slots disponíveis x ocupados, cancelamentos e faltas por médico e dia).
+ * A cada execução recalcula só os dias tocados: consultas com updated_at na janela (watermark, agora - atraso]
+ * e, para médicos cuja disponibilidade mudou (occupancy_refresh_requests, via gatilho), os próximos dias do
+ * horizonte. O atraso cobre transações que confirmam depois do instante gravado em updated_at. Os dias que
+ * entram no horizonte são materializados para todos os médicos, para que capacidade ociosa (dias sem consultas)
+ * também apareça.
+ */
+@Service
+public class OccupancyRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(OccupancyRollupService.class);
+    private static final String WATERMARK = "doctor-occupancy";
+    private static final String HORIZON = "doctor-occupancy-horizon";
+    private static final String LEASE = "occupancy-rollup";
+    static final int MAX_REBUILD_DAYS = 3 * 366;
+
+    private static final String TOUCHED_SQL =
+            "select distinct doctor_id, cast(date_time at time zone ? as date) as day from appointments " +
+            "where updated_at > ? and updated_at <= ?";
+
+    private static final String REQUESTED_SQL =
+            "with r as (delete from occupancy_refresh_requests returning doctor_id) " +
+            "select r.doctor_id from r join doctor_profiles d on d.id = r.doctor_id";
+
+    // ocupado = qualquer status que prende o horário, inclusive falta
+    private static final String COUNTS_SQL =
+            "select cast(date_time at time zone ? as date) as day, " +
+            "count(*) filter (where status in ('PENDING', 'IN_PROGRESS', 'DONE', 'NO_SHOW')) as booked, " +
+            "count(*) filter (where status = 'CANCELED') as canceled, " +
+            "count(*) filter (where status = 'NO_SHOW') as no_shows " +
+            "from appointments where doctor_id = ? and date_time >= ? and date_time < ? group by 1";
+
+    private static final String UPSERT_SQL =
+            "insert into doctor_daily_occupancy (doctor_id, day, available_slots, booked_slots, canceled, no_shows, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, now()) on conflict (doctor_id, day) do update set " +
+            "available_slots = excluded.available_slots, booked_slots = excluded.booked_slots, " +
+            "canceled = excluded.canceled, no_shows = excluded.no_shows, updated_at = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final AvailabilityRepository availabilityRepository;
+    private final AvailabilityExceptionRepository exceptionRepository;
+    private final ClusterLease clusterLease;
+    private final ZoneId zone;
+    private final Duration lag;
+    private final int horizonDays;
+
+    public OccupancyRollupService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  AvailabilityRepository availabilityRepository,
+                                  AvailabilityExceptionRepository exceptionRepository,
+                                  ClusterLease clusterLease,
+                                  @Value("${scheduling.time-zone:America/Sao_Paulo}") String zone,
+                                  @Value("${occupancy.rollup.lag-seconds:120}") long lagSeconds,
+                                  @Value("${occupancy.rollup.horizon-days:90}") int horizonDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.availabilityRepository = availabilityRepository;
+        this.exceptionRepository = exceptionRepository;
+        this.clusterLease = clusterLease;
+        this.zone = ZoneId.of(zone);
+        this.lag = Duration.ofSeconds(lagSeconds);
+        this.horizonDays = horizonDays;
+    }
+
+    @Scheduled(fixedDelayString = "${occupancy.rollup.interval-ms:60000}",
+            initialDelayString = "${occupancy.rollup.interval-ms:60000}")
+    public void run() {
+        if (!clusterLease.tryAcquire(LEASE, Duration.ofMinutes(10))) {
+            return;
+        }
+        try {
+            int days = refreshIncremental() + rollHorizon();
+            if (days > 0) {
+                log.info("Ocupação recalculada para {} dias de médico", days);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao atualizar ocupação: {}", ex.getMessage());
+        } finally {
+            clusterLease.release(LEASE);
+        }
+    }
+
+    // retorna quantos pares (médico, dia) foram recalculados; watermark só avança se tudo der certo
+    public int refreshIncremental() {
+        Integer total = tx.execute(status -> {
+            Timestamp watermark = jdbcTemplate.queryForObject(
+                    "select watermark from rollup_watermarks where name = ? for update", Timestamp.class, WATERMARK);
+            Timestamp upper = jdbcTemplate.queryForObject(
+                    "select now() - make_interval(secs => ?)", Timestamp.class, (double) lag.toSeconds());
+            Map<UUID, NavigableSet<LocalDate>> touched = new HashMap<>();
+            if (upper.after(watermark)) {
+                jdbcTemplate.query(TOUCHED_SQL, rs -> {
+                    touched.computeIfAbsent(rs.getObject("doctor_id", UUID.class), id -> new TreeSet<>())
+                            .add(rs.getDate("day").toLocalDate());
+                }, zone.getId(), watermark, upper);
+            }
+            LocalDate today = LocalDate.now(zone);
+            for (UUID doctorId : jdbcTemplate.queryForList(REQUESTED_SQL, UUID.class)) {
+                NavigableSet<LocalDate> days = touched.computeIfAbsent(doctorId, id -> new TreeSet<>());
+                for (int d = 0; d < horizonDays; d++) {
+                    days.add(today.plusDays(d));
+                }
+            }
+            int count = 0;
+            for (Map.Entry<UUID, NavigableSet<LocalDate>> e : touched.entrySet()) {
+                count += recompute(e.getKey(), e.getValue());
+            }
+            if (upper.after(watermark)) {
+                jdbcTemplate.update("update rollup_watermarks set watermark = ? where name = ?", upper, WATERMARK);
+            }
+            return count;
+        });
+        return total != null ? total : 0;
+    }
+
+    // avança o horizonte: dias novos (de hoje + horizonte) para todos os médicos; na prática uma vez por dia
+    int rollHorizon() {
+        LocalDate today = LocalDate.now(zone);
+        LocalDate end = today.plusDays(horizonDays - 1);
+        Timestamp mark = jdbcTemplate.queryForObject(
+                "select watermark from rollup_watermarks where name = ?", Timestamp.class, HORIZON);
+        LocalDate covered = mark.toInstant().atZone(zone).toLocalDate();
+        if (!covered.isBefore(end)) {
+            return 0;
+        }
+        LocalDate from = covered.isBefore(today) ? today : covered.plusDays(1);
+        NavigableSet<LocalDate> days = new TreeSet<>();
+        for (LocalDate d = from; !d.isAfter(end); d = d.plusDays(1)) {
+            days.add(d);
+        }
+        int total = recomputeAll(days);
+        jdbcTemplate.update("update rollup_watermarks set watermark = ? where name = ?",
+                Timestamp.from(end.atStartOfDay(zone).toInstant()), HORIZON);
+        return total;
+    }
+
+    // backfill histórico: todos os médicos, um por transação
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à inicial");
+        }
+        if (to.toEpochDay() - from.toEpochDay() >= MAX_REBUILD_DAYS) {
+            throw new IllegalArgumentException("Intervalo máximo de " + MAX_REBUILD_DAYS + " dias");
+        }
+        NavigableSet<LocalDate> days = new TreeSet<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            days.add(d);
+        }
+        int total = recomputeAll(days);
+        log.info("Ocupação reconstruída de {} a {}: {} dias de médico", from, to, total);
+        return total;
+    }
+
+    // todos os médicos, um por transação (upserts idempotentes: uma falha no meio é refeita na próxima vez)
+    private int recomputeAll(NavigableSet<LocalDate> days) {
+        int total = 0;
+        for (UUID doctorId : jdbcTemplate.queryForList("select id from doctor_profiles order by id", UUID.class)) {
+            Integer n = tx.execute(status -> recompute(doctorId, days));
+            total += n != null ? n : 0;
+        }
+        return total;
+    }
+
+    // modelo semanal + exceções dão os slots disponíveis do dia; uma consulta agrupada dá os contadores
+    int recompute(UUID doctorId, NavigableSet<LocalDate> days) {
+        if (days.isEmpty()) {
+            return 0;
+        }
+        LocalDate from = days.first();
+        LocalDate to = days.last();
+        SlotCalendar calendar = new SlotCalendar(availabilityRepository.findWindowsByDoctorId(doctorId),
+                exceptionRepository.findWindows(doctorId, from, to), zone);
+        int[][] templates = calendar.dayTemplates(from, to);
+        Map<LocalDate, int[]> counts = new HashMap<>();
+        jdbcTemplate.query(COUNTS_SQL, rs -> {
+            counts.put(rs.getDate("day").toLocalDate(),
+                    new int[]{rs.getInt("booked"), rs.getInt("canceled"), rs.getInt("no_shows")});
+        }, zone.getId(), doctorId,
+                Timestamp.from(from.atStartOfDay(zone).toInstant()),
+                Timestamp.from(to.plusDays(1).atStartOfDay(zone).toInstant()));
+        List<Object[]> rows = new ArrayList<>(days.size());
+        for (LocalDate day : days) {
+            int[] c = counts.getOrDefault(day, new int[3]);
+            int available = templates[(int) (day.toEpochDay() - from.toEpochDay())].length;
+            rows.add(new Object[]{doctorId, Date.valueOf(day), available, c[0], c[1], c[2]});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        return rows.size();
+    }
+}
@@ -0,0 +1,139 @@
+package com.passmais.application.service;
+
+import com.passmais.application.rating.RatingLeaderboard;
+import com.passmais.application.rating.RatingLeaderboard.Entry;
+import com.passmais.application.rating.RatingSummaryChangedEvent;
+import com.passmais.domain.entity.DoctorRatingSummary;
+import com.passmais.infrastructure.repository.DoctorRatingSummaryRepository;
+import com.passmais.infrastructure.repository.DoctorRatingSummaryRepository.RankedDoctor;
+import com.passmais.infrastructure.scheduling.ClusterLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Notas dos médicos servidas a partir de doctor_rating_summaries. O ranking "top" usa um quadro em memória
+ * por especialidade ({@link RatingLeaderboard}), ajustado a cada moderação e recarregado do resumo quando
+ * fica desatualizado ou expira (o TTL cobre mudanças feitas em outros nós).
+ */
+@Service
+public class RatingService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingService.class);
+    private static final String ALL = "";
+    private static final String REBUILD_LEASE = "rating-summaries-rebuild";
+    // especialidade vem da query string: limita quantos quadros ficam em memória
+    private static final int MAX_BOARDS = 256;
+
+    private final DoctorRatingSummaryRepository summaryRepository;
+    private final ClusterLease clusterLease;
+    private final int capacity;
+    private final double priorMean;
+    private final double priorWeight;
+    private final Duration ttl;
+    private final Map<String, RatingLeaderboard> boards = new ConcurrentHashMap<>();
+
+    public RatingService(DoctorRatingSummaryRepository summaryRepository,
+                         ClusterLease clusterLease,
+                         @Value("${ratings.ranking.capacity:100}") int capacity,
+                         @Value("${ratings.ranking.prior-mean:4.0}") double priorMean,
+                         @Value("${ratings.ranking.prior-weight:5}") double priorWeight,
+                         @Value("${ratings.ranking.ttl-seconds:300}") long ttlSeconds) {
+        this.summaryRepository = summaryRepository;
+        this.clusterLease = clusterLease;
+        this.capacity = capacity;
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public List<Entry> top(String specialty, int limit) {
+        if (limit < 1 || limit > capacity) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + capacity);
+        }
+        String key = key(specialty);
+        RatingLeaderboard board = boards.get(key);
+        if (board == null || board.needsReload(Instant.now().minus(ttl))) {
+            board = load(key);
+            if (boards.size() < MAX_BOARDS || boards.containsKey(key)) {
+                boards.put(key, board);
+            }
+        }
+        return board.top(limit);
+    }
+
+    public Optional<DoctorRatingSummary> summary(UUID doctorId) {
+        return summaryRepository.findById(doctorId);
+    }
+
+    // depois do commit: o resumo já reflete a moderação
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingsChanged(RatingSummaryChangedEvent event) {
+        if (boards.isEmpty() || event.doctorIds().isEmpty()) {
+            return;
+        }
+        Map<UUID, RankedDoctor> ranked = summaryRepository.findRanked(event.doctorIds(), priorMean, priorWeight).stream()
+                .collect(Collectors.toMap(RankedDoctor::getDoctorId, Function.identity()));
+        boards.forEach((key, board) -> {
+            for (UUID doctorId : event.doctorIds()) {
+                RankedDoctor r = ranked.get(doctorId);
+                boolean visible = r != null && Boolean.TRUE.equals(r.getApproved()) && r.getReviewCount() > 0
+                        && (key.equals(ALL) || key.equals(key(r.getSpecialty())));
+                board.update(doctorId, visible ? toEntry(r) : null);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorApproved(DoctorApprovedEvent event) {
+        boards.values().forEach(RatingLeaderboard::invalidate);
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        summaryRepository.rebuildAll();
+        boards.clear();
+        log.info("Resumo de notas reconstruído em {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // reconciliação periódica opcional (desligada por padrão: "-")
+    @Scheduled(cron = "${ratings.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        if (!clusterLease.tryAcquire(REBUILD_LEASE, Duration.ofMinutes(30))) {
+            return;
+        }
+        try {
+            rebuild();
+        } finally {
+            clusterLease.release(REBUILD_LEASE);
+        }
+    }
+
+    private RatingLeaderboard load(String key) {
+        List<Entry> rows = summaryRepository.findTopRanked(key.equals(ALL) ? null : key, priorMean, priorWeight, capacity)
+                .stream().map(RatingService::toEntry).toList();
+        return new RatingLeaderboard(capacity, rows, Instant.now());
+    }
+
+    private static Entry toEntry(RankedDoctor r) {
+        return new Entry(r.getDoctorId(), r.getName(), r.getSpecialty(), r.getReviewCount(), r.getRatingSum(), r.getScore());
+    }
+
+    private static String key(String specialty) {
+        return specialty == null || specialty.isBlank() ? ALL : specialty.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,114 @@
+package com.passmais.application.service;
+
+import com.passmais.domain.entity.RefreshToken;
+import com.passmais.domain.entity.User;
+import com.passmais.infrastructure.repository.RefreshTokenRepository;
+import com.passmais.infrastructure.security.JwtService;
+import com.passmais.infrastructure.security.RevokedTokenFamilies;
+import io.jsonwebtoken.Claims;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenFamilies revokedFamilies;
+    private final JwtService jwtService;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               RevokedTokenFamilies revokedFamilies,
+                               JwtService jwtService) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedFamilies = revokedFamilies;
+        this.jwtService = jwtService;
+    }
+
+    public record IssuedRefreshToken(String token, UUID jti, UUID familyId) {}
+
+    @Transactional
+    public IssuedRefreshToken startFamily(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    // Rotaciona: o token apresentado é marcado como substituído; reapresentá-lo revoga a família inteira
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public IssuedRefreshToken rotate(User user, Claims claims) {
+        RefreshToken current = load(claims, true);
+        Instant now = Instant.now();
+        if (!current.getUserId().equals(user.getId())) {
+            throw new BadCredentialsException("Token de refresh inválido");
+        }
+        if (!current.isActive(now)) {
+            if (current.getReplacedById() != null) {
+                // reuso de token já rotacionado: possível vazamento, encerra a sessão
+                revokeFamily(current.getFamilyId());
+            }
+            throw new BadCredentialsException("Token de refresh inválido");
+        }
+        IssuedRefreshToken next = issue(user, current.getFamilyId());
+        current.setReplacedById(next.jti());
+        refreshTokenRepository.save(current);
+        return next;
+    }
+
+    @Transactional
+    public void revoke(Claims claims) {
+        revokeFamily(load(claims, false).getFamilyId());
+    }
+
+    @Transactional
+    public void revokeAll(UUID userId) {
+        List<UUID> families = refreshTokenRepository.findActiveFamilies(userId, Instant.now());
+        for (UUID familyId : families) {
+            revokeFamily(familyId);
+        }
+    }
+
+    @Scheduled(cron = "${security.jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpiredBefore(Instant.now().minus(jwtService.getRefreshTokenTtl()));
+    }
+
+    private void revokeFamily(UUID familyId) {
+        Instant now = Instant.now();
+        refreshTokenRepository.revokeFamily(familyId, now);
+        revokedFamilies.markRevoked(familyId, now);
+    }
+
+    private RefreshToken load(Claims claims, boolean forUpdate) {
+        if (!JwtService.REFRESH_TOKEN_TYPE.equals(claims.get(JwtService.TOKEN_TYPE_CLAIM, String.class))
+                || claims.getId() == null) {
+            throw new BadCredentialsException("Token de refresh inválido");
+        }
+        UUID familyId = UUID.fromString(claims.get(JwtService.FAMILY_CLAIM, String.class));
+        // caminho comum: família revogada é rejeitada sem ida ao banco
+        if (revokedFamilies.isRevoked(familyId)) {
+            throw new BadCredentialsException("Sessão encerrada");
+        }
+        UUID jti = UUID.fromString(claims.getId());
+        return (forUpdate ? refreshTokenRepository.findByIdForUpdate(jti) : refreshTokenRepository.findById(jti))
+                .orElseThrow(() -> new BadCredentialsException("Token de refresh inválido"));
+    }
+
+    private IssuedRefreshToken issue(User user, UUID familyId) {
+        UUID jti = UUID.randomUUID();
+        Instant now = Instant.now();
+        String token = jwtService.generateRefreshToken(user.getEmail(), jti, familyId);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .id(jti)
+                .familyId(familyId)
+                .userId(user.getId())
+                .issuedAt(now)
+                .expiresAt(now.plus(jwtService.getRefreshTokenTtl()))
+                .build());
+        return new IssuedRefreshToken(token, jti, familyId);
+    }
+}
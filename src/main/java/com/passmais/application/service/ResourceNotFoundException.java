@@ -0,0 +1,8 @@
+package com.passmais.application.service;
+
+// 404: recurso inexistente ou de outro usuário (a resposta não distingue os dois casos)
+public class ResourceNotFoundException extends RuntimeException {
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
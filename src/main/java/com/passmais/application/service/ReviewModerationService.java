@@ -0,0 +1,133 @@
+package com.passmais.application.service;
+
+import com.passmais.application.service.ReviewService.ModeratedReview;
+import com.passmais.domain.enums.ReviewStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fila de moderação de avaliações para vários moderadores ao mesmo tempo. Cada um reivindica um lote de
+ * pendentes (FOR UPDATE SKIP LOCKED: dois moderadores nunca recebem a mesma avaliação) com prazo; aprovar ou
+ * rejeitar só vale para a própria reivindicação ativa, em um único UPDATE, e o registro em moderation_logs
+ * é um único INSERT de várias linhas na mesma transação.
+ */
+@Service
+public class ReviewModerationService {
+
+    public record QueuedReview(UUID id, UUID appointmentId, int rating, String comment,
+                               Instant createdAt, Instant claimExpiresAt) {}
+
+    public record ModerationResult(List<UUID> updated, List<UUID> skipped) {}
+
+    // pendentes livres (sem reivindicação ou vencida) ou já do próprio moderador, em ordem de chegada
+    private static final String CLAIM_SQL =
+            "update reviews r set claimed_by_id = ?, claim_expires_at = now() + make_interval(secs => ?) " +
+            "where r.id in (select id from reviews where status = 'PENDING' " +
+            "and (claim_expires_at is null or claim_expires_at <= now() or claimed_by_id = ?) " +
+            "order by created_at, id limit ? for update skip locked) " +
+            "returning r.id, r.appointment_id, r.rating, r.comment, r.created_at, r.claim_expires_at";
+
+    private static final String RELEASE_SQL =
+            "update reviews set claimed_by_id = null, claim_expires_at = null " +
+            "where id = any(?) and claimed_by_id = ? and status = 'PENDING'";
+
+    private final ReviewService reviewService;
+    private final JdbcTemplate jdbcTemplate;
+    private final long claimSeconds;
+    private final int maxBatch;
+
+    public ReviewModerationService(ReviewService reviewService,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${reviews.moderation.claim-seconds:600}") long claimSeconds,
+                                   @Value("${reviews.moderation.max-batch:200}") int maxBatch) {
+        this.reviewService = reviewService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.claimSeconds = claimSeconds;
+        this.maxBatch = maxBatch;
+    }
+
+    // lotes anteriores ainda ativos do moderador voltam junto, com o prazo renovado
+    @Transactional
+    public List<QueuedReview> claim(UUID moderatorId, int limit) {
+        if (limit < 1 || limit > maxBatch) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + maxBatch);
+        }
+        List<QueuedReview> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, i) -> new QueuedReview(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("appointment_id", UUID.class),
+                        rs.getInt("rating"),
+                        rs.getString("comment"),
+                        rs.getTimestamp("created_at").toInstant(),
+                        rs.getTimestamp("claim_expires_at").toInstant()),
+                moderatorId, claimSeconds, moderatorId, limit);
+        // UPDATE ... RETURNING não garante ordem
+        return claimed.stream()
+                .sorted((a, b) -> a.createdAt().equals(b.createdAt())
+                        ? a.id().compareTo(b.id()) : a.createdAt().compareTo(b.createdAt()))
+                .toList();
+    }
+
+    @Transactional
+    public int release(UUID moderatorId, Collection<UUID> reviewIds) {
+        UUID[] ids = reviewIds.stream().distinct().toArray(UUID[]::new);
+        return jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(RELEASE_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            ps.setObject(2, moderatorId);
+            return ps;
+        });
+    }
+
+    @Transactional
+    public ModerationResult approve(UUID moderatorId, Collection<UUID> reviewIds) {
+        return decide(moderatorId, reviewIds, ReviewStatus.APPROVED, "REVIEW_APPROVED");
+    }
+
+    @Transactional
+    public ModerationResult reject(UUID moderatorId, Collection<UUID> reviewIds) {
+        return decide(moderatorId, reviewIds, ReviewStatus.REJECTED, "REVIEW_REJECTED");
+    }
+
+    private ModerationResult decide(UUID moderatorId, Collection<UUID> reviewIds, ReviewStatus status, String action) {
+        if (reviewIds.size() > maxBatch) {
+            throw new IllegalArgumentException("No máximo " + maxBatch + " avaliações por lote");
+        }
+        List<ModeratedReview> changed = reviewService.moderateClaimed(reviewIds, status, moderatorId);
+        writeLogs(moderatorId, action, changed);
+        List<UUID> updated = changed.stream().map(ModeratedReview::reviewId).toList();
+        Set<UUID> updatedSet = new HashSet<>(updated);
+        // reivindicação vencida/alheia ou avaliação inexistente
+        List<UUID> skipped = reviewIds.stream().distinct().filter(id -> !updatedSet.contains(id)).toList();
+        return new ModerationResult(updated, skipped);
+    }
+
+    private void writeLogs(UUID moderatorId, String action, List<ModeratedReview> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(
+                "insert into moderation_logs (id, admin_user_id, action, details, created_at) values ");
+        Object[] args = new Object[changed.size() * 5];
+        Timestamp now = Timestamp.from(Instant.now());
+        int i = 0;
+        for (ModeratedReview r : changed) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+            args[i++] = UUID.randomUUID();
+            args[i++] = moderatorId;
+            args[i++] = action;
+            args[i++] = "review=" + r.reviewId() + " doctor=" + r.doctorId();
+            args[i++] = now;
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+}
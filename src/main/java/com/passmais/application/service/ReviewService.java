@@ -1,19 +1,68 @@
 package com.passmais.application.service;
 
+import com.passmais.application.rating.RatingSummaryChangedEvent;
 import com.passmais.domain.entity.Appointment;
 import com.passmais.domain.entity.Review;
 import com.passmais.domain.enums.AppointmentStatus;
 import com.passmais.domain.enums.ReviewStatus;
 import com.passmais.infrastructure.repository.ReviewRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class ReviewService {
 
+    public record ModeratedReview(UUID reviewId, UUID doctorId) {}
+
+    // trava as avaliações, troca o status e aplica no resumo do médico a diferença: +1 ao entrar em APPROVED,
+    // -1 ao sair. Com FOR UPDATE o status antigo lido é o último confirmado, mesmo com moderadores concorrentes.
+    private static final String MODERATE_SQL =
+            "with locked as (" +
+            "select r.id, r.status as old_status, r.rating, a.doctor_id from reviews r " +
+            "join appointments a on a.id = r.appointment_id " +
+            "where r.id = any(?) and r.status <> ? %s for update of r), " +
+            "changed as (" +
+            "update reviews r set status = ?, moderated_by_id = ?, moderated_at = now(), " +
+            "claimed_by_id = null, claim_expires_at = null from locked l " +
+            "where r.id = l.id returning l.id, l.old_status, l.rating, l.doctor_id), " +
+            "deltas as (" +
+            "select doctor_id, rating, case when old_status = 'APPROVED' then -1 when ? = 'APPROVED' then 1 else 0 end as delta " +
+            "from changed), " +
+            "summary as (" +
+            "insert into doctor_rating_summaries as s (doctor_id, review_count, rating_sum, " +
+            "rating_1, rating_2, rating_3, rating_4, rating_5, updated_at) " +
+            "select doctor_id, sum(delta), sum(delta * rating), " +
+            "coalesce(sum(delta) filter (where rating = 1), 0), coalesce(sum(delta) filter (where rating = 2), 0), " +
+            "coalesce(sum(delta) filter (where rating = 3), 0), coalesce(sum(delta) filter (where rating = 4), 0), " +
+            "coalesce(sum(delta) filter (where rating = 5), 0), now() " +
+            "from deltas where delta <> 0 group by doctor_id " +
+            "on conflict (doctor_id) do update set review_count = s.review_count + excluded.review_count, " +
+            "rating_sum = s.rating_sum + excluded.rating_sum, rating_1 = s.rating_1 + excluded.rating_1, " +
+            "rating_2 = s.rating_2 + excluded.rating_2, rating_3 = s.rating_3 + excluded.rating_3, " +
+            "rating_4 = s.rating_4 + excluded.rating_4, rating_5 = s.rating_5 + excluded.rating_5, updated_at = now()) " +
+            "select id, doctor_id from changed";
+
+    // fila de moderação: só vale a reivindicação ainda ativa do próprio moderador
+    private static final String CLAIMED_FILTER = "and r.claimed_by_id = ? and r.claim_expires_at > now()";
+
     private final ReviewRepository reviewRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ReviewService(ReviewRepository reviewRepository) {
+    public ReviewService(ReviewRepository reviewRepository,
+                         JdbcTemplate jdbcTemplate,
+                         ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     public Review createFromAppointment(Appointment appt, int rating, String comment) {
@@ -28,5 +77,45 @@ public class ReviewService {
                 .build();
         return reviewRepository.save(r);
     }
-}
 
+    // retorna só as avaliações que de fato mudaram de status (já estar no status pedido não conta)
+    @Transactional
+    public List<ModeratedReview> moderate(Collection<UUID> reviewIds, ReviewStatus status, UUID moderatorId) {
+        return moderate(reviewIds, status, moderatorId, false);
+    }
+
+    // como moderate, mas ignora avaliações cuja reivindicação não pertence (mais) ao moderador
+    @Transactional
+    public List<ModeratedReview> moderateClaimed(Collection<UUID> reviewIds, ReviewStatus status, UUID moderatorId) {
+        return moderate(reviewIds, status, moderatorId, true);
+    }
+
+    private List<ModeratedReview> moderate(Collection<UUID> reviewIds, ReviewStatus status, UUID moderatorId, boolean claimedOnly) {
+        if (status == ReviewStatus.PENDING) {
+            throw new IllegalArgumentException("Moderação deve aprovar ou rejeitar");
+        }
+        if (reviewIds.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = reviewIds.stream().distinct().toArray(UUID[]::new);
+        String sql = MODERATE_SQL.formatted(claimedOnly ? CLAIMED_FILTER : "");
+        List<ModeratedReview> changed = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            int i = 1;
+            ps.setArray(i++, con.createArrayOf("uuid", ids));
+            ps.setString(i++, status.name());
+            if (claimedOnly) {
+                ps.setObject(i++, moderatorId);
+            }
+            ps.setString(i++, status.name());
+            ps.setObject(i++, moderatorId);
+            ps.setString(i, status.name());
+            return ps;
+        }, (rs, i) -> new ModeratedReview(rs.getObject("id", UUID.class), rs.getObject("doctor_id", UUID.class)));
+        Set<UUID> doctors = changed.stream().map(ModeratedReview::doctorId).collect(Collectors.toSet());
+        if (!doctors.isEmpty()) {
+            eventPublisher.publishEvent(new RatingSummaryChangedEvent(doctors));
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,233 @@
+package com.passmais.application.service;
+
+import com.passmais.domain.enums.AvailabilityExceptionType;
+import com.passmais.infrastructure.repository.AvailabilityExceptionRepository.ExceptionWindow;
+import com.passmais.infrastructure.repository.AvailabilityRepository.AvailabilityWindow;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Expande os modelos semanais de disponibilidade em slots de 35 minutos. Cada dia é um bitmap em um
+ * único long (no máximo 41 slots de 35 min cabem em 24h); o bit i representa o i-ésimo slot do modelo
+ * daquele dia da semana. Dias com exceção (bloqueio ou horário extra) ganham um modelo próprio, calculado
+ * por uma varredura ordenada das bordas dos intervalos semanais e das exceções.
+ */
+public final class SlotCalendar {
+
+    public static final int SLOT_MINUTES = 35;
+    private static final int DAY_MINUTES = 24 * 60;
+
+    // bordas de intervalo na varredura: minuto * 4 + tipo, para ordenar um int[] simples
+    private static final int OPEN = 0;
+    private static final int CLOSE = 1;
+    private static final int BLOCK = 2;
+    private static final int UNBLOCK = 3;
+
+    private final ZoneId zone;
+    // início (minuto do dia) de cada slot, ordenado, indexado por DayOfWeek.ordinal()
+    private final int[][] templates = new int[7][];
+    // bordas OPEN/CLOSE das janelas semanais de cada dia da semana, já codificadas
+    private final int[][] windowEdges = new int[7][];
+    private final List<? extends ExceptionWindow> exceptions;
+
+    public SlotCalendar(Collection<? extends AvailabilityWindow> availabilities, ZoneId zone) {
+        this(availabilities, List.of(), zone);
+    }
+
+    public SlotCalendar(Collection<? extends AvailabilityWindow> availabilities,
+                        List<? extends ExceptionWindow> exceptions,
+                        ZoneId zone) {
+        this.zone = zone;
+        this.exceptions = exceptions;
+        List<List<Integer>> starts = new ArrayList<>(7);
+        List<List<Integer>> edges = new ArrayList<>(7);
+        for (int i = 0; i < 7; i++) {
+            starts.add(new ArrayList<>());
+            edges.add(new ArrayList<>());
+        }
+        for (AvailabilityWindow a : availabilities) {
+            int start = a.getStartTime().toSecondOfDay() / 60;
+            int end = a.getEndTime().toSecondOfDay() / 60;
+            for (int m = start; m + SLOT_MINUTES <= end; m += SLOT_MINUTES) {
+                starts.get(a.getDayOfWeek().ordinal()).add(m);
+            }
+            edges.get(a.getDayOfWeek().ordinal()).add(start * 4 + OPEN);
+            edges.get(a.getDayOfWeek().ordinal()).add(end * 4 + CLOSE);
+        }
+        for (int i = 0; i < 7; i++) {
+            int[] t = starts.get(i).stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+            if (t.length > Long.SIZE) {
+                throw new IllegalArgumentException("Disponibilidade com slots demais em " + DayOfWeek.values()[i]);
+            }
+            templates[i] = t;
+            windowEdges[i] = edges.get(i).stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public int[] template(DayOfWeek dayOfWeek) {
+        return templates[dayOfWeek.ordinal()];
+    }
+
+    // modelo de slots de cada dia de `from` até `to` (inclusive): o semanal, ou o recalculado se houver exceção
+    public int[][] dayTemplates(LocalDate from, LocalDate to) {
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        int[][] result = new int[days][];
+        int firstDow = from.getDayOfWeek().ordinal();
+        for (int d = 0; d < days; d++) {
+            result[d] = templates[(firstDow + d) % 7];
+        }
+        if (exceptions.isEmpty()) {
+            return result;
+        }
+        // bordas das exceções por dia; só os dias afetados saem do caminho rápido
+        int[][] extraEdges = new int[days][];
+        int[] extraCount = new int[days];
+        for (ExceptionWindow e : exceptions) {
+            int first = (int) Math.max(0, e.getStartDate().toEpochDay() - from.toEpochDay());
+            int last = (int) Math.min(days - 1, e.getEndDate().toEpochDay() - from.toEpochDay());
+            int start = e.getStartTime() == null ? 0 : e.getStartTime().toSecondOfDay() / 60;
+            int end = e.getEndTime() == null ? DAY_MINUTES : e.getEndTime().toSecondOfDay() / 60;
+            boolean blocked = e.getType() == AvailabilityExceptionType.BLOCKED;
+            for (int d = first; d <= last; d++) {
+                if (extraEdges[d] == null) {
+                    extraEdges[d] = new int[4];
+                } else if (extraCount[d] + 2 > extraEdges[d].length) {
+                    extraEdges[d] = Arrays.copyOf(extraEdges[d], extraEdges[d].length * 2);
+                }
+                extraEdges[d][extraCount[d]++] = start * 4 + (blocked ? BLOCK : OPEN);
+                extraEdges[d][extraCount[d]++] = end * 4 + (blocked ? UNBLOCK : CLOSE);
+            }
+        }
+        for (int d = 0; d < days; d++) {
+            if (extraEdges[d] != null) {
+                int[] own = Arrays.copyOf(extraEdges[d], extraCount[d]);
+                Arrays.sort(own);
+                result[d] = mergeDay(windowEdges[(firstDow + d) % 7], own);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Uma única passada de merge sobre as bordas já ordenadas (janelas semanais e exceções do dia).
+     * O minuto é livre se houver ao menos uma janela aberta e nenhum bloqueio ativo; cada trecho livre
+     * é fatiado em slots de 35 minutos a partir do seu início.
+     */
+    static int[] mergeDay(int[] weeklyEdges, int[] exceptionEdges) {
+        int[] slots = new int[Long.SIZE];
+        int count = 0;
+        int open = 0;
+        int blocked = 0;
+        int freeStart = -1;
+        int i = 0;
+        int j = 0;
+        while (i < weeklyEdges.length || j < exceptionEdges.length) {
+            int minute = Math.min(i < weeklyEdges.length ? weeklyEdges[i] >> 2 : Integer.MAX_VALUE,
+                    j < exceptionEdges.length ? exceptionEdges[j] >> 2 : Integer.MAX_VALUE);
+            // aplica todas as bordas do mesmo minuto antes de decidir o estado
+            for (; i < weeklyEdges.length && weeklyEdges[i] >> 2 == minute; i++) {
+                open += (weeklyEdges[i] & 3) == OPEN ? 1 : -1;
+            }
+            for (; j < exceptionEdges.length && exceptionEdges[j] >> 2 == minute; j++) {
+                switch (exceptionEdges[j] & 3) {
+                    case OPEN -> open++;
+                    case CLOSE -> open--;
+                    case BLOCK -> blocked++;
+                    default -> blocked--;
+                }
+            }
+            boolean free = open > 0 && blocked == 0;
+            if (free && freeStart < 0) {
+                freeStart = minute;
+            } else if (!free && freeStart >= 0) {
+                for (int m = freeStart; m + SLOT_MINUTES <= minute && count < slots.length; m += SLOT_MINUTES) {
+                    slots[count++] = m;
+                }
+                freeStart = -1;
+            }
+        }
+        return Arrays.copyOf(slots, count);
+    }
+
+    // bitmaps livres de `from` até `to` (inclusive), já sem os horários ocupados
+    public long[] freeMasks(LocalDate from, LocalDate to, Collection<Instant> occupied) {
+        return freeMasks(from, dayTemplates(from, to), occupied);
+    }
+
+    private long[] freeMasks(LocalDate from, int[][] dayTemplates, Collection<Instant> occupied) {
+        int days = dayTemplates.length;
+        long[] masks = new long[days];
+        for (int d = 0; d < days; d++) {
+            masks[d] = fullMask(dayTemplates[d].length);
+        }
+        for (Instant start : occupied) {
+            ZonedDateTime z = start.atZone(zone);
+            int d = (int) (z.toLocalDate().toEpochDay() - from.toEpochDay());
+            if (d < 0 || d >= days) {
+                continue;
+            }
+            masks[d] &= ~overlapping(dayTemplates[d], z.toLocalTime().toSecondOfDay() / 60);
+        }
+        return masks;
+    }
+
+    private static long fullMask(int slots) {
+        return slots == Long.SIZE ? -1L : (1L << slots) - 1;
+    }
+
+    public List<DaySlots> freeSlots(LocalDate from, LocalDate to, Collection<Instant> occupied, Instant notBefore) {
+        int[][] dayTemplates = dayTemplates(from, to);
+        long[] masks = freeMasks(from, dayTemplates, occupied);
+        List<DaySlots> result = new ArrayList<>(masks.length);
+        for (int d = 0; d < masks.length; d++) {
+            LocalDate date = from.plusDays(d);
+            int[] template = dayTemplates[d];
+            List<Instant> slots = new ArrayList<>(Long.bitCount(masks[d]));
+            Instant dayStart = date.atStartOfDay(zone).toInstant();
+            // dia de 24h (sem troca de horário de verão): basta somar minutos ao início do dia
+            boolean regularDay = date.plusDays(1).atStartOfDay(zone).toInstant().getEpochSecond()
+                    - dayStart.getEpochSecond() == 86_400;
+            for (long m = masks[d]; m != 0; m &= m - 1) {
+                int i = Long.numberOfTrailingZeros(m);
+                Instant slot = regularDay
+                        ? dayStart.plusSeconds(template[i] * 60L)
+                        : date.atTime(LocalTime.ofSecondOfDay(template[i] * 60L)).atZone(zone).toInstant();
+                if (!slot.isBefore(notBefore)) {
+                    slots.add(slot);
+                }
+            }
+            result.add(new DaySlots(date, slots));
+        }
+        return result;
+    }
+
+    // slots do modelo que se sobrepõem a uma consulta [minute, minute + 35)
+    private static long overlapping(int[] template, int minute) {
+        int i = Arrays.binarySearch(template, minute);
+        if (i < 0) {
+            i = Math.max(0, -i - 2);
+        }
+        long mask = 0;
+        for (; i < template.length && template[i] < minute + SLOT_MINUTES; i++) {
+            if (template[i] + SLOT_MINUTES > minute) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    public record DaySlots(LocalDate date, List<Instant> slots) {}
+}
@@ -0,0 +1,54 @@
+package com.passmais.application.service;
+
+import com.passmais.infrastructure.repository.AppointmentRepository;
+import com.passmais.infrastructure.repository.AvailabilityExceptionRepository;
+import com.passmais.infrastructure.repository.AvailabilityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class SlotService {
+
+    private static final int MAX_RANGE_DAYS = 90;
+
+    private final AvailabilityRepository availabilityRepository;
+    private final AvailabilityExceptionRepository exceptionRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ZoneId zone;
+
+    public SlotService(AvailabilityRepository availabilityRepository,
+                       AvailabilityExceptionRepository exceptionRepository,
+                       AppointmentRepository appointmentRepository,
+                       @Value("${scheduling.time-zone:America/Sao_Paulo}") String zone) {
+        this.availabilityRepository = availabilityRepository;
+        this.exceptionRepository = exceptionRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.zone = ZoneId.of(zone);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    // Modelo semanal + exceções do período + faixa de consultas: três consultas, independente do tamanho do intervalo
+    public List<SlotCalendar.DaySlots> freeSlots(UUID doctorId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à inicial");
+        }
+        if (to.toEpochDay() - from.toEpochDay() >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Intervalo máximo de " + MAX_RANGE_DAYS + " dias");
+        }
+        SlotCalendar calendar = new SlotCalendar(availabilityRepository.findWindowsByDoctorId(doctorId),
+                exceptionRepository.findWindows(doctorId, from, to), zone);
+        Instant start = from.atStartOfDay(zone).toInstant();
+        Instant end = to.plusDays(1).atStartOfDay(zone).toInstant();
+        List<Instant> occupied = appointmentRepository.findOccupiedTimes(doctorId, start, end, AppointmentService.ACTIVE_STATUSES);
+        return calendar.freeSlots(from, to, occupied, Instant.now());
+    }
+}
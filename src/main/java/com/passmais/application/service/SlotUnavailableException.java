@@ -0,0 +1,8 @@
+package com.passmais.application.service;
+
+// Falha esperada e frequente sob concorrência: sem stack trace para manter o caminho barato
+public class SlotUnavailableException extends RuntimeException {
+    public SlotUnavailableException() {
+        super("Médico indisponível neste horário", null, false, false);
+    }
+}
@@ -0,0 +1,45 @@
+package com.passmais.domain.entity;
+
+import com.passmais.domain.enums.AvailabilityExceptionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "availability_exceptions")
+public class AvailabilityException {
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private DoctorProfile doctor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 12)
+    private AvailabilityExceptionType type;
+
+    // período inclusivo
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    // sem horários = dia inteiro (só para BLOCKED)
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    @Column(length = 200)
+    private String reason;
+}
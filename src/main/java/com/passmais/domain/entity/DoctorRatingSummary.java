@@ -0,0 +1,49 @@
+package com.passmais.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "doctor_rating_summaries")
+public class DoctorRatingSummary {
+    // mesmo id do DoctorProfile; só avaliações APPROVED entram na soma
+    @Id
+    private UUID doctorId;
+
+    @Column(nullable = false)
+    private int reviewCount;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_1", nullable = false)
+    private int rating1;
+
+    @Column(name = "rating_2", nullable = false)
+    private int rating2;
+
+    @Column(name = "rating_3", nullable = false)
+    private int rating3;
+
+    @Column(name = "rating_4", nullable = false)
+    private int rating4;
+
+    @Column(name = "rating_5", nullable = false)
+    private int rating5;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public List<Integer> histogram() {
+        return List.of(rating1, rating2, rating3, rating4, rating5);
+    }
+}
@@ -27,6 +27,8 @@ public class ModerationLog {
     @Column(length = 2000)
     private String details;
 
+    // chave de partição (V11): faz parte da chave primária (id, created_at)
     @Builder.Default
+    @Column(nullable = false)
     private Instant createdAt = Instant.now();
 }
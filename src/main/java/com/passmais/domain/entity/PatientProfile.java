@@ -20,7 +20,7 @@ public class PatientProfile {
     @GeneratedValue
     private UUID id;
 
-    @OneToOne(optional = false)
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
 
@@ -21,7 +21,7 @@ public class Payment {
     @GeneratedValue
     private UUID id;
 
-    @OneToOne(optional = false)
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "appointment_id", nullable = false, unique = true)
     private Appointment appointment;
 
@@ -41,4 +41,16 @@ public class Payment {
     private String receipt;
 
     private Instant paidAt;
+
+    @Column(length = 40)
+    private String gateway;
+
+    @Column(length = 120)
+    private String gatewayReference;
+
+    @Column(length = 2000)
+    private String checkoutData;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Instant createdAt;
 }
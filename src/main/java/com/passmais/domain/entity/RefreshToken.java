@@ -0,0 +1,59 @@
+package com.passmais.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken implements Persistable<UUID> {
+    // igual ao `jti` do token; atribuído antes da assinatura
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID familyId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Instant issuedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private UUID replacedById;
+
+    private Instant revokedAt;
+
+    // id atribuído pela aplicação: evita o SELECT que o merge faria antes de cada INSERT
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted = false;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    public boolean isActive(Instant now) {
+        return revokedAt == null && replacedById == null && expiresAt.isAfter(now);
+    }
+}
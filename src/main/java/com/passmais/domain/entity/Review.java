@@ -19,7 +19,7 @@ public class Review {
     @GeneratedValue
     private UUID id;
 
-    @OneToOne(optional = false)
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "appointment_id", nullable = false, unique = true)
     private Appointment appointment;
 
@@ -34,9 +34,20 @@ public class Review {
     @Builder.Default
     private ReviewStatus status = ReviewStatus.PENDING;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "moderated_by_id")
     private User moderatedBy;
 
     private Instant moderatedAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+
+    // reivindicação na fila de moderação; vencida, a avaliação volta a ficar disponível
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimed_by_id")
+    private User claimedBy;
+
+    private Instant claimExpiresAt;
 }
@@ -0,0 +1,26 @@
+package com.passmais.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+    // nome da tarefa agendada (ex.: "appointment-reminders")
+    @Id
+    @Column(length = 80)
+    private String name;
+
+    @Column(nullable = false, length = 120)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant leaseUntil;
+}
@@ -4,6 +4,7 @@ public enum AppointmentStatus {
     PENDING,
     IN_PROGRESS,
     DONE,
+    NO_SHOW,
     CANCELED
 }
 
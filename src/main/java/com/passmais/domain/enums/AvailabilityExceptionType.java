@@ -0,0 +1,8 @@
+package com.passmais.domain.enums;
+
+public enum AvailabilityExceptionType {
+    // remove horários do modelo semanal (feriado, férias, bloqueio pontual)
+    BLOCKED,
+    // acrescenta horários fora do modelo semanal
+    EXTRA
+}
@@ -0,0 +1,6 @@
+package com.passmais.infrastructure.audit;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AuditEvent(UUID id, boolean moderation, UUID actorUserId, String action, String details, Instant createdAt) {}
@@ -0,0 +1,256 @@
+package com.passmais.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.passmais.infrastructure.scheduling.ClusterLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Manutenção das partições mensais de audit_logs e moderation_logs (V11): cria os meses à frente e, passado
+ * o prazo de retenção, desanexa a partição, exporta as linhas para {@code <tabela>_<yyyyMM>.ndjson.gz} no
+ * diretório de arquivo e só então remove a tabela. Roda em um único nó por vez (lease) e num thread próprio:
+ * a exportação de um mês inteiro não ocupa o pool de agendamento compartilhado pelas demais tarefas.
+ */
+@Component
+public class AuditPartitionMaintenance implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintenance.class);
+    private static final String LEASE = "audit-partitions";
+    private static final List<String> PARENTS = List.of("audit_logs", "moderation_logs");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbc;
+    private final TransactionTemplate tx;
+    private final ClusterLease clusterLease;
+    private final ObjectMapper objectMapper;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final Path archiveDir;
+    private final Duration leaseTtl;
+    private final ExecutorService archiver;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private long leaseRenewedAt;
+
+    public AuditPartitionMaintenance(DataSource dataSource,
+                                     PlatformTransactionManager transactionManager,
+                                     ClusterLease clusterLease,
+                                     ObjectMapper objectMapper,
+                                     @Value("${audit.partitions.premake-months:3}") int premakeMonths,
+                                     @Value("${audit.partitions.retention-months:12}") int retentionMonths,
+                                     @Value("${audit.partitions.archive-dir:archive/audit}") String archiveDir,
+                                     @Value("${audit.partitions.fetch-size:5000}") int fetchSize,
+                                     @Value("${audit.partitions.lease-seconds:600}") long leaseSeconds) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("audit.partitions.retention-months deve ser pelo menos 1");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(fetchSize);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.clusterLease = clusterLease;
+        this.objectMapper = objectMapper;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.archiveDir = Path.of(archiveDir);
+        this.leaseTtl = Duration.ofSeconds(leaseSeconds);
+        this.archiver = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "audit-archive");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // sem partição para o mês corrente o gravador de auditoria falharia: garante já na subida
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            ensureFuturePartitions();
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao criar partições de auditoria: {}", ex.getMessage());
+        }
+    }
+
+    // só adquire o lease e delega; uma execução ainda em andamento neste nó faz a seguinte ser ignorada
+    @Scheduled(cron = "${audit.partitions.cron:0 15 2 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        if (!clusterLease.tryAcquire(LEASE, leaseTtl)) {
+            running.set(false);
+            return;
+        }
+        leaseRenewedAt = System.nanoTime();
+        try {
+            archiver.execute(this::maintain);
+        } catch (RejectedExecutionException ex) {
+            clusterLease.release(LEASE);
+            running.set(false);
+        }
+    }
+
+    void maintain() {
+        try {
+            ensureFuturePartitions();
+            YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths);
+            for (String parent : PARENTS) {
+                for (String partition : expiredPartitions(parent, cutoff)) {
+                    if (!renewLease()) {
+                        log.warn("Lease {} perdido; arquivamento interrompido antes de {}", LEASE, partition);
+                        return;
+                    }
+                    archive(parent, partition);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha na manutenção das partições de auditoria: {}", ex.getMessage());
+        } finally {
+            clusterLease.release(LEASE);
+            running.set(false);
+        }
+    }
+
+    // tryAcquire com o mesmo dono estende o prazo; false = outro nó assumiu após expiração
+    private boolean renewLease() {
+        if (!clusterLease.tryAcquire(LEASE, leaseTtl)) {
+            return false;
+        }
+        leaseRenewedAt = System.nanoTime();
+        return true;
+    }
+
+    // durante a exportação de uma partição grande: renova a cada terço do prazo
+    private void renewLeaseIfDue() {
+        if (System.nanoTime() - leaseRenewedAt > leaseTtl.toNanos() / 3 && !renewLease()) {
+            throw new IllegalStateException("Lease " + LEASE + " perdido durante a exportação");
+        }
+    }
+
+    void ensureFuturePartitions() {
+        LocalDate month = YearMonth.now(ZoneOffset.UTC).atDay(1);
+        for (String parent : PARENTS) {
+            Integer created = jdbcTemplate.queryForObject("select ensure_monthly_partitions(?, ?, ?)",
+                    Integer.class, parent, month, premakeMonths + 1);
+            if (created != null && created > 0) {
+                log.info("{} partições criadas para {}", created, parent);
+            }
+        }
+    }
+
+    // anexadas ou já desanexadas por uma execução anterior que não terminou
+    private List<String> expiredPartitions(String parent, YearMonth cutoff) {
+        List<String> names = jdbcTemplate.queryForList(
+                "select relname from pg_class where relkind = 'r' and relname ~ ? order by relname",
+                String.class, "^" + parent + "_[0-9]{6}$");
+        return names.stream()
+                .filter(name -> partitionMonth(parent, name).map(m -> m.isBefore(cutoff)).orElse(false))
+                .toList();
+    }
+
+    static Optional<YearMonth> partitionMonth(String parent, String partition) {
+        Matcher m = Pattern.compile(Pattern.quote(parent) + "_(\\d{6})").matcher(partition);
+        if (!m.matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(m.group(1), SUFFIX));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void archive(String parent, String partition) {
+        tx.executeWithoutResult(status -> {
+            Boolean attached = jdbcTemplate.queryForObject(
+                    "select exists (select 1 from pg_inherits where inhrelid = to_regclass(?))", Boolean.class, partition);
+            if (Boolean.TRUE.equals(attached)) {
+                // DETACH pede lock exclusivo no pai: não espera atrás de consultas longas
+                jdbcTemplate.execute("set local lock_timeout = '5s'");
+                jdbcTemplate.execute("alter table " + parent + " detach partition " + partition);
+            }
+        });
+        Path target = archiveDir.resolve(partition + ".ndjson.gz");
+        long rows;
+        try {
+            rows = export(partition, target);
+        } catch (IOException | RuntimeException ex) {
+            // a partição fica desanexada; a próxima execução tenta de novo
+            log.error("Falha ao arquivar {}: {}", partition, ex.getMessage());
+            return;
+        }
+        jdbcTemplate.execute("drop table " + partition);
+        log.info("Partição {} arquivada em {} ({} linhas)", partition, target, rows);
+    }
+
+    // grava em arquivo temporário e renomeia: um arquivo com o nome final está sempre completo
+    private long export(String partition, Path target) throws IOException {
+        Files.createDirectories(archiveDir);
+        Path tmp = archiveDir.resolve(partition + ".ndjson.gz.tmp");
+        long[] rows = {0};
+        try (OutputStream out = new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024))) {
+            tx.executeWithoutResult(status -> streamingJdbc.query(
+                    "select * from " + partition + " order by created_at, id", rs -> {
+                        ResultSetMetaData meta = rs.getMetaData();
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            Object value = rs.getObject(i);
+                            row.put(meta.getColumnLabel(i), value instanceof Timestamp ts ? ts.toInstant() : value);
+                        }
+                        try {
+                            out.write(objectMapper.writeValueAsBytes(row));
+                            out.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        rows[0]++;
+                        renewLeaseIfDue();
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows[0];
+    }
+
+    @Override
+    public void destroy() {
+        archiver.shutdownNow();
+    }
+}
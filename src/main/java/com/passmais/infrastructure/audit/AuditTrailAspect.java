@@ -0,0 +1,81 @@
+package com.passmais.infrastructure.audit;
+
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.lang.annotation.Annotation;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.UUID;
+
+/**
+ * Captura métodos anotados com {@link Audited}: ator vem do SecurityContext (ainda na thread da
+ * requisição) e o evento vai para o buffer do {@link AuditTrailWriter}, sem acesso ao banco aqui.
+ */
+@Aspect
+@Component
+public class AuditTrailAspect {
+
+    private static final int MAX_DETAILS = 2000;
+
+    private final AuditTrailWriter writer;
+    private final UserSecurityStateCache securityStateCache;
+
+    public AuditTrailAspect(AuditTrailWriter writer, UserSecurityStateCache securityStateCache) {
+        this.writer = writer;
+        this.securityStateCache = securityStateCache;
+    }
+
+    @AfterReturning("@annotation(audited)")
+    public void record(JoinPoint joinPoint, Audited audited) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return;
+        }
+        securityStateCache.get(auth.getName())
+                .map(UserSecurityState::userId)
+                .ifPresent(actor -> writer.enqueue(new AuditEvent(UUID.randomUUID(), audited.moderation(), actor,
+                        audited.value(), details(joinPoint), Instant.now())));
+    }
+
+    // método chamado e argumentos simples (ids, textos, datas); corpos e cabeçalhos de requisição ficam de fora
+    static String details(JoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        StringBuilder sb = new StringBuilder(signature.getDeclaringType().getSimpleName())
+                .append('.').append(signature.getName()).append('(');
+        Annotation[][] parameterAnnotations = signature.getMethod().getParameterAnnotations();
+        Object[] args = joinPoint.getArgs();
+        boolean first = true;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (isHeader(parameterAnnotations[i])) {
+                continue;
+            }
+            if (arg instanceof UUID || arg instanceof CharSequence || arg instanceof Number
+                    || arg instanceof Enum<?> || arg instanceof TemporalAccessor) {
+                sb.append(first ? "" : ", ").append(arg);
+                first = false;
+            }
+        }
+        sb.append(')');
+        return sb.length() <= MAX_DETAILS ? sb.toString() : sb.substring(0, MAX_DETAILS);
+    }
+
+    private static boolean isHeader(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof RequestHeader) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
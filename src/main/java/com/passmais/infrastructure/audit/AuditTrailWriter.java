@@ -0,0 +1,176 @@
+package com.passmais.infrastructure.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Grava a trilha de auditoria fora do caminho da requisição. Os eventos entram num {@link RingBuffer}
+ * limitado; uma thread dedicada esvazia o buffer a cada intervalo (ou antes, quando acumula um lote
+ * cheio) com INSERTs de várias linhas. Com o buffer cheio o evento é descartado e contado, nunca
+ * bloqueia quem chamou. No desligamento o que restar é gravado antes de fechar o pool.
+ */
+@Component
+public class AuditTrailWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditTrailWriter.class);
+    // 5 parâmetros por linha; o Postgres aceita até 65535 por comando
+    static final int MAX_FLUSH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RingBuffer<AuditEvent> buffer;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMs;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter backpressure;
+    private final Counter failed;
+    private volatile boolean running;
+    private Thread thread;
+
+    public AuditTrailWriter(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${audit.writer.capacity:16384}") int capacity,
+                            @Value("${audit.writer.flush-size:500}") int flushSize,
+                            @Value("${audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+                            @Value("${audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        if (flushSize < 1 || flushSize > MAX_FLUSH_SIZE) {
+            throw new IllegalArgumentException("audit.writer.flush-size deve estar entre 1 e " + MAX_FLUSH_SIZE);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new RingBuffer<>(capacity);
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.written = meterRegistry.counter("audit.writer.written");
+        this.dropped = meterRegistry.counter("audit.writer.dropped");
+        this.backpressure = meterRegistry.counter("audit.writer.backpressure");
+        this.failed = meterRegistry.counter("audit.writer.failed");
+        meterRegistry.gauge("audit.writer.buffered", buffer, RingBuffer::size);
+    }
+
+    // não bloqueia: retorna false (e conta o descarte) se o buffer estiver cheio
+    public boolean enqueue(AuditEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        // lote cheio antes do intervalo: acorda o gravador em vez de esperar o próximo ciclo
+        if (buffer.size() >= flushSize && flushRequested.compareAndSet(false, true)) {
+            backpressure.increment();
+            Thread t = thread;
+            if (t != null) {
+                LockSupport.unpark(t);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "audit-trail-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread t = thread;
+        LockSupport.unpark(t);
+        try {
+            t.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (t.isAlive()) {
+            log.warn("Gravador de auditoria não terminou em {} ms; {} eventos pendentes", shutdownTimeoutMs, buffer.size());
+        }
+        thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // para depois dos componentes que geram eventos, antes do pool de conexões fechar
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            flushRequested.set(false);
+            flush();
+        }
+        flush();
+    }
+
+    // esvazia o buffer em lotes de até flushSize linhas
+    void flush() {
+        List<AuditEvent> batch = new ArrayList<>(flushSize);
+        while (buffer.drainTo(batch, flushSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        List<AuditEvent> audit = new ArrayList<>();
+        List<AuditEvent> moderation = new ArrayList<>();
+        for (AuditEvent e : batch) {
+            (e.moderation() ? moderation : audit).add(e);
+        }
+        insert("audit_logs", "actor_user_id", audit);
+        insert("moderation_logs", "admin_user_id", moderation);
+    }
+
+    private void insert(String table, String actorColumn, List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("insert into ").append(table)
+                .append(" (id, ").append(actorColumn).append(", action, details, created_at) values ");
+        Object[] args = new Object[events.size() * 5];
+        int i = 0;
+        for (AuditEvent e : events) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+            args[i++] = e.id();
+            args[i++] = e.actorUserId();
+            args[i++] = e.action();
+            args[i++] = e.details();
+            args[i++] = Timestamp.from(e.createdAt());
+        }
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+            written.increment(events.size());
+        } catch (RuntimeException ex) {
+            failed.increment(events.size());
+            log.error("Falha ao gravar {} eventos em {}", events.size(), table, ex);
+        }
+    }
+}
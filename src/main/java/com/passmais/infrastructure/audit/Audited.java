@@ -0,0 +1,20 @@
+package com.passmais.infrastructure.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registra a chamada bem-sucedida do método na trilha de auditoria (ou em moderation_logs, quando
+ * {@code moderation = true}). A gravação é assíncrona, via {@link AuditTrailWriter}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+
+    // ação gravada na coluna `action` (até 80 caracteres)
+    String value();
+
+    boolean moderation() default false;
+}
@@ -0,0 +1,90 @@
+package com.passmais.infrastructure.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache em memória limitado por tamanho (LRU) e com expiração por entrada.
+ * Pensado para estados pequenos e quentes (segurança, contadores), sem dependência externa.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final Duration defaultTtl;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public BoundedTtlCache(int maxSize, Duration defaultTtl) {
+        this(maxSize, defaultTtl, Clock.systemUTC());
+    }
+
+    public BoundedTtlCache(int maxSize, Duration defaultTtl, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do cache deve ser positivo");
+        }
+        this.maxSize = maxSize;
+        this.defaultTtl = defaultTtl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > BoundedTtlCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> e = entries.get(key);
+        if (e == null) {
+            return null;
+        }
+        if (!e.expiresAt().isAfter(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return e.value();
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // carregamento fora do lock: duas threads podem carregar a mesma chave, o que é aceitável aqui
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, clock.instant().plus(defaultTtl));
+    }
+
+    public synchronized void put(K key, V value, Instant expiresAt) {
+        if (!expiresAt.isAfter(clock.instant())) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {}
+}
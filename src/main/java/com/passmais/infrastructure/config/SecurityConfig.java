@@ -1,6 +1,8 @@
 package com.passmais.infrastructure.config;
 
 import com.passmais.infrastructure.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -30,9 +32,14 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                    // fim de resposta assíncrona (SSE, CompletableFuture): já autorizada no despacho original
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers("/api/auth/**").permitAll()
+                    // webhooks de pagamento: autenticados pela assinatura do gateway (PaymentGateway.parseWebhook)
+                    .requestMatchers(HttpMethod.POST, "/api/payments/webhooks/**").permitAll()
                     .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                    .requestMatchers("/actuator/**").hasAnyRole("ADMIN", "SUPERADMIN")
                     .anyRequest().authenticated()
             )
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
@@ -40,8 +47,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password-hashing.bcrypt-strength:10}") int strength) {
+        // hashes com custo menor são regravados no próximo login bem-sucedido (AuthService.login)
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -0,0 +1,56 @@
+package com.passmais.infrastructure.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Publica notificações no canal Postgres {@value #CHANNEL}. Deve ser chamado na mesma transação que grava
+ * as linhas em notifications: o NOTIFY só é entregue no commit e é descartado no rollback.
+ */
+@Component
+public class NotificationBroadcaster {
+
+    public static final String CHANNEL = "user_notifications";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public NotificationBroadcaster(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void publish(List<NotificationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String[] payloads = new String[events.size()];
+        for (int i = 0; i < payloads.length; i++) {
+            try {
+                payloads[i] = objectMapper.writeValueAsString(events.get(i));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Falha ao serializar notificação", e);
+            }
+        }
+        // um único round-trip para o lote inteiro
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement("select pg_notify(?, p) from unnest(?) as p")) {
+                ps.setString(1, CHANNEL);
+                ps.setArray(2, con.createArrayOf("text", payloads));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        // consome o resultado (void por linha)
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.passmais.infrastructure.notification;
+
+import com.passmais.domain.enums.NotificationType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// notificação recém-gravada, como trafega no canal LISTEN/NOTIFY e no stream SSE
+public record NotificationEvent(UUID id, UUID userId, NotificationType type, String content, Instant createdAt) {}
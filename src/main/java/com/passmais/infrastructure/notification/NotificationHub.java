@@ -0,0 +1,203 @@
+package com.passmais.infrastructure.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distribui notificações para conexões SSE abertas neste nó. Conexões ociosas não prendem thread (servlet
+ * assíncrono); cada uma tem fila limitada e um pool pequeno faz as escritas. Quem não consome a tempo
+ * (fila cheia) é desconectado e reconecta, buscando o que perdeu pela listagem paginada.
+ */
+@Component
+public class NotificationHub implements DisposableBean {
+
+    private final Map<UUID, CopyOnWriteArrayList<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender;
+    private final int maxConnections;
+    private final int maxPerUser;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("ping").build();
+    private final Counter delivered;
+    private final Counter dropped;
+
+    public NotificationHub(MeterRegistry meterRegistry,
+                           @Value("${notifications.stream.max-connections:50000}") int maxConnections,
+                           @Value("${notifications.stream.max-per-user:5}") int maxPerUser,
+                           @Value("${notifications.stream.buffer-size:32}") int bufferSize,
+                           @Value("${notifications.stream.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${notifications.stream.sender-threads:4}") int senderThreads) {
+        this(meterRegistry, maxConnections, maxPerUser, bufferSize, timeoutMs, senderPool(senderThreads));
+    }
+
+    NotificationHub(MeterRegistry meterRegistry, int maxConnections, int maxPerUser, int bufferSize,
+                    long timeoutMs, ExecutorService sender) {
+        this.maxConnections = maxConnections;
+        this.maxPerUser = maxPerUser;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sender = sender;
+        this.delivered = meterRegistry.counter("notifications.stream.delivered");
+        this.dropped = meterRegistry.counter("notifications.stream.dropped");
+        meterRegistry.gauge("notifications.stream.connections", connections);
+    }
+
+    private static ExecutorService senderPool(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "sse-sender-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new StreamCapacityExceededException();
+        }
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs), bufferSize);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> close(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        CopyOnWriteArrayList<Subscriber> own = subscribers.compute(userId, (id, list) -> {
+            CopyOnWriteArrayList<Subscriber> l = list != null ? list : new CopyOnWriteArrayList<>();
+            l.add(subscriber);
+            return l;
+        });
+        // várias abas/dispositivos: acima do limite, a conexão mais antiga do usuário sai
+        while (own.size() > maxPerUser) {
+            close(own.get(0));
+        }
+        enqueue(subscriber, heartbeat);
+        return subscriber.emitter;
+    }
+
+    @EventListener
+    public void onNotification(NotificationEvent event) {
+        CopyOnWriteArrayList<Subscriber> own = subscribers.get(event.userId());
+        if (own == null || own.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame = SseEmitter.event()
+                .id(event.id().toString())
+                .name("notification")
+                .data(event, MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber s : own) {
+            enqueue(s, frame);
+        }
+    }
+
+    // mantém proxies e balanceadores sem fechar conexões ociosas
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (CopyOnWriteArrayList<Subscriber> own : subscribers.values()) {
+            for (Subscriber s : own) {
+                enqueue(s, heartbeat);
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    private void enqueue(Subscriber s, Set<DataWithMediaType> frame) {
+        if (s.closed.get()) {
+            return;
+        }
+        if (!s.queue.offer(frame)) {
+            dropped.increment();
+            close(s);
+            return;
+        }
+        if (s.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(s));
+        }
+    }
+
+    // no máximo uma tarefa de escrita por conexão por vez (flag `draining`)
+    private void drain(Subscriber s) {
+        try {
+            Set<DataWithMediaType> frame;
+            while (!s.closed.get() && (frame = s.queue.poll()) != null) {
+                s.emitter.send(frame);
+                if (frame != heartbeat) {
+                    delivered.increment();
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            remove(s);
+        } finally {
+            s.draining.set(false);
+            if (!s.queue.isEmpty() && !s.closed.get() && s.draining.compareAndSet(false, true)) {
+                sender.execute(() -> drain(s));
+            }
+        }
+    }
+
+    private void close(Subscriber s) {
+        if (remove(s)) {
+            s.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber s) {
+        if (!s.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        connections.decrementAndGet();
+        s.queue.clear();
+        subscribers.computeIfPresent(s.userId, (id, own) -> {
+            own.remove(s);
+            return own.isEmpty() ? null : own;
+        });
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        for (CopyOnWriteArrayList<Subscriber> own : subscribers.values()) {
+            for (Subscriber s : own) {
+                close(s);
+            }
+        }
+        sender.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        final UUID userId;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Set<DataWithMediaType>> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(UUID userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
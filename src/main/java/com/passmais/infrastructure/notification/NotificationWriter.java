@@ -0,0 +1,41 @@
+package com.passmais.infrastructure.notification;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Grava notificações em lote e as publica no canal LISTEN/NOTIFY. Deve rodar dentro da transação de quem
+ * gera as notificações, para que linha e evento sejam confirmados (ou descartados) juntos.
+ */
+@Component
+public class NotificationWriter {
+
+    private static final String INSERT_SQL =
+            "insert into notifications (id, user_id, type, content, read_flag, created_at) values (?, ?, ?, ?, false, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationBroadcaster broadcaster;
+
+    public NotificationWriter(JdbcTemplate jdbcTemplate, NotificationBroadcaster broadcaster) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.broadcaster = broadcaster;
+    }
+
+    public void write(List<NotificationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, e) -> {
+            ps.setObject(1, e.id());
+            ps.setObject(2, e.userId());
+            ps.setString(3, e.type().name());
+            ps.setString(4, e.content());
+            ps.setTimestamp(5, Timestamp.from(e.createdAt()));
+        });
+        // entregue a todos os nós (stream SSE e contadores) só depois do commit
+        broadcaster.publish(events);
+    }
+}
@@ -0,0 +1,115 @@
+package com.passmais.infrastructure.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Escuta o canal de notificações em uma conexão dedicada (fora do pool, que não deve ficar presa) e
+ * republica cada mensagem como {@link NotificationEvent} local. Todos os nós, inclusive o que gravou,
+ * recebem pelo mesmo caminho. Reconecta sozinho se a conexão cair.
+ */
+@Component
+public class PgNotificationListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PgNotificationListener.class);
+    private static final long RECONNECT_DELAY_MS = 2_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int pollTimeoutMs;
+    private volatile boolean running;
+    private Thread thread;
+
+    public PgNotificationListener(DataSourceProperties dataSourceProperties,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper,
+                                  @Value("${notifications.stream.listener-enabled:true}") boolean enabled,
+                                  @Value("${notifications.stream.listener-poll-ms:5000}") int pollTimeoutMs) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "pg-notification-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement st = connection.createStatement()) {
+                    st.execute("LISTEN " + NotificationBroadcaster.CHANNEL);
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                log.info("Escutando canal {}", NotificationBroadcaster.CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification n : notifications) {
+                            dispatch(n.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Conexão LISTEN perdida: {}; reconectando", ex.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(payload, NotificationEvent.class));
+        } catch (Exception ex) {
+            // uma mensagem ruim (ou um assinante com erro) não derruba o listener
+            log.warn("Notificação ignorada: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.passmais.infrastructure.notification;
+
+// sem stack trace: sinaliza sobrecarga esperada, não um erro
+public class StreamCapacityExceededException extends RuntimeException {
+    public StreamCapacityExceededException() {
+        super("Limite de conexões de notificação atingido, tente novamente em instantes", null, false, false);
+    }
+}
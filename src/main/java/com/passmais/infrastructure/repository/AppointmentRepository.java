@@ -4,12 +4,16 @@ import com.passmais.domain.entity.Appointment;
 import com.passmais.domain.entity.DoctorProfile;
 import com.passmais.domain.entity.PatientProfile;
 import com.passmais.domain.enums.AppointmentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
@@ -17,7 +21,108 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     long countByPatientAndDateTimeBetween(PatientProfile patient, Instant start, Instant end);
     boolean existsByDoctorAndDateTimeAndStatusIn(DoctorProfile doctor, Instant dateTime, List<AppointmentStatus> statuses);
 
+    // reserva atômica: o índice único parcial decide o vencedor; retorna 0 se o horário já estiver ocupado
+    @Transactional
+    @Modifying
+    @Query(value = "insert into appointments (id, doctor_id, patient_id, date_time, rescheduled_from_id, status) " +
+            "values (:id, :doctorId, :patientId, :dateTime, cast(:rescheduledFromId as uuid), 'PENDING') " +
+            "on conflict (doctor_id, date_time) where status in ('PENDING', 'IN_PROGRESS', 'DONE') do nothing",
+            nativeQuery = true)
+    int insertIfSlotFree(@Param("id") UUID id,
+                         @Param("doctorId") UUID doctorId,
+                         @Param("patientId") UUID patientId,
+                         @Param("dateTime") Instant dateTime,
+                         @Param("rescheduledFromId") UUID rescheduledFromId);
+
+    // horários ocupados do médico no intervalo [start, end), uma única consulta por faixa de datas
+    @Query("select a.dateTime from Appointment a where a.doctor.id = :doctorId " +
+            "and a.dateTime >= :start and a.dateTime < :end and a.status in :statuses")
+    List<Instant> findOccupiedTimes(@Param("doctorId") UUID doctorId,
+                                    @Param("start") Instant start,
+                                    @Param("end") Instant end,
+                                    @Param("statuses") List<AppointmentStatus> statuses);
+
+    // projeção para leitura com checagem de acesso: uma única consulta, usuários de paciente e médico
+    // vêm pelas FKs dos perfis, sem carregar entidades
+    @Query("select a.id as id, a.doctor.id as doctorId, a.patient.id as patientId, " +
+            "a.dateTime as dateTime, a.status as status, " +
+            "a.patient.user.id as patientUserId, a.doctor.user.id as doctorUserId " +
+            "from Appointment a where a.id = :id")
+    Optional<AppointmentAccessSummary> findAccessSummaryById(@Param("id") UUID id);
+
+    // keyset: (date_time, id) > cursor, na ordem do índice idx_appointments_patient_keyset
+    @Query("select a.id as id, a.doctor.id as doctorId, a.patient.id as patientId, " +
+            "a.dateTime as dateTime, a.status as status from Appointment a " +
+            "where a.patient.id = :patientId and a.status in :statuses " +
+            "and a.dateTime >= :afterTime and (a.dateTime > :afterTime or a.id > :afterId) " +
+            "order by a.dateTime, a.id")
+    List<AppointmentSummary> findPatientPage(@Param("patientId") UUID patientId,
+                                             @Param("statuses") List<AppointmentStatus> statuses,
+                                             @Param("afterTime") Instant afterTime,
+                                             @Param("afterId") UUID afterId,
+                                             Pageable limit);
+
+    @Query("select a.id as id, a.doctor.id as doctorId, a.patient.id as patientId, " +
+            "a.dateTime as dateTime, a.status as status from Appointment a " +
+            "where a.doctor.id = :doctorId and a.status in :statuses " +
+            "and a.dateTime >= :afterTime and (a.dateTime > :afterTime or a.id > :afterId) " +
+            "order by a.dateTime, a.id")
+    List<AppointmentSummary> findDoctorPage(@Param("doctorId") UUID doctorId,
+                                            @Param("statuses") List<AppointmentStatus> statuses,
+                                            @Param("afterTime") Instant afterTime,
+                                            @Param("afterId") UUID afterId,
+                                            Pageable limit);
+
     @Query("select count(a) from Appointment a where a.patient = :patient and a.rescheduledFrom is not null and a.dateTime between :start and :end")
     long countReschedulesInPeriod(@Param("patient") PatientProfile patient, @Param("start") Instant start, @Param("end") Instant end);
-}
 
+    // ciclo de vida em lotes: SKIP LOCKED deixa cada nó com um lote diferente, sem espera entre eles
+    @Transactional
+    @Modifying
+    @Query(value = "update appointments set status = 'IN_PROGRESS' where id in (" +
+            "select id from appointments where status = 'PENDING' and date_time <= :now " +
+            "order by date_time limit :limit for update skip locked)", nativeQuery = true)
+    int startDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update appointments set status = 'DONE' where id in (" +
+            "select a.id from appointments a where a.status = 'IN_PROGRESS' and a.date_time <= :cutoff " +
+            "and exists (select 1 from clinical_notes n where n.appointment_id = a.id) " +
+            "order by a.date_time limit :limit for update of a skip locked)", nativeQuery = true)
+    int completeAttended(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update appointments set status = 'NO_SHOW' where id in (" +
+            "select a.id from appointments a where a.status = 'IN_PROGRESS' and a.date_time <= :cutoff " +
+            "and not exists (select 1 from clinical_notes n where n.appointment_id = a.id) " +
+            "order by a.date_time limit :limit for update of a skip locked)", nativeQuery = true)
+    int markNoShows(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    // recarga da roda de lembretes: faixa em idx_appointments_pending_date_time
+    @Query("select a.id as appointmentId, a.dateTime as dateTime, p.user.id as userId " +
+            "from Appointment a join a.patient p " +
+            "where a.status = com.passmais.domain.enums.AppointmentStatus.PENDING " +
+            "and a.dateTime >= :start and a.dateTime < :end")
+    List<ReminderCandidate> findPendingBetween(@Param("start") Instant start, @Param("end") Instant end);
+
+    interface ReminderCandidate {
+        UUID getAppointmentId();
+        Instant getDateTime();
+        UUID getUserId();
+    }
+
+    interface AppointmentSummary {
+        UUID getId();
+        UUID getDoctorId();
+        UUID getPatientId();
+        Instant getDateTime();
+        AppointmentStatus getStatus();
+    }
+
+    interface AppointmentAccessSummary extends AppointmentSummary {
+        UUID getPatientUserId();
+        UUID getDoctorUserId();
+    }
+}
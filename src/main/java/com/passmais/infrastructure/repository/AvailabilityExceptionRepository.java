@@ -0,0 +1,37 @@
+package com.passmais.infrastructure.repository;
+
+import com.passmais.domain.entity.AvailabilityException;
+import com.passmais.domain.enums.AvailabilityExceptionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface AvailabilityExceptionRepository extends JpaRepository<AvailabilityException, UUID> {
+
+    @Query("select e from AvailabilityException e where e.doctor.id = :doctorId " +
+            "and e.endDate >= :from and e.startDate <= :to order by e.startDate, e.startTime")
+    List<AvailabilityException> findOverlapping(@Param("doctorId") UUID doctorId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    // expansão de slots: só as colunas usadas, sem carregar entidades
+    @Query("select e.type as type, e.startDate as startDate, e.endDate as endDate, " +
+            "e.startTime as startTime, e.endTime as endTime from AvailabilityException e " +
+            "where e.doctor.id = :doctorId and e.endDate >= :from and e.startDate <= :to")
+    List<ExceptionWindow> findWindows(@Param("doctorId") UUID doctorId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+
+    interface ExceptionWindow {
+        AvailabilityExceptionType getType();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+    }
+}
@@ -3,6 +3,8 @@ package com.passmais.infrastructure.repository;
 import com.passmais.domain.entity.Availability;
 import com.passmais.domain.entity.DoctorProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
@@ -10,7 +12,19 @@ import java.util.List;
 import java.util.UUID;
 
 public interface AvailabilityRepository extends JpaRepository<Availability, UUID> {
+    List<Availability> findByDoctor(DoctorProfile doctor);
     List<Availability> findByDoctorAndDayOfWeekOrderByStartTime(DoctorProfile doctor, DayOfWeek dayOfWeek);
     boolean existsByDoctorAndDayOfWeekAndStartTimeLessThanAndEndTimeGreaterThan(DoctorProfile doctor, DayOfWeek dayOfWeek, LocalTime endExclusive, LocalTime startExclusive);
+
+    // modelo semanal completo do médico, sem carregar a entidade do médico
+    @Query("select a.dayOfWeek as dayOfWeek, a.startTime as startTime, a.endTime as endTime " +
+            "from Availability a where a.doctor.id = :doctorId")
+    List<AvailabilityWindow> findWindowsByDoctorId(@Param("doctorId") UUID doctorId);
+
+    interface AvailabilityWindow {
+        DayOfWeek getDayOfWeek();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+    }
 }
 
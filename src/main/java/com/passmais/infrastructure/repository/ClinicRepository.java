@@ -2,8 +2,31 @@ package com.passmais.infrastructure.repository;
 
 import com.passmais.domain.entity.Clinic;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
-public interface ClinicRepository extends JpaRepository<Clinic, UUID> {}
+public interface ClinicRepository extends JpaRepository<Clinic, UUID> {
 
+    // lê só o rollup (doctor_daily_occupancy); nunca varre appointments
+    @Query(value = "select o.doctor_id as doctorId, o.day as day, o.available_slots as availableSlots, " +
+            "o.booked_slots as bookedSlots, o.canceled as canceled, o.no_shows as noShows " +
+            "from doctor_clinics dc join doctor_daily_occupancy o on o.doctor_id = dc.doctor_id " +
+            "where dc.clinic_id = :clinicId and o.day between :from and :to " +
+            "order by o.day, o.doctor_id", nativeQuery = true)
+    List<DoctorOccupancy> findOccupancy(@Param("clinicId") UUID clinicId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to);
+
+    interface DoctorOccupancy {
+        UUID getDoctorId();
+        LocalDate getDay();
+        int getAvailableSlots();
+        int getBookedSlots();
+        int getCanceled();
+        int getNoShows();
+    }
+}
@@ -2,8 +2,16 @@ package com.passmais.infrastructure.repository;
 
 import com.passmais.domain.entity.DoctorProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
-public interface DoctorProfileRepository extends JpaRepository<DoctorProfile, UUID> {}
+public interface DoctorProfileRepository extends JpaRepository<DoctorProfile, UUID> {
+
+    // dono do perfil, sem carregar a entidade (checagem de acesso)
+    @Query("select p.user.id from DoctorProfile p where p.id = :id")
+    Optional<UUID> findUserIdById(@Param("id") UUID id);
+}
 
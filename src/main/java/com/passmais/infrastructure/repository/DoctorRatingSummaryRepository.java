@@ -0,0 +1,68 @@
+package com.passmais.infrastructure.repository;
+
+import com.passmais.domain.entity.DoctorRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface DoctorRatingSummaryRepository extends JpaRepository<DoctorRatingSummary, UUID> {
+
+    // ranking: média bayesiana (soma + peso * média a priori) / (quantidade + peso), médicos aprovados
+    @Query(value = "select s.doctor_id as doctorId, u.name as name, d.specialty as specialty, d.approved as approved, " +
+            "s.review_count as reviewCount, s.rating_sum as ratingSum, " +
+            "cast((s.rating_sum + :priorWeight * :priorMean) / (s.review_count + :priorWeight) as double precision) as score " +
+            "from doctor_rating_summaries s join doctor_profiles d on d.id = s.doctor_id join users u on u.id = d.user_id " +
+            "where d.approved and s.review_count > 0 " +
+            "and (cast(:specialty as text) is null or lower(d.specialty) = cast(:specialty as text)) " +
+            "order by score desc, s.doctor_id limit :limit", nativeQuery = true)
+    List<RankedDoctor> findTopRanked(@Param("specialty") String specialty,
+                                     @Param("priorMean") double priorMean,
+                                     @Param("priorWeight") double priorWeight,
+                                     @Param("limit") int limit);
+
+    @Query(value = "select s.doctor_id as doctorId, u.name as name, d.specialty as specialty, d.approved as approved, " +
+            "s.review_count as reviewCount, s.rating_sum as ratingSum, " +
+            "cast((s.rating_sum + :priorWeight * :priorMean) / (s.review_count + :priorWeight) as double precision) as score " +
+            "from doctor_rating_summaries s join doctor_profiles d on d.id = s.doctor_id join users u on u.id = d.user_id " +
+            "where s.doctor_id in (:ids)", nativeQuery = true)
+    List<RankedDoctor> findRanked(@Param("ids") Collection<UUID> ids,
+                                  @Param("priorMean") double priorMean,
+                                  @Param("priorWeight") double priorWeight);
+
+    // reconstrução completa a partir de reviews (backfill/correção); zera quem não tem mais avaliações aprovadas
+    @Transactional
+    @Modifying
+    @Query(value = "with agg as (" +
+            "select a.doctor_id, count(*) as cnt, sum(r.rating) as total, " +
+            "count(*) filter (where r.rating = 1) as r1, count(*) filter (where r.rating = 2) as r2, " +
+            "count(*) filter (where r.rating = 3) as r3, count(*) filter (where r.rating = 4) as r4, " +
+            "count(*) filter (where r.rating = 5) as r5 " +
+            "from reviews r join appointments a on a.id = r.appointment_id " +
+            "where r.status = 'APPROVED' group by a.doctor_id), " +
+            "upserted as (" +
+            "insert into doctor_rating_summaries (doctor_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5, updated_at) " +
+            "select doctor_id, cnt, total, r1, r2, r3, r4, r5, now() from agg " +
+            "on conflict (doctor_id) do update set review_count = excluded.review_count, rating_sum = excluded.rating_sum, " +
+            "rating_1 = excluded.rating_1, rating_2 = excluded.rating_2, rating_3 = excluded.rating_3, " +
+            "rating_4 = excluded.rating_4, rating_5 = excluded.rating_5, updated_at = now() returning doctor_id) " +
+            "update doctor_rating_summaries set review_count = 0, rating_sum = 0, rating_1 = 0, rating_2 = 0, " +
+            "rating_3 = 0, rating_4 = 0, rating_5 = 0, updated_at = now() " +
+            "where review_count > 0 and doctor_id not in (select doctor_id from agg)", nativeQuery = true)
+    void rebuildAll();
+
+    interface RankedDoctor {
+        UUID getDoctorId();
+        String getName();
+        String getSpecialty();
+        Boolean getApproved();
+        int getReviewCount();
+        long getRatingSum();
+        double getScore();
+    }
+}
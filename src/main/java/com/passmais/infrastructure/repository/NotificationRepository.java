@@ -1,9 +1,59 @@
 package com.passmais.infrastructure.repository;
 
 import com.passmais.domain.entity.Notification;
+import com.passmais.domain.enums.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
-public interface NotificationRepository extends JpaRepository<Notification, UUID> {}
+public interface NotificationRepository extends JpaRepository<Notification, UUID> {
 
+    // mais recentes primeiro; cursor aponta para a última linha da página anterior
+    @Query("select n.id as id, n.type as type, n.content as content, n.readFlag as readFlag, n.createdAt as createdAt " +
+            "from Notification n where n.user.id = :userId " +
+            "and n.createdAt <= :beforeTime and (n.createdAt < :beforeTime or n.id < :beforeId) " +
+            "order by n.createdAt desc, n.id desc")
+    List<NotificationView> findPage(@Param("userId") UUID userId,
+                                    @Param("beforeTime") Instant beforeTime,
+                                    @Param("beforeId") UUID beforeId,
+                                    Pageable limit);
+
+    @Query("select n.id as id, n.type as type, n.content as content, n.readFlag as readFlag, n.createdAt as createdAt " +
+            "from Notification n where n.user.id = :userId and n.readFlag = false " +
+            "and n.createdAt <= :beforeTime and (n.createdAt < :beforeTime or n.id < :beforeId) " +
+            "order by n.createdAt desc, n.id desc")
+    List<NotificationView> findUnreadPage(@Param("userId") UUID userId,
+                                          @Param("beforeTime") Instant beforeTime,
+                                          @Param("beforeId") UUID beforeId,
+                                          Pageable limit);
+
+    @Query("select count(n) from Notification n where n.user.id = :userId and n.readFlag = false")
+    long countUnread(@Param("userId") UUID userId);
+
+    // um único UPDATE; só conta as que estavam não lidas, para manter o contador em memória exato
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.readFlag = true where n.user.id = :userId and n.id in :ids and n.readFlag = false")
+    int markRead(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.readFlag = true where n.user.id = :userId and n.readFlag = false")
+    int markAllRead(@Param("userId") UUID userId);
+
+    interface NotificationView {
+        UUID getId();
+        NotificationType getType();
+        String getContent();
+        Boolean getReadFlag();
+        Instant getCreatedAt();
+    }
+}
@@ -0,0 +1,43 @@
+package com.passmais.infrastructure.repository;
+
+import com.passmais.domain.entity.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    // serializa rotações concorrentes do mesmo token
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from RefreshToken t where t.id = :id")
+    Optional<RefreshToken> findByIdForUpdate(@Param("id") UUID id);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    @Query("select distinct t.familyId from RefreshToken t where t.userId = :userId and t.revokedAt is null and t.expiresAt > :now")
+    List<UUID> findActiveFamilies(@Param("userId") UUID userId, @Param("now") Instant now);
+
+    // famílias revogadas desde o último sincronismo (cache de revogação de cada nó)
+    @Query("select t.familyId as familyId, max(t.revokedAt) as revokedAt from RefreshToken t " +
+            "where t.revokedAt > :since group by t.familyId")
+    List<RevokedFamily> findFamiliesRevokedSince(@Param("since") Instant since);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") Instant before);
+
+    interface RevokedFamily {
+        UUID getFamilyId();
+        Instant getRevokedAt();
+    }
+}
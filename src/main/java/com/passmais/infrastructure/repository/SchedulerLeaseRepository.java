@@ -0,0 +1,25 @@
+package com.passmais.infrastructure.repository;
+
+import com.passmais.domain.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // adquire ou renova em um único comando; usa o relógio do banco para não depender do relógio dos nós
+    @Transactional
+    @Modifying
+    @Query(value = "insert into scheduler_leases (name, owner, lease_until) " +
+            "values (:name, :owner, now() + make_interval(secs => :seconds)) " +
+            "on conflict (name) do update set owner = excluded.owner, lease_until = excluded.lease_until " +
+            "where scheduler_leases.owner = excluded.owner or scheduler_leases.lease_until < now()", nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner, @Param("seconds") double seconds);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SchedulerLease l where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -2,12 +2,44 @@ package com.passmais.infrastructure.repository;
 
 import com.passmais.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
 
+    // soma atômica de falhas (sem read-modify-write); bloqueia e zera o contador ao atingir o limite
+    @Transactional
+    @Modifying
+    @Query(value = "update users set " +
+            "account_locked_until = case when :forceLock or failed_login_attempts + :delta >= :maxAttempts then :lockUntil else account_locked_until end, " +
+            "failed_login_attempts = case when :forceLock or failed_login_attempts + :delta >= :maxAttempts then 0 else failed_login_attempts + :delta end " +
+            "where email = :email", nativeQuery = true)
+    int applyFailedLoginAttempts(@Param("email") String email,
+                                 @Param("delta") int delta,
+                                 @Param("maxAttempts") int maxAttempts,
+                                 @Param("forceLock") boolean forceLock,
+                                 @Param("lockUntil") Instant lockUntil);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.failedLoginAttempts = 0, u.accountLockedUntil = null where u.email = :email")
+    int resetLoginState(@Param("email") String email);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.lastTokenRevalidatedAt = :at where u.id = :id")
+    int touchTokenRevalidation(@Param("id") UUID id, @Param("at") Instant at);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
+}
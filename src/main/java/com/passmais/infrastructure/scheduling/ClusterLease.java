@@ -0,0 +1,51 @@
+package com.passmais.infrastructure.scheduling;
+
+import com.passmais.infrastructure.repository.SchedulerLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Lease por nome na tabela scheduler_leases: garante que uma tarefa agendada rode em um único nó por vez.
+ * Quem detém o lease precisa renová-lo antes de expirar; se o nó cair, outro assume após a expiração.
+ */
+@Component
+public class ClusterLease {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterLease.class);
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String nodeId;
+
+    public ClusterLease(SchedulerLeaseRepository leaseRepository,
+                        @Value("${scheduling.node-id:}") String nodeId) {
+        this.leaseRepository = leaseRepository;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean tryAcquire(String name, Duration ttl) {
+        try {
+            return leaseRepository.tryAcquire(name, nodeId, ttl.toMillis() / 1000.0) > 0;
+        } catch (RuntimeException ex) {
+            // na dúvida, não executa: outro nó pode estar com o lease
+            log.warn("Falha ao adquirir lease {}: {}", name, ex.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        try {
+            leaseRepository.release(name, nodeId);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao liberar lease {}: {}", name, ex.getMessage());
+        }
+    }
+}
@@ -1,29 +1,47 @@
 package com.passmais.infrastructure.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserSecurityStateCache securityStateCache;
+    private final RevokedTokenFamilies revokedFamilies;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService userDetailsService,
+                                   UserSecurityStateCache securityStateCache,
+                                   RevokedTokenFamilies revokedFamilies,
+                                   @Value("${security.jwt.stateless-principal:true}") boolean statelessPrincipal) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.securityStateCache = securityStateCache;
+        this.revokedFamilies = revokedFamilies;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -33,18 +51,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtService.isValid(token)) {
-                String username = jwtService.getSubject(token);
+            Claims claims = jwtService.verify(token).orElse(null);
+            if (claims != null && isUsableAccessToken(claims)) {
+                String username = claims.getSubject();
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    UserDetails userDetails = resolvePrincipal(username, claims);
+                    if (userDetails != null && userDetails.isAccountNonLocked()) {
+                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities());
+                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                    }
                 }
             }
         }
         filterChain.doFilter(request, response);
     }
-}
 
+    // refresh tokens não autenticam requisições; sessões encerradas são checadas em memória
+    private boolean isUsableAccessToken(Claims claims) {
+        if (JwtService.REFRESH_TOKEN_TYPE.equals(claims.get(JwtService.TOKEN_TYPE_CLAIM, String.class))) {
+            return false;
+        }
+        String family = claims.get(JwtService.FAMILY_CLAIM, String.class);
+        try {
+            return family == null || !revokedFamilies.isRevoked(UUID.fromString(family));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private UserDetails resolvePrincipal(String username, Claims claims) {
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        if (!statelessPrincipal || role == null) {
+            // tokens sem claim de role (ou modo stateless desligado) seguem o caminho antigo via banco
+            try {
+                return userDetailsService.loadUserByUsername(username);
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+        }
+        // autoridades vêm do token assinado; bloqueio/remoção vêm do cache de estado (sem consulta se em cache)
+        Optional<UserSecurityState> state = securityStateCache.get(username);
+        if (state.isEmpty()) {
+            return null;
+        }
+        return org.springframework.security.core.userdetails.User.withUsername(username)
+                .password("")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + role)))
+                .accountLocked(state.get().isLocked(Instant.now()))
+                .build();
+    }
+}
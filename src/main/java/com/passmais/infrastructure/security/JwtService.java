@@ -1,5 +1,6 @@
 package com.passmais.infrastructure.security;
 
+import com.passmais.infrastructure.cache.BoundedTtlCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,26 +8,49 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtService {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String FAMILY_CLAIM = "fam";
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+
     private final String issuer;
     private final Key key;
     private final long accessTokenMinutes;
     private final long refreshTokenHours;
+    private final JwtParser parser;
+    // tokens já verificados, indexados pelo digest do token e expirados no `exp`; null quando desabilitado
+    private final BoundedTtlCache<String, Claims> verifiedTokens;
 
     public JwtService(@Value("${security.jwt.issuer}") String issuer,
                       @Value("${security.jwt.secret}") String secret,
                       @Value("${security.jwt.access-token-minutes}") long accessTokenMinutes,
-                      @Value("${security.jwt.refresh-token-hours}") long refreshTokenHours) {
+                      @Value("${security.jwt.refresh-token-hours}") long refreshTokenHours,
+                      @Value("${security.jwt.verified-cache.enabled:false}") boolean verifiedCacheEnabled,
+                      @Value("${security.jwt.verified-cache.max-size:10000}") int verifiedCacheMaxSize) {
         this.issuer = issuer;
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessTokenMinutes = accessTokenMinutes;
         this.refreshTokenHours = refreshTokenHours;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .requireIssuer(issuer)
+                .build();
+        this.verifiedTokens = verifiedCacheEnabled
+                ? new BoundedTtlCache<>(verifiedCacheMaxSize, Duration.ofMinutes(accessTokenMinutes))
+                : null;
     }
 
     public String generateAccessToken(String subject, Map<String, Object> claims) {
@@ -41,36 +65,72 @@ public class JwtService {
                 .compact();
     }
 
-    public String generateRefreshToken(String subject) {
+    public String generateRefreshToken(String subject, UUID jti, UUID familyId) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .setIssuer(issuer)
                 .setSubject(subject)
+                .setId(jti.toString())
+                .claim(FAMILY_CLAIM, familyId.toString())
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(refreshTokenHours * 3600)))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public Duration getAccessTokenTtl() {
+        return Duration.ofMinutes(accessTokenMinutes);
+    }
+
+    public Duration getRefreshTokenTtl() {
+        return Duration.ofHours(refreshTokenHours);
+    }
+
     public Jws<Claims> parse(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .requireIssuer(issuer)
-                .build()
-                .parseClaimsJws(token);
+        return parser.parseClaimsJws(token);
     }
 
-    public boolean isValid(String token) {
+    // Verifica assinatura/emissor/expiração uma única vez e devolve as claims; vazio se o token for inválido
+    public Optional<Claims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String digest = verifiedTokens != null ? digest(token) : null;
+        if (digest != null) {
+            Claims cached = verifiedTokens.get(digest);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Claims claims;
         try {
-            parse(token);
-            return true;
+            claims = parse(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
+        }
+        if (digest != null && claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims, claims.getExpiration().toInstant());
         }
+        return Optional.of(claims);
+    }
+
+    public boolean isValid(String token) {
+        return verify(token).isPresent();
     }
 
     public String getSubject(String token) {
-        return parse(token).getBody().getSubject();
+        return verify(token).map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Token inválido"));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
 
@@ -0,0 +1,145 @@
+package com.passmais.infrastructure.security;
+
+import com.passmais.infrastructure.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Contadores de falha de login em memória (sem lock: CAS sobre um long por e-mail, distribuído nos
+ * bins do ConcurrentHashMap). O banco só recebe, de forma assíncrona, o delta acumulado e as transições
+ * de bloqueio/desbloqueio; o UPDATE é atômico no SQL, então vários nós somam as falhas sem read-modify-write.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAttemptTracker.class);
+
+    public static final int MAX_ATTEMPTS = 5;
+    public static final Duration LOCK_DURATION = Duration.ofMinutes(15);
+
+    // estado empacotado: [reset pendente:1][falhas não gravadas:15][bloqueado até, epoch ms:48]
+    private static final long RESET_BIT = 1L << 63;
+    private static final int PENDING_SHIFT = 48;
+    private static final long PENDING_MASK = 0x7FFFL;
+    private static final long LOCK_MASK = (1L << PENDING_SHIFT) - 1;
+    private static final long DEAD = -1L;
+
+    private final UserRepository userRepository;
+    private final Map<String, AtomicLong> states = new ConcurrentHashMap<>();
+
+    public LoginAttemptTracker(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public boolean isLocked(String email, Instant now) {
+        AtomicLong slot = states.get(email);
+        if (slot == null) {
+            return false;
+        }
+        long state = slot.get();
+        return state != DEAD && lockedUntil(state) > now.toEpochMilli();
+    }
+
+    /**
+     * Registra uma falha. {@code persistedAttempts} é o valor lido da linha do usuário (já inclui falhas
+     * gravadas por outros nós). Retorna o instante de bloqueio se esta chamada causou a transição, ou null.
+     */
+    public Instant recordFailure(String email, int persistedAttempts, Instant now) {
+        long nowMs = now.toEpochMilli();
+        long lockUntilMs = now.plus(LOCK_DURATION).toEpochMilli();
+        long[] before = new long[1];
+        long after = update(email, cur -> {
+            before[0] = cur;
+            long reset = cur & RESET_BIT;
+            // com reset pendente o valor lido do banco ainda não foi zerado
+            int base = reset != 0 ? 0 : persistedAttempts;
+            long pending = Math.min(pending(cur) + 1, PENDING_MASK);
+            long locked = lockedUntil(cur);
+            if (locked <= nowMs && base + pending >= MAX_ATTEMPTS) {
+                locked = lockUntilMs;
+            }
+            return reset | (pending << PENDING_SHIFT) | locked;
+        });
+        boolean transitioned = lockedUntil(before[0]) <= nowMs && lockedUntil(after) > nowMs;
+        return transitioned ? Instant.ofEpochMilli(lockedUntil(after)) : null;
+    }
+
+    // Sucesso: descarta falhas locais e, se a linha do usuário estiver "suja", agenda o reset no banco
+    public void recordSuccess(String email, boolean persistedStateDirty) {
+        update(email, cur -> pending(cur) > 0 || persistedStateDirty || (cur & RESET_BIT) != 0 ? RESET_BIT : 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-attempts.flush-interval-ms:500}")
+    public void flush() {
+        long nowMs = System.currentTimeMillis();
+        for (Map.Entry<String, AtomicLong> e : states.entrySet()) {
+            String email = e.getKey();
+            AtomicLong slot = e.getValue();
+            long cur = slot.get();
+            if (cur == DEAD) {
+                continue;
+            }
+            long locked = lockedUntil(cur);
+            long pending = pending(cur);
+            boolean reset = (cur & RESET_BIT) != 0;
+            if (!reset && pending == 0) {
+                // nada a gravar: remove entradas cujo bloqueio já expirou
+                if ((locked <= nowMs) && slot.compareAndSet(cur, DEAD)) {
+                    states.remove(email, slot);
+                }
+                continue;
+            }
+            // mantém só o bloqueio local; falhas que chegarem durante a gravação ficam para o próximo ciclo
+            if (!slot.compareAndSet(cur, locked)) {
+                continue;
+            }
+            try {
+                if (reset) {
+                    userRepository.resetLoginState(email);
+                }
+                if (pending > 0) {
+                    boolean lockedLocally = locked > nowMs;
+                    Instant lockUntil = lockedLocally ? Instant.ofEpochMilli(locked) : Instant.ofEpochMilli(nowMs).plus(LOCK_DURATION);
+                    userRepository.applyFailedLoginAttempts(email, (int) pending, MAX_ATTEMPTS, lockedLocally, lockUntil);
+                }
+            } catch (RuntimeException ex) {
+                // devolve o que não foi gravado para a próxima tentativa
+                update(email, st -> (reset ? st | RESET_BIT : st) & ~(PENDING_MASK << PENDING_SHIFT)
+                        | (Math.min(pending(st) + pending, PENDING_MASK) << PENDING_SHIFT));
+                log.warn("Falha ao gravar estado de login de {}: {}", email, ex.getMessage());
+            }
+        }
+    }
+
+    private long update(String email, LongUnaryOperator op) {
+        while (true) {
+            AtomicLong slot = states.computeIfAbsent(email, k -> new AtomicLong());
+            long cur = slot.get();
+            if (cur == DEAD) {
+                states.remove(email, slot);
+                continue;
+            }
+            long next = op.applyAsLong(cur);
+            if (slot.compareAndSet(cur, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static long pending(long state) {
+        return (state >>> PENDING_SHIFT) & PENDING_MASK;
+    }
+
+    private static long lockedUntil(long state) {
+        return state & LOCK_MASK;
+    }
+}
@@ -0,0 +1,7 @@
+package com.passmais.infrastructure.security;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException() {
+        super("Servidor ocupado, tente novamente em instantes");
+    }
+}
@@ -0,0 +1,76 @@
+package com.passmais.infrastructure.security;
+
+import com.passmais.infrastructure.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto em memória das famílias de tokens revogadas, espelho da tabela refresh_tokens.
+ * A checagem no caminho quente (filtro JWT e refresh) é O(1) e não consulta o banco; revogações feitas
+ * em outros nós chegam pelo sincronismo periódico.
+ */
+@Component
+public class RevokedTokenFamilies {
+
+    private static final Logger log = LoggerFactory.getLogger(RevokedTokenFamilies.class);
+    // sobreposição para tolerar atraso de commit/relógio entre nós; reprocessar uma família é idempotente
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    // família -> até quando manter (depois disso nenhum token da família é válido)
+    private final Map<UUID, Instant> revoked = new ConcurrentHashMap<>();
+    private final Duration retention;
+    private volatile Instant lastSync;
+
+    public RevokedTokenFamilies(RefreshTokenRepository refreshTokenRepository, JwtService jwtService) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.retention = jwtService.getRefreshTokenTtl().compareTo(jwtService.getAccessTokenTtl()) > 0
+                ? jwtService.getRefreshTokenTtl()
+                : jwtService.getAccessTokenTtl();
+    }
+
+    public boolean isRevoked(UUID familyId) {
+        return familyId != null && revoked.containsKey(familyId);
+    }
+
+    public void markRevoked(UUID familyId, Instant revokedAt) {
+        revoked.put(familyId, revokedAt.plus(retention));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lastSync = Instant.now().minus(retention);
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation-sync-ms:5000}", initialDelayString = "${security.jwt.revocation-sync-ms:5000}")
+    public void sync() {
+        Instant since = lastSync;
+        if (since == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        try {
+            for (RefreshTokenRepository.RevokedFamily f : refreshTokenRepository.findFamiliesRevokedSince(since.minus(SYNC_OVERLAP))) {
+                markRevoked(f.getFamilyId(), f.getRevokedAt());
+                if (f.getRevokedAt().isAfter(since)) {
+                    since = f.getRevokedAt();
+                }
+            }
+            lastSync = since;
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao sincronizar famílias revogadas: {}", ex.getMessage());
+        }
+        revoked.values().removeIf(until -> until.isBefore(now));
+    }
+}
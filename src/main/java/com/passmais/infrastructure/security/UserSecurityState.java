@@ -0,0 +1,17 @@
+package com.passmais.infrastructure.security;
+
+import com.passmais.domain.entity.User;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserSecurityState(UUID userId, Instant accountLockedUntil) {
+
+    public static UserSecurityState of(User user) {
+        return new UserSecurityState(user.getId(), user.getAccountLockedUntil());
+    }
+
+    public boolean isLocked(Instant now) {
+        return accountLockedUntil != null && accountLockedUntil.isAfter(now);
+    }
+}
@@ -0,0 +1,38 @@
+package com.passmais.infrastructure.security;
+
+import com.passmais.infrastructure.cache.BoundedTtlCache;
+import com.passmais.infrastructure.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class UserSecurityStateCache {
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<String, UserSecurityState> cache;
+
+    public UserSecurityStateCache(UserRepository userRepository,
+                                  @Value("${security.jwt.state-cache.max-size:10000}") int maxSize,
+                                  @Value("${security.jwt.state-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public Optional<UserSecurityState> get(String email) {
+        return Optional.ofNullable(cache.get(email, key -> userRepository.findByEmail(key)
+                .map(UserSecurityState::of)
+                .orElse(null)));
+    }
+
+    public void put(String email, UserSecurityState state) {
+        cache.put(email, state);
+    }
+
+    // chamado quando bloqueio/desbloqueio/remoção muda o estado de segurança do usuário
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+}
@@ -1,12 +1,20 @@
 package com.passmais.interfaces.controller;
 
 import com.passmais.application.service.AdminApprovalService;
-import com.passmais.domain.entity.Clinic;
-import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.application.service.OccupancyRollupService;
+import com.passmais.application.service.RatingService;
+import com.passmais.application.service.RefreshTokenService;
+import com.passmais.infrastructure.audit.Audited;
+import com.passmais.interfaces.dto.ClinicResponseDTO;
+import com.passmais.interfaces.dto.DoctorProfileResponseDTO;
+import com.passmais.interfaces.mapper.ClinicMapper;
+import com.passmais.interfaces.mapper.DoctorProfileMapper;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -14,21 +22,64 @@ import java.util.UUID;
 public class AdminController {
 
     private final AdminApprovalService adminApprovalService;
+    private final RefreshTokenService refreshTokenService;
+    private final DoctorProfileMapper doctorProfileMapper;
+    private final ClinicMapper clinicMapper;
+    private final RatingService ratingService;
+    private final OccupancyRollupService occupancyRollupService;
 
-    public AdminController(AdminApprovalService adminApprovalService) {
+    public AdminController(AdminApprovalService adminApprovalService,
+                           RefreshTokenService refreshTokenService,
+                           DoctorProfileMapper doctorProfileMapper,
+                           ClinicMapper clinicMapper,
+                           RatingService ratingService,
+                           OccupancyRollupService occupancyRollupService) {
         this.adminApprovalService = adminApprovalService;
+        this.refreshTokenService = refreshTokenService;
+        this.doctorProfileMapper = doctorProfileMapper;
+        this.clinicMapper = clinicMapper;
+        this.ratingService = ratingService;
+        this.occupancyRollupService = occupancyRollupService;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @Audited(value = "DOCTOR_APPROVED", moderation = true)
     @PostMapping("/approve/doctor/{id}")
-    public ResponseEntity<DoctorProfile> approveDoctor(@PathVariable UUID id) {
-        return ResponseEntity.ok(adminApprovalService.approveDoctor(id));
+    public ResponseEntity<DoctorProfileResponseDTO> approveDoctor(@PathVariable UUID id) {
+        return ResponseEntity.ok(doctorProfileMapper.toResponse(adminApprovalService.approveDoctor(id)));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @Audited(value = "CLINIC_APPROVED", moderation = true)
     @PostMapping("/approve/clinic/{id}")
-    public ResponseEntity<Clinic> approveClinic(@PathVariable UUID id) {
-        return ResponseEntity.ok(adminApprovalService.approveClinic(id));
+    public ResponseEntity<ClinicResponseDTO> approveClinic(@PathVariable UUID id) {
+        return ResponseEntity.ok(clinicMapper.toResponse(adminApprovalService.approveClinic(id)));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @Audited(value = "SESSIONS_REVOKED", moderation = true)
+    @PostMapping("/users/{id}/revoke-sessions")
+    public ResponseEntity<Void> revokeSessions(@PathVariable UUID id) {
+        refreshTokenService.revokeAll(id);
+        return ResponseEntity.noContent().build();
     }
-}
 
+    // backfill/correção: recalcula doctor_rating_summaries a partir das avaliações aprovadas
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @Audited(value = "RATINGS_REBUILT", moderation = true)
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<Void> rebuildRatings() {
+        ratingService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    // backfill histórico: recalcula doctor_daily_occupancy de todos os médicos no intervalo
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @Audited(value = "OCCUPANCY_REBUILT", moderation = true)
+    @PostMapping("/occupancy/rebuild")
+    public ResponseEntity<Void> rebuildOccupancy(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        occupancyRollupService.rebuild(from, to);
+        return ResponseEntity.noContent().build();
+    }
+}
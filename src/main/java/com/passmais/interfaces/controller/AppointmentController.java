@@ -1,20 +1,34 @@
 package com.passmais.interfaces.controller;
 
+import com.passmais.application.service.AppointmentImportService;
 import com.passmais.application.service.AppointmentService;
+import com.passmais.application.service.ResourceNotFoundException;
 import com.passmais.domain.entity.Appointment;
 import com.passmais.domain.entity.DoctorProfile;
 import com.passmais.domain.entity.PatientProfile;
+import com.passmais.infrastructure.audit.Audited;
 import com.passmais.infrastructure.repository.AppointmentRepository;
 import com.passmais.infrastructure.repository.DoctorProfileRepository;
 import com.passmais.infrastructure.repository.PatientProfileRepository;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
 import com.passmais.interfaces.dto.AppointmentCreateDTO;
 import com.passmais.interfaces.dto.AppointmentResponseDTO;
+import com.passmais.interfaces.dto.ImportReportDTO;
 import com.passmais.interfaces.mapper.AppointmentMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @RestController
@@ -26,20 +40,37 @@ public class AppointmentController {
     private final DoctorProfileRepository doctorRepo;
     private final PatientProfileRepository patientRepo;
     private final AppointmentMapper appointmentMapper;
+    private final AppointmentImportService importService;
+    private final UserSecurityStateCache securityStateCache;
 
     public AppointmentController(AppointmentService appointmentService,
                                  AppointmentRepository appointmentRepository,
                                  DoctorProfileRepository doctorRepo,
                                  PatientProfileRepository patientRepo,
-                                 AppointmentMapper appointmentMapper) {
+                                 AppointmentMapper appointmentMapper,
+                                 AppointmentImportService importService,
+                                 UserSecurityStateCache securityStateCache) {
         this.appointmentService = appointmentService;
+        this.importService = importService;
         this.appointmentRepository = appointmentRepository;
         this.doctorRepo = doctorRepo;
         this.patientRepo = patientRepo;
         this.appointmentMapper = appointmentMapper;
+        this.securityStateCache = securityStateCache;
+    }
+
+    // visível ao paciente e ao médico da consulta e a administradores; para os demais, 404
+    @PreAuthorize("hasAnyRole('PATIENT','DOCTOR','ADMIN','SUPERADMIN')")
+    @GetMapping("/{id}")
+    public ResponseEntity<AppointmentResponseDTO> get(@PathVariable UUID id, Authentication authentication) {
+        AppointmentRepository.AppointmentAccessSummary appt = appointmentRepository.findAccessSummaryById(id)
+                .filter(a -> isAdmin(authentication) || isParticipant(a, currentUserId(authentication)))
+                .orElseThrow(() -> new ResourceNotFoundException("Consulta não encontrada"));
+        return ResponseEntity.ok(appointmentMapper.toResponse(appt));
     }
 
     @PreAuthorize("hasRole('PATIENT')")
+    @Audited("APPOINTMENT_SCHEDULED")
     @PostMapping
     public ResponseEntity<AppointmentResponseDTO> schedule(@RequestBody @Valid AppointmentCreateDTO dto) {
         DoctorProfile doctor = doctorRepo.findById(dto.doctorId()).orElseThrow();
@@ -48,7 +79,22 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentMapper.toResponse(appt));
     }
 
+    // corpo lido em streaming, linha a linha: o arquivo nunca é carregado inteiro em memória
+    @PreAuthorize("hasAnyRole('CLINIC','ADMIN','SUPERADMIN')")
+    @Audited("APPOINTMENTS_IMPORTED")
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReportDTO> importAppointments(HttpServletRequest request) throws IOException {
+        AppointmentImportService.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? AppointmentImportService.Format.CSV
+                : AppointmentImportService.Format.NDJSON;
+        AppointmentImportService.ImportReport report = importService.importAppointments(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), format);
+        return ResponseEntity.ok(new ImportReportDTO(report.totalRows(), report.imported(), report.failed(),
+                report.errors().stream().map(e -> new ImportReportDTO.RowError(e.line(), e.message())).toList()));
+    }
+
     @PreAuthorize("hasRole('PATIENT')")
+    @Audited("APPOINTMENT_RESCHEDULED")
     @PostMapping("/{id}/reschedule")
     public ResponseEntity<AppointmentResponseDTO> reschedule(@PathVariable UUID id, @RequestParam("dateTime") String dateTimeIso) {
         Appointment original = appointmentRepository.findById(id).orElseThrow();
@@ -58,6 +104,7 @@ public class AppointmentController {
     }
 
     @PreAuthorize("hasAnyRole('PATIENT','ADMIN','SUPERADMIN')")
+    @Audited("APPOINTMENT_CANCELED")
     @PostMapping("/{id}/cancel")
     public ResponseEntity<AppointmentResponseDTO> cancel(@PathVariable UUID id) {
         Appointment appt = appointmentRepository.findById(id).orElseThrow();
@@ -66,11 +113,27 @@ public class AppointmentController {
     }
 
     @PreAuthorize("hasRole('DOCTOR')")
+    @Audited("APPOINTMENT_DONE")
     @PostMapping("/{id}/done")
     public ResponseEntity<AppointmentResponseDTO> markDone(@PathVariable UUID id) {
         Appointment appt = appointmentRepository.findById(id).orElseThrow();
         Appointment done = appointmentService.markDone(appt);
         return ResponseEntity.ok(appointmentMapper.toResponse(done));
     }
-}
 
+    private static boolean isParticipant(AppointmentRepository.AppointmentAccessSummary appt, UUID userId) {
+        return userId.equals(appt.getPatientUserId()) || userId.equals(appt.getDoctorUserId());
+    }
+
+    private UUID currentUserId(Authentication authentication) {
+        return securityStateCache.get(authentication.getName())
+                .map(UserSecurityState::userId)
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(a -> a.equals("ROLE_ADMIN") || a.equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -1,27 +1,97 @@
 package com.passmais.interfaces.controller;
 
-import com.passmais.domain.entity.AuditLog;
-import com.passmais.infrastructure.repository.AuditLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.passmais.application.pagination.KeysetCursor;
+import com.passmais.application.service.AuditLogService;
+import com.passmais.interfaces.dto.AuditLogResponseDTO;
+import com.passmais.interfaces.dto.PageDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/audit-logs")
 public class AuditLogController {
 
-    private final AuditLogRepository auditLogRepository;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
-    public AuditLogController(AuditLogRepository auditLogRepository) {
-        this.auditLogRepository = auditLogRepository;
+    private final AuditLogService auditLogService;
+    private final ObjectMapper objectMapper;
+    private final long exportTimeoutMs;
+
+    public AuditLogController(AuditLogService auditLogService,
+                              ObjectMapper objectMapper,
+                              @Value("${audit.export.timeout-ms:600000}") long exportTimeoutMs) {
+        this.auditLogService = auditLogService;
+        this.objectMapper = objectMapper;
+        this.exportTimeoutMs = exportTimeoutMs;
     }
 
     @GetMapping
     @PreAuthorize("hasRole('SUPERADMIN')")
-    public ResponseEntity<List<AuditLog>> listAll() {
-        return ResponseEntity.ok(auditLogRepository.findAll());
+    public ResponseEntity<PageDTO<AuditLogResponseDTO>> list(@RequestParam(required = false) UUID actorUserId,
+                                                             @RequestParam(required = false) String action,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit) {
+        var page = auditLogService.search(new AuditLogService.Filter(actorUserId, action, from, to),
+                KeysetCursor.decodeOr(cursor, KeysetCursor.END), KeysetCursor.clampLimit(limit));
+        return ResponseEntity.ok(PageDTO.of(page, AuditLogController::toResponse));
     }
-}
 
+    // uma linha JSON por registro, escrita conforme o cursor do banco avança
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) UUID actorUserId,
+                                                        @RequestParam(required = false) String action,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                        NativeWebRequest webRequest) {
+        // prazo estendido só para esta requisição; o streaming herda o timeout do AsyncWebRequest corrente
+        AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest();
+        if (asyncRequest != null) {
+            asyncRequest.setTimeout(exportTimeoutMs);
+        }
+        AuditLogService.Filter filter = new AuditLogService.Filter(actorUserId, action, from, to);
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            try {
+                auditLogService.export(filter, row -> {
+                    try {
+                        buffered.write(objectMapper.writeValueAsBytes(toResponse(row)));
+                        buffered.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // cliente desconectou: a transação somente leitura é encerrada e o cursor liberado
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header("Content-Disposition", "attachment; filename=audit-logs.ndjson")
+                .body(body);
+    }
+
+    private static AuditLogResponseDTO toResponse(AuditLogService.Row row) {
+        return new AuditLogResponseDTO(row.id(), row.actorUserId(), row.action(), row.details(), row.createdAt());
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -23,9 +24,9 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthTokenDTO> login(@RequestBody @Valid AuthRequestDTO request) {
-        Map<String, String> tokens = authService.login(request.email(), request.password());
-        return ResponseEntity.ok(new AuthTokenDTO(tokens.get("accessToken"), tokens.get("refreshToken")));
+    public CompletableFuture<ResponseEntity<AuthTokenDTO>> login(@RequestBody @Valid AuthRequestDTO request) {
+        return authService.loginAsync(request.email(), request.password())
+                .thenApply(tokens -> ResponseEntity.ok(new AuthTokenDTO(tokens.get("accessToken"), tokens.get("refreshToken"))));
     }
 
     @PostMapping("/refresh")
@@ -34,11 +35,23 @@ public class AuthController {
         return ResponseEntity.ok(new AuthTokenDTO(tokens.get("accessToken"), tokens.get("refreshToken")));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody @Valid RefreshTokenDTO request) {
+        authService.logout(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@RequestBody @Valid RefreshTokenDTO request) {
+        authService.logoutAll(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/register")
-    public ResponseEntity<UserResponseDTO> register(@RequestBody @Valid UserCreateDTO dto) {
+    public CompletableFuture<ResponseEntity<UserResponseDTO>> register(@RequestBody @Valid UserCreateDTO dto) {
         User user = userMapper.toEntity(dto);
-        User saved = authService.register(user, dto.password());
-        return ResponseEntity.ok(userMapper.toResponse(saved));
+        return authService.registerAsync(user, dto.password())
+                .thenApply(saved -> ResponseEntity.ok(userMapper.toResponse(saved)));
     }
 }
 
@@ -1,14 +1,30 @@
 package com.passmais.interfaces.controller;
 
 import com.passmais.application.service.AvailabilityService;
+import com.passmais.application.service.ResourceNotFoundException;
 import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.infrastructure.audit.Audited;
 import com.passmais.infrastructure.repository.DoctorProfileRepository;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
 import com.passmais.interfaces.dto.AvailabilityCreateDTO;
+import com.passmais.interfaces.dto.AvailabilityExceptionCreateDTO;
+import com.passmais.interfaces.dto.AvailabilityExceptionResponseDTO;
+import com.passmais.interfaces.dto.AvailabilityResponseDTO;
+import com.passmais.interfaces.dto.WeeklyTemplateDTO;
+import com.passmais.interfaces.mapper.AvailabilityExceptionMapper;
+import com.passmais.interfaces.mapper.AvailabilityMapper;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -17,17 +33,94 @@ public class AvailabilityController {
 
     private final AvailabilityService availabilityService;
     private final DoctorProfileRepository doctorRepo;
+    private final AvailabilityMapper availabilityMapper;
+    private final AvailabilityExceptionMapper exceptionMapper;
+    private final UserSecurityStateCache securityStateCache;
 
-    public AvailabilityController(AvailabilityService availabilityService, DoctorProfileRepository doctorRepo) {
+    public AvailabilityController(AvailabilityService availabilityService,
+                                  DoctorProfileRepository doctorRepo,
+                                  AvailabilityMapper availabilityMapper,
+                                  AvailabilityExceptionMapper exceptionMapper,
+                                  UserSecurityStateCache securityStateCache) {
         this.availabilityService = availabilityService;
         this.doctorRepo = doctorRepo;
+        this.availabilityMapper = availabilityMapper;
+        this.exceptionMapper = exceptionMapper;
+        this.securityStateCache = securityStateCache;
     }
 
-    @PreAuthorize("hasRole('DOCTOR')")
+    @PreAuthorize("hasAnyRole('DOCTOR','ADMIN','SUPERADMIN')")
+    @Audited("AVAILABILITY_CREATED")
     @PostMapping("/doctor/{doctorId}")
-    public ResponseEntity<?> create(@PathVariable UUID doctorId, @RequestBody @Valid AvailabilityCreateDTO dto) {
-        DoctorProfile doctor = doctorRepo.findById(doctorId).orElseThrow();
-        return ResponseEntity.ok(availabilityService.createAvailability(doctor, dto.dayOfWeek(), dto.startTime(), dto.endTime()));
+    public ResponseEntity<AvailabilityResponseDTO> create(@PathVariable UUID doctorId, @RequestBody @Valid AvailabilityCreateDTO dto,
+                                                          Authentication authentication) {
+        DoctorProfile doctor = ownedDoctor(doctorId, authentication);
+        return ResponseEntity.ok(availabilityMapper.toResponse(
+                availabilityService.createAvailability(doctor, dto.dayOfWeek(), dto.startTime(), dto.endTime())));
+    }
+
+    // substitui o modelo semanal inteiro; blocos ausentes do corpo são removidos
+    @PreAuthorize("hasAnyRole('DOCTOR','ADMIN','SUPERADMIN')")
+    @Audited("AVAILABILITY_WEEK_REPLACED")
+    @PutMapping("/doctor/{doctorId}/week")
+    public ResponseEntity<List<AvailabilityResponseDTO>> replaceWeek(@PathVariable UUID doctorId, @RequestBody @Valid WeeklyTemplateDTO dto,
+                                                                     Authentication authentication) {
+        DoctorProfile doctor = ownedDoctor(doctorId, authentication);
+        List<AvailabilityService.WeeklyBlock> blocks = dto.blocks().stream()
+                .map(b -> new AvailabilityService.WeeklyBlock(b.dayOfWeek(), b.startTime(), b.endTime()))
+                .toList();
+        return ResponseEntity.ok(availabilityService.replaceWeek(doctor, blocks).stream()
+                .map(availabilityMapper::toResponse)
+                .toList());
+    }
+
+    @PreAuthorize("hasAnyRole('DOCTOR','ADMIN','SUPERADMIN')")
+    @Audited("AVAILABILITY_EXCEPTION_CREATED")
+    @PostMapping("/doctor/{doctorId}/exceptions")
+    public ResponseEntity<AvailabilityExceptionResponseDTO> createException(@PathVariable UUID doctorId,
+                                                                            @RequestBody @Valid AvailabilityExceptionCreateDTO dto,
+                                                                            Authentication authentication) {
+        DoctorProfile doctor = ownedDoctor(doctorId, authentication);
+        return ResponseEntity.ok(exceptionMapper.toResponse(availabilityService.createException(doctor, dto.type(),
+                dto.startDate(), dto.endDate(), dto.startTime(), dto.endTime(), dto.reason())));
+    }
+
+    @PreAuthorize("hasAnyRole('DOCTOR','CLINIC','ADMIN','SUPERADMIN')")
+    @GetMapping("/doctor/{doctorId}/exceptions")
+    public ResponseEntity<List<AvailabilityExceptionResponseDTO>> listExceptions(@PathVariable UUID doctorId,
+                                                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(availabilityService.listExceptions(doctorId, from, to).stream()
+                .map(exceptionMapper::toResponse)
+                .toList());
     }
-}
 
+    @PreAuthorize("hasAnyRole('DOCTOR','ADMIN','SUPERADMIN')")
+    @Audited("AVAILABILITY_EXCEPTION_DELETED")
+    @DeleteMapping("/exceptions/{id}")
+    public ResponseEntity<Void> deleteException(@PathVariable UUID id, Authentication authentication) {
+        boolean admin = isAdmin(authentication);
+        availabilityService.deleteException(id, admin ? null : currentUserId(authentication), admin);
+        return ResponseEntity.noContent().build();
+    }
+
+    // médico só altera a própria agenda; para os demais o perfil não existe
+    private DoctorProfile ownedDoctor(UUID doctorId, Authentication authentication) {
+        boolean admin = isAdmin(authentication);
+        return doctorRepo.findById(doctorId)
+                .filter(d -> admin || d.getUser().getId().equals(currentUserId(authentication)))
+                .orElseThrow(() -> new ResourceNotFoundException("Médico não encontrado"));
+    }
+
+    private UUID currentUserId(Authentication authentication) {
+        return securityStateCache.get(authentication.getName())
+                .map(UserSecurityState::userId)
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(a -> a.equals("ROLE_ADMIN") || a.equals("ROLE_SUPERADMIN"));
+    }
+}
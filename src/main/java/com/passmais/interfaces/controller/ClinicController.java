@@ -0,0 +1,48 @@
+package com.passmais.interfaces.controller;
+
+import com.passmais.infrastructure.repository.ClinicRepository;
+import com.passmais.interfaces.dto.OccupancyDayDTO;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/clinics")
+public class ClinicController {
+
+    static final int MAX_OCCUPANCY_DAYS = 92;
+
+    private final ClinicRepository clinicRepository;
+
+    public ClinicController(ClinicRepository clinicRepository) {
+        this.clinicRepository = clinicRepository;
+    }
+
+    // ocupação diária por médico da clínica, servida do rollup (atualizado pelo OccupancyRollupService)
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<List<OccupancyDayDTO>> occupancy(@PathVariable UUID id,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à inicial");
+        }
+        if (to.toEpochDay() - from.toEpochDay() >= MAX_OCCUPANCY_DAYS) {
+            throw new IllegalArgumentException("Intervalo máximo de " + MAX_OCCUPANCY_DAYS + " dias");
+        }
+        if (!clinicRepository.existsById(id)) {
+            throw new IllegalArgumentException("Clínica não encontrada");
+        }
+        List<OccupancyDayDTO> days = clinicRepository.findOccupancy(id, from, to).stream()
+                .map(o -> new OccupancyDayDTO(o.getDoctorId(), o.getDay(), o.getAvailableSlots(),
+                        o.getBookedSlots(), o.getCanceled(), o.getNoShows(),
+                        o.getAvailableSlots() > 0 ? (double) o.getBookedSlots() / o.getAvailableSlots() : null))
+                .toList();
+        return ResponseEntity.ok(days);
+    }
+}
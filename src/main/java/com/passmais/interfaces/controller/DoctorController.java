@@ -0,0 +1,136 @@
+package com.passmais.interfaces.controller;
+
+import com.passmais.application.pagination.KeysetCursor;
+import com.passmais.application.pagination.ScoreCursor;
+import com.passmais.application.service.AppointmentService;
+import com.passmais.application.service.DoctorSearchService;
+import com.passmais.application.service.RatingService;
+import com.passmais.application.service.ResourceNotFoundException;
+import com.passmais.application.service.SlotService;
+import com.passmais.domain.enums.AppointmentStatus;
+import com.passmais.infrastructure.repository.DoctorProfileRepository;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import com.passmais.interfaces.dto.AppointmentResponseDTO;
+import com.passmais.interfaces.dto.DaySlotsDTO;
+import com.passmais.interfaces.dto.DoctorSearchResultDTO;
+import com.passmais.interfaces.dto.DoctorRatingDTO;
+import com.passmais.interfaces.dto.PageDTO;
+import com.passmais.interfaces.dto.TopRatedDoctorDTO;
+import com.passmais.interfaces.mapper.AppointmentMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/doctors")
+public class DoctorController {
+
+    private final SlotService slotService;
+    private final AppointmentService appointmentService;
+    private final AppointmentMapper appointmentMapper;
+    private final RatingService ratingService;
+    private final DoctorSearchService doctorSearchService;
+    private final DoctorProfileRepository doctorProfileRepository;
+    private final UserSecurityStateCache securityStateCache;
+
+    public DoctorController(SlotService slotService,
+                            AppointmentService appointmentService,
+                            AppointmentMapper appointmentMapper,
+                            RatingService ratingService,
+                            DoctorSearchService doctorSearchService,
+                            DoctorProfileRepository doctorProfileRepository,
+                            UserSecurityStateCache securityStateCache) {
+        this.slotService = slotService;
+        this.appointmentService = appointmentService;
+        this.appointmentMapper = appointmentMapper;
+        this.ratingService = ratingService;
+        this.doctorSearchService = doctorSearchService;
+        this.doctorProfileRepository = doctorProfileRepository;
+        this.securityStateCache = securityStateCache;
+    }
+
+    // `q` casa prefixo/aproximação em nome e especialidade; só administradores veem médicos não aprovados
+    @GetMapping("/search")
+    public ResponseEntity<PageDTO<DoctorSearchResultDTO>> search(Authentication authentication,
+                                                                 @RequestParam(required = false) String q,
+                                                                 @RequestParam(required = false) UUID clinicId,
+                                                                 @RequestParam(required = false) Boolean approved,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limit) {
+        Boolean visibility = isAdmin(authentication) ? approved : Boolean.TRUE;
+        var page = doctorSearchService.search(new DoctorSearchService.Query(q, clinicId, visibility),
+                ScoreCursor.decode(cursor), KeysetCursor.clampLimit(limit));
+        List<DoctorSearchResultDTO> items = page.items().stream()
+                .map(h -> new DoctorSearchResultDTO(h.id(), h.name(), h.specialty(), h.crm(), h.approved()))
+                .toList();
+        return ResponseEntity.ok(new PageDTO<>(items, page.next() != null ? page.next().encode() : null));
+    }
+
+    // ranking pela média bayesiana das avaliações aprovadas; servido do quadro em memória
+    @GetMapping("/top")
+    public ResponseEntity<List<TopRatedDoctorDTO>> top(@RequestParam(required = false) String specialty,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        List<TopRatedDoctorDTO> top = ratingService.top(specialty, limit).stream()
+                .map(e -> new TopRatedDoctorDTO(e.doctorId(), e.name(), e.specialty(), e.reviewCount(),
+                        (double) e.ratingSum() / e.reviewCount(), e.score()))
+                .toList();
+        return ResponseEntity.ok(top);
+    }
+
+    @GetMapping("/{id}/rating")
+    public ResponseEntity<DoctorRatingDTO> rating(@PathVariable UUID id) {
+        DoctorRatingDTO dto = ratingService.summary(id)
+                .map(s -> new DoctorRatingDTO(id, s.getReviewCount(),
+                        s.getReviewCount() > 0 ? (double) s.getRatingSum() / s.getReviewCount() : 0.0, s.histogram()))
+                .orElseGet(() -> new DoctorRatingDTO(id, 0, 0.0, List.of(0, 0, 0, 0, 0)));
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping("/{id}/slots")
+    public ResponseEntity<List<DaySlotsDTO>> slots(@PathVariable UUID id,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<DaySlotsDTO> days = slotService.freeSlots(id, from, to).stream()
+                .map(d -> new DaySlotsDTO(d.date(), d.slots()))
+                .toList();
+        return ResponseEntity.ok(days);
+    }
+
+    // médico só lista a própria agenda; clínicas não têm vínculo com usuário, então ficam de fora
+    @PreAuthorize("hasAnyRole('DOCTOR','ADMIN','SUPERADMIN')")
+    @GetMapping("/{id}/appointments")
+    public ResponseEntity<PageDTO<AppointmentResponseDTO>> appointments(@PathVariable UUID id,
+                                                                        @RequestParam(required = false) List<AppointmentStatus> status,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit,
+                                                                        Authentication authentication) {
+        if (!isAdmin(authentication) && !doctorProfileRepository.findUserIdById(id)
+                .map(currentUserId(authentication)::equals).orElse(false)) {
+            throw new ResourceNotFoundException("Médico não encontrado");
+        }
+        var page = appointmentService.listByDoctor(id, status,
+                KeysetCursor.decodeOr(cursor, KeysetCursor.START), KeysetCursor.clampLimit(limit));
+        return ResponseEntity.ok(PageDTO.of(page, appointmentMapper::toResponse));
+    }
+
+    private UUID currentUserId(Authentication authentication) {
+        return securityStateCache.get(authentication.getName())
+                .map(UserSecurityState::userId)
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(a -> a.equals("ROLE_ADMIN") || a.equals("ROLE_SUPERADMIN"));
+    }
+}
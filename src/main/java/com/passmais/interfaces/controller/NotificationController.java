@@ -0,0 +1,83 @@
+package com.passmais.interfaces.controller;
+
+import com.passmais.application.pagination.KeysetCursor;
+import com.passmais.application.service.NotificationService;
+import com.passmais.infrastructure.notification.NotificationHub;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import com.passmais.interfaces.dto.NotificationReadDTO;
+import com.passmais.interfaces.dto.NotificationResponseDTO;
+import com.passmais.interfaces.dto.PageDTO;
+import com.passmais.interfaces.dto.UnreadCountDTO;
+import com.passmais.interfaces.mapper.NotificationMapper;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final UserSecurityStateCache securityStateCache;
+    private final NotificationMapper notificationMapper;
+    private final NotificationHub notificationHub;
+
+    public NotificationController(NotificationService notificationService,
+                                  UserSecurityStateCache securityStateCache,
+                                  NotificationMapper notificationMapper,
+                                  NotificationHub notificationHub) {
+        this.notificationService = notificationService;
+        this.securityStateCache = securityStateCache;
+        this.notificationMapper = notificationMapper;
+        this.notificationHub = notificationHub;
+    }
+
+    @GetMapping
+    public ResponseEntity<PageDTO<NotificationResponseDTO>> list(Authentication authentication,
+                                                                 @RequestParam(defaultValue = "false") boolean unread,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limit) {
+        var page = notificationService.list(currentUserId(authentication), unread,
+                KeysetCursor.decodeOr(cursor, KeysetCursor.END), KeysetCursor.clampLimit(limit));
+        return ResponseEntity.ok(PageDTO.of(page, notificationMapper::toResponse));
+    }
+
+    // consultado com frequência pelo app (badge): responde do cache, sem ir ao banco
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountDTO> unreadCount(Authentication authentication) {
+        return ResponseEntity.ok(new UnreadCountDTO(notificationService.unreadCount(currentUserId(authentication))));
+    }
+
+    // push das notificações novas; após reconectar, o cliente busca o que perdeu pela listagem
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication authentication) {
+        return notificationHub.subscribe(currentUserId(authentication));
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<UnreadCountDTO> markRead(Authentication authentication, @RequestBody @Valid NotificationReadDTO dto) {
+        UUID userId = currentUserId(authentication);
+        notificationService.markRead(userId, dto.ids());
+        return ResponseEntity.ok(new UnreadCountDTO(notificationService.unreadCount(userId)));
+    }
+
+    @PostMapping("/read-all")
+    public ResponseEntity<UnreadCountDTO> markAllRead(Authentication authentication) {
+        notificationService.markAllRead(currentUserId(authentication));
+        return ResponseEntity.ok(new UnreadCountDTO(0));
+    }
+
+    // id do usuário vem do cache de estado de segurança já usado pelo filtro JWT
+    private UUID currentUserId(Authentication authentication) {
+        return securityStateCache.get(authentication.getName())
+                .map(UserSecurityState::userId)
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.passmais.interfaces.controller;
+
+import com.passmais.application.pagination.KeysetCursor;
+import com.passmais.application.service.AppointmentService;
+import com.passmais.application.service.ResourceNotFoundException;
+import com.passmais.domain.enums.AppointmentStatus;
+import com.passmais.infrastructure.repository.PatientProfileRepository;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import com.passmais.interfaces.dto.AppointmentResponseDTO;
+import com.passmais.interfaces.dto.PageDTO;
+import com.passmais.interfaces.mapper.AppointmentMapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/patients")
+public class PatientController {
+
+    private final AppointmentService appointmentService;
+    private final AppointmentMapper appointmentMapper;
+    private final PatientProfileRepository patientProfileRepository;
+    private final UserSecurityStateCache securityStateCache;
+
+    public PatientController(AppointmentService appointmentService,
+                             AppointmentMapper appointmentMapper,
+                             PatientProfileRepository patientProfileRepository,
+                             UserSecurityStateCache securityStateCache) {
+        this.appointmentService = appointmentService;
+        this.appointmentMapper = appointmentMapper;
+        this.patientProfileRepository = patientProfileRepository;
+        this.securityStateCache = securityStateCache;
+    }
+
+    // paciente só lista as próprias consultas; administradores listam qualquer paciente
+    @PreAuthorize("hasAnyRole('PATIENT','ADMIN','SUPERADMIN')")
+    @GetMapping("/{id}/appointments")
+    public ResponseEntity<PageDTO<AppointmentResponseDTO>> appointments(@PathVariable UUID id,
+                                                                        @RequestParam(required = false) List<AppointmentStatus> status,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit,
+                                                                        Authentication authentication) {
+        if (!isAdmin(authentication) && !patientProfileRepository.findUserIdById(id)
+                .map(currentUserId(authentication)::equals).orElse(false)) {
+            throw new ResourceNotFoundException("Paciente não encontrado");
+        }
+        var page = appointmentService.listByPatient(id, status,
+                KeysetCursor.decodeOr(cursor, KeysetCursor.START), KeysetCursor.clampLimit(limit));
+        return ResponseEntity.ok(PageDTO.of(page, appointmentMapper::toResponse));
+    }
+
+    private UUID currentUserId(Authentication authentication) {
+        return securityStateCache.get(authentication.getName())
+                .map(UserSecurityState::userId)
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(a -> a.equals("ROLE_ADMIN") || a.equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.passmais.interfaces.controller;
+
+import com.passmais.application.payment.PaymentService;
+import com.passmais.application.payment.PaymentService.PaymentView;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import com.passmais.interfaces.dto.PaymentCreateDTO;
+import com.passmais.interfaces.dto.PaymentResponseDTO;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/payments")
+public class PaymentController {
+
+    private final PaymentService paymentService;
+    private final UserSecurityStateCache securityStateCache;
+
+    public PaymentController(PaymentService paymentService, UserSecurityStateCache securityStateCache) {
+        this.paymentService = paymentService;
+        this.securityStateCache = securityStateCache;
+    }
+
+    // 201 na primeira chamada; repetir a mesma Idempotency-Key devolve o pagamento existente com 200
+    @PreAuthorize("hasRole('PATIENT')")
+    @PostMapping
+    public CompletableFuture<ResponseEntity<PaymentResponseDTO>> create(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                                        @RequestBody @Valid PaymentCreateDTO dto,
+                                                                        Authentication authentication) {
+        return paymentService.createIntent(currentUserId(authentication), idempotencyKey, dto.appointmentId(), dto.method())
+                .thenApply(result -> ResponseEntity.status(result.replayed() ? HttpStatus.OK : HttpStatus.CREATED)
+                        .body(toResponse(result.payment())));
+    }
+
+    @PreAuthorize("hasAnyRole('PATIENT','ADMIN','SUPERADMIN')")
+    @GetMapping("/{id}")
+    public ResponseEntity<PaymentResponseDTO> get(@PathVariable UUID id, Authentication authentication) {
+        return ResponseEntity.ok(toResponse(paymentService.find(id, currentUserId(authentication), isAdmin(authentication))));
+    }
+
+    // chamado pelo gateway: autenticado pela assinatura do corpo, não por JWT; só enfileira (202)
+    @PostMapping("/webhooks/{gateway}")
+    public ResponseEntity<Void> webhook(@PathVariable String gateway,
+                                        @RequestHeader(value = "X-Signature", required = false) String signature,
+                                        @RequestBody byte[] body) {
+        paymentService.receiveWebhook(gateway, body, signature);
+        return ResponseEntity.accepted().build();
+    }
+
+    private static PaymentResponseDTO toResponse(PaymentView p) {
+        return new PaymentResponseDTO(p.id(), p.appointmentId(), p.method(), p.value(), p.status(),
+                p.checkoutData(), p.createdAt());
+    }
+
+    private UUID currentUserId(Authentication authentication) {
+        return securityStateCache.get(authentication.getName())
+                .map(UserSecurityState::userId)
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(a -> a.equals("ROLE_ADMIN") || a.equals("ROLE_SUPERADMIN"));
+    }
+}
@@ -1,33 +1,100 @@
 package com.passmais.interfaces.controller;
 
+import com.passmais.application.service.ReviewModerationService;
+import com.passmais.application.service.ReviewModerationService.ModerationResult;
 import com.passmais.application.service.ReviewService;
 import com.passmais.domain.entity.Appointment;
 import com.passmais.domain.entity.Review;
+import com.passmais.infrastructure.audit.Audited;
 import com.passmais.infrastructure.repository.AppointmentRepository;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import com.passmais.interfaces.dto.ModerationResultDTO;
 import com.passmais.interfaces.dto.ReviewCreateDTO;
+import com.passmais.interfaces.dto.ReviewModerationDTO;
+import com.passmais.interfaces.dto.ReviewQueueItemDTO;
+import com.passmais.interfaces.dto.ReviewResponseDTO;
+import com.passmais.interfaces.mapper.ReviewMapper;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/reviews")
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final ReviewModerationService moderationService;
     private final AppointmentRepository appointmentRepository;
+    private final ReviewMapper reviewMapper;
+    private final UserSecurityStateCache securityStateCache;
 
-    public ReviewController(ReviewService reviewService, AppointmentRepository appointmentRepository) {
+    public ReviewController(ReviewService reviewService,
+                            ReviewModerationService moderationService,
+                            AppointmentRepository appointmentRepository,
+                            ReviewMapper reviewMapper,
+                            UserSecurityStateCache securityStateCache) {
         this.reviewService = reviewService;
+        this.moderationService = moderationService;
         this.appointmentRepository = appointmentRepository;
+        this.reviewMapper = reviewMapper;
+        this.securityStateCache = securityStateCache;
     }
 
     @PreAuthorize("hasRole('PATIENT')")
+    @Audited("REVIEW_CREATED")
     @PostMapping
-    public ResponseEntity<Review> create(@RequestBody @Valid ReviewCreateDTO dto) {
+    public ResponseEntity<ReviewResponseDTO> create(@RequestBody @Valid ReviewCreateDTO dto) {
         Appointment appt = appointmentRepository.findById(dto.appointmentId()).orElseThrow();
         Review review = reviewService.createFromAppointment(appt, dto.rating(), dto.comment());
-        return ResponseEntity.ok(review);
+        return ResponseEntity.ok(reviewMapper.toResponse(review));
+    }
+
+    // reivindica o próximo lote de pendentes para o moderador atual (prazo em reviews.moderation.claim-seconds)
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @PostMapping("/moderation/claim")
+    public ResponseEntity<List<ReviewQueueItemDTO>> claim(Authentication authentication,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        List<ReviewQueueItemDTO> items = moderationService.claim(currentUserId(authentication), limit).stream()
+                .map(r -> new ReviewQueueItemDTO(r.id(), r.appointmentId(), r.rating(), r.comment(),
+                        r.createdAt(), r.claimExpiresAt()))
+                .toList();
+        return ResponseEntity.ok(items);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @PostMapping("/moderation/release")
+    public ResponseEntity<Void> release(Authentication authentication, @RequestBody @Valid ReviewModerationDTO dto) {
+        moderationService.release(currentUserId(authentication), dto.ids());
+        return ResponseEntity.noContent().build();
+    }
+
+    // registro em moderation_logs feito pelo próprio serviço, uma linha por avaliação
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @PostMapping("/moderation/approve")
+    public ResponseEntity<ModerationResultDTO> approve(Authentication authentication, @RequestBody @Valid ReviewModerationDTO dto) {
+        return ResponseEntity.ok(toResponse(moderationService.approve(currentUserId(authentication), dto.ids())));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERADMIN')")
+    @PostMapping("/moderation/reject")
+    public ResponseEntity<ModerationResultDTO> reject(Authentication authentication, @RequestBody @Valid ReviewModerationDTO dto) {
+        return ResponseEntity.ok(toResponse(moderationService.reject(currentUserId(authentication), dto.ids())));
     }
-}
 
+    private static ModerationResultDTO toResponse(ModerationResult result) {
+        return new ModerationResultDTO(result.updated(), result.skipped());
+    }
+
+    private UUID currentUserId(Authentication authentication) {
+        return securityStateCache.get(authentication.getName())
+                .map(UserSecurityState::userId)
+                .orElseThrow(() -> new BadCredentialsException("Usuário inválido"));
+    }
+}
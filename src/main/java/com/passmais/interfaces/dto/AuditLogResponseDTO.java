@@ -0,0 +1,12 @@
+package com.passmais.interfaces.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AuditLogResponseDTO(
+        UUID id,
+        UUID actorUserId,
+        String action,
+        String details,
+        Instant createdAt
+) {}
@@ -0,0 +1,17 @@
+package com.passmais.interfaces.dto;
+
+import com.passmais.domain.enums.AvailabilityExceptionType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record AvailabilityExceptionCreateDTO(
+        @NotNull(message = "Tipo é obrigatório") AvailabilityExceptionType type,
+        @NotNull(message = "Data inicial é obrigatória") LocalDate startDate,
+        @NotNull(message = "Data final é obrigatória") LocalDate endDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        @Size(max = 200, message = "Motivo deve ter no máximo 200 caracteres") String reason
+) {}
@@ -0,0 +1,18 @@
+package com.passmais.interfaces.dto;
+
+import com.passmais.domain.enums.AvailabilityExceptionType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+public record AvailabilityExceptionResponseDTO(
+        UUID id,
+        UUID doctorId,
+        AvailabilityExceptionType type,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        String reason
+) {}
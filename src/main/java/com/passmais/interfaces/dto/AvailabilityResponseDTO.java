@@ -0,0 +1,13 @@
+package com.passmais.interfaces.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+public record AvailabilityResponseDTO(
+        UUID id,
+        UUID doctorId,
+        DayOfWeek dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime
+) {}
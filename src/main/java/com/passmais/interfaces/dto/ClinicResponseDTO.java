@@ -0,0 +1,13 @@
+package com.passmais.interfaces.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ClinicResponseDTO(
+        UUID id,
+        String name,
+        String cnpj,
+        String address,
+        boolean approved,
+        Instant approvedAt
+) {}
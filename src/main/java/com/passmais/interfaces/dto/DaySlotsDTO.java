@@ -0,0 +1,7 @@
+package com.passmais.interfaces.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public record DaySlotsDTO(LocalDate date, List<Instant> slots) {}
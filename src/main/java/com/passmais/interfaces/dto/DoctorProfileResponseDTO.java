@@ -0,0 +1,14 @@
+package com.passmais.interfaces.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record DoctorProfileResponseDTO(
+        UUID id,
+        UUID userId,
+        String crm,
+        String specialty,
+        String bio,
+        boolean approved,
+        Instant approvedAt
+) {}
@@ -0,0 +1,12 @@
+package com.passmais.interfaces.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+// `histogram`: quantidade de avaliações aprovadas com nota 1..5
+public record DoctorRatingDTO(
+        UUID doctorId,
+        int reviewCount,
+        double average,
+        List<Integer> histogram
+) {}
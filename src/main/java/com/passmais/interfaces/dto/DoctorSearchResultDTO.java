@@ -0,0 +1,11 @@
+package com.passmais.interfaces.dto;
+
+import java.util.UUID;
+
+public record DoctorSearchResultDTO(
+        UUID id,
+        String name,
+        String specialty,
+        String crm,
+        boolean approved
+) {}
@@ -0,0 +1,7 @@
+package com.passmais.interfaces.dto;
+
+import java.util.List;
+
+public record ImportReportDTO(long totalRows, long imported, long failed, List<RowError> errors) {
+    public record RowError(long line, String message) {}
+}
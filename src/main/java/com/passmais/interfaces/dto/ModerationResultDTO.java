@@ -0,0 +1,10 @@
+package com.passmais.interfaces.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+// `skipped`: avaliações fora da reivindicação ativa do moderador (vencida, de outro moderador ou já decidida)
+public record ModerationResultDTO(
+        List<UUID> updated,
+        List<UUID> skipped
+) {}
@@ -0,0 +1,13 @@
+package com.passmais.interfaces.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record NotificationReadDTO(
+        @NotEmpty(message = "Informe ao menos uma notificação")
+        @Size(max = 500, message = "Máximo de 500 notificações por requisição")
+        List<UUID> ids
+) {}
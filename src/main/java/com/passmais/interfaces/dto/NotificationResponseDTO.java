@@ -0,0 +1,14 @@
+package com.passmais.interfaces.dto;
+
+import com.passmais.domain.enums.NotificationType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record NotificationResponseDTO(
+        UUID id,
+        NotificationType type,
+        String content,
+        boolean read,
+        Instant createdAt
+) {}
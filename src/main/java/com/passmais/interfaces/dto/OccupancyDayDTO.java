@@ -0,0 +1,12 @@
+package com.passmais.interfaces.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record OccupancyDayDTO(UUID doctorId,
+                              LocalDate day,
+                              int availableSlots,
+                              int bookedSlots,
+                              int canceled,
+                              int noShows,
+                              Double occupancyRate) {}
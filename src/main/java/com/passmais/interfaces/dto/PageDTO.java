@@ -0,0 +1,15 @@
+package com.passmais.interfaces.dto;
+
+import com.passmais.application.pagination.KeysetPage;
+
+import java.util.List;
+import java.util.function.Function;
+
+// `nextCursor` nulo indica a última página
+public record PageDTO<T>(List<T> items, String nextCursor) {
+
+    public static <S, T> PageDTO<T> of(KeysetPage<S> page, Function<S, T> mapper) {
+        return new PageDTO<>(page.items().stream().map(mapper).toList(),
+                page.next() != null ? page.next().encode() : null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.passmais.interfaces.dto;
+
+import com.passmais.domain.enums.PaymentMethod;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record PaymentCreateDTO(
+        @NotNull(message = "ID da consulta é obrigatório") UUID appointmentId,
+        @NotNull(message = "Forma de pagamento é obrigatória") PaymentMethod method
+) {}
@@ -0,0 +1,16 @@
+package com.passmais.interfaces.dto;
+
+import com.passmais.domain.enums.PaymentMethod;
+import com.passmais.domain.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record PaymentResponseDTO(UUID id,
+                                 UUID appointmentId,
+                                 PaymentMethod method,
+                                 BigDecimal value,
+                                 PaymentStatus status,
+                                 String checkoutData,
+                                 Instant createdAt) {}
@@ -0,0 +1,13 @@
+package com.passmais.interfaces.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ReviewModerationDTO(
+        @NotEmpty(message = "Informe ao menos uma avaliação")
+        @Size(max = 200, message = "Máximo de 200 avaliações por requisição")
+        List<UUID> ids
+) {}
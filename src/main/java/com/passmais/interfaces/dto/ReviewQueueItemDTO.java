@@ -0,0 +1,13 @@
+package com.passmais.interfaces.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ReviewQueueItemDTO(
+        UUID id,
+        UUID appointmentId,
+        int rating,
+        String comment,
+        Instant createdAt,
+        Instant claimExpiresAt
+) {}
@@ -0,0 +1,13 @@
+package com.passmais.interfaces.dto;
+
+import com.passmais.domain.enums.ReviewStatus;
+
+import java.util.UUID;
+
+public record ReviewResponseDTO(
+        UUID id,
+        UUID appointmentId,
+        int rating,
+        String comment,
+        ReviewStatus status
+) {}
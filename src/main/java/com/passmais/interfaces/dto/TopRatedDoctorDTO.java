@@ -0,0 +1,12 @@
+package com.passmais.interfaces.dto;
+
+import java.util.UUID;
+
+public record TopRatedDoctorDTO(
+        UUID doctorId,
+        String name,
+        String specialty,
+        int reviewCount,
+        double average,
+        double score
+) {}
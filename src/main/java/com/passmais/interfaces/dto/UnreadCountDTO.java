@@ -0,0 +1,3 @@
+package com.passmais.interfaces.dto;
+
+public record UnreadCountDTO(long unread) {}
@@ -0,0 +1,13 @@
+package com.passmais.interfaces.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record WeeklyTemplateDTO(
+        @NotNull(message = "Blocos são obrigatórios")
+        @Size(max = 300, message = "Máximo de 300 blocos por semana")
+        List<@Valid AvailabilityCreateDTO> blocks
+) {}
@@ -1,5 +1,10 @@
 package com.passmais.interfaces.handler;
 
+import com.passmais.application.payment.PaymentsUnavailableException;
+import com.passmais.application.service.ResourceNotFoundException;
+import com.passmais.application.service.SlotUnavailableException;
+import com.passmais.infrastructure.notification.StreamCapacityExceededException;
+import com.passmais.infrastructure.security.PasswordHashingOverloadedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -41,6 +46,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Object> handleNotFound(ResourceNotFoundException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("mensagem", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(SlotUnavailableException.class)
+    public ResponseEntity<Object> handleSlotUnavailable(SlotUnavailableException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("mensagem", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Object> handleBadCredentials(BadCredentialsException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -48,6 +67,31 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<Object> handleHashingOverloaded(PasswordHashingOverloadedException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("mensagem", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    @ExceptionHandler(StreamCapacityExceededException.class)
+    public ResponseEntity<Object> handleStreamCapacity(StreamCapacityExceededException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("mensagem", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(body);
+    }
+
+    @ExceptionHandler(PaymentsUnavailableException.class)
+    public ResponseEntity<Object> handlePaymentsUnavailable(PaymentsUnavailableException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("mensagem", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGeneric(Exception ex) {
         Map<String, Object> body = new HashMap<>();
@@ -1,6 +1,7 @@
 package com.passmais.interfaces.mapper;
 
 import com.passmais.domain.entity.Appointment;
+import com.passmais.infrastructure.repository.AppointmentRepository.AppointmentSummary;
 import com.passmais.interfaces.dto.AppointmentResponseDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -10,5 +11,7 @@ public interface AppointmentMapper {
     @Mapping(source = "doctor.id", target = "doctorId")
     @Mapping(source = "patient.id", target = "patientId")
     AppointmentResponseDTO toResponse(Appointment appt);
+
+    AppointmentResponseDTO toResponse(AppointmentSummary summary);
 }
 
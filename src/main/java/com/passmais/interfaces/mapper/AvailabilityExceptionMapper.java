@@ -0,0 +1,13 @@
+package com.passmais.interfaces.mapper;
+
+import com.passmais.domain.entity.AvailabilityException;
+import com.passmais.interfaces.dto.AvailabilityExceptionResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface AvailabilityExceptionMapper {
+    @Mapping(target = "doctorId", source = "doctor.id")
+    AvailabilityExceptionResponseDTO toResponse(AvailabilityException exception);
+}
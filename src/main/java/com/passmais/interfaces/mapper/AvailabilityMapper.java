@@ -2,6 +2,7 @@ package com.passmais.interfaces.mapper;
 
 import com.passmais.domain.entity.Availability;
 import com.passmais.interfaces.dto.AvailabilityCreateDTO;
+import com.passmais.interfaces.dto.AvailabilityResponseDTO;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -14,4 +15,7 @@ public interface AvailabilityMapper {
     @Mapping(target = "startTime", source = "startTime")
     @Mapping(target = "endTime", source = "endTime")
     Availability toEntity(AvailabilityCreateDTO dto);
+
+    @Mapping(target = "doctorId", source = "doctor.id")
+    AvailabilityResponseDTO toResponse(Availability availability);
 }
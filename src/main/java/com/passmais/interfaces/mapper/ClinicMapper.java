@@ -0,0 +1,10 @@
+package com.passmais.interfaces.mapper;
+
+import com.passmais.domain.entity.Clinic;
+import com.passmais.interfaces.dto.ClinicResponseDTO;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ClinicMapper {
+    ClinicResponseDTO toResponse(Clinic clinic);
+}
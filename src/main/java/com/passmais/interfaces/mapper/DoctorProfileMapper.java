@@ -0,0 +1,12 @@
+package com.passmais.interfaces.mapper;
+
+import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.interfaces.dto.DoctorProfileResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface DoctorProfileMapper {
+    @Mapping(source = "user.id", target = "userId")
+    DoctorProfileResponseDTO toResponse(DoctorProfile doctor);
+}
@@ -0,0 +1,13 @@
+package com.passmais.interfaces.mapper;
+
+import com.passmais.infrastructure.repository.NotificationRepository.NotificationView;
+import com.passmais.interfaces.dto.NotificationResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface NotificationMapper {
+    @Mapping(target = "read", source = "readFlag")
+    NotificationResponseDTO toResponse(NotificationView notification);
+}
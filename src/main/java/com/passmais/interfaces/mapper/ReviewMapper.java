@@ -0,0 +1,12 @@
+package com.passmais.interfaces.mapper;
+
+import com.passmais.domain.entity.Review;
+import com.passmais.interfaces.dto.ReviewResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface ReviewMapper {
+    @Mapping(source = "appointment.id", target = "appointmentId")
+    ReviewResponseDTO toResponse(Review review);
+}
@@ -0,0 +1,9 @@
+-- Consulta de auditoria: filtros por ator, ação e período, sempre em ordem (created_at, id) decrescente
+CREATE INDEX idx_audit_logs_created
+    ON audit_logs(created_at DESC, id DESC);
+
+CREATE INDEX idx_audit_logs_actor_created
+    ON audit_logs(actor_user_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_audit_logs_action_created
+    ON audit_logs(action, created_at DESC, id DESC);
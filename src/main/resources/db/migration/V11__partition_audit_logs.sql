@@ -0,0 +1,79 @@
+-- audit_logs e moderation_logs passam a ser particionadas por mês (created_at, UTC).
+-- Partições antigas são desanexadas e arquivadas pelo AuditPartitionMaintenance; as futuras são
+-- criadas antecipadamente por ensure_monthly_partitions (aqui e no job diário).
+
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent TEXT, from_month DATE, months INT)
+RETURNS INT AS $$
+DECLARE
+    m DATE := date_trunc('month', from_month)::date;
+    part TEXT;
+    created INT := 0;
+BEGIN
+    FOR i IN 1..months LOOP
+        part := parent || '_' || to_char(m, 'YYYYMM');
+        IF to_regclass(part) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)', part, parent,
+                           m::timestamp AT TIME ZONE 'UTC', (m + interval '1 month')::timestamp AT TIME ZONE 'UTC');
+            created := created + 1;
+        END IF;
+        m := (m + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END
+$$ LANGUAGE plpgsql;
+
+-- audit_logs
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+DROP INDEX idx_audit_logs_created;
+DROP INDEX idx_audit_logs_actor_created;
+DROP INDEX idx_audit_logs_action_created;
+
+CREATE TABLE audit_logs (
+    id UUID NOT NULL,
+    actor_user_id UUID NOT NULL,
+    action VARCHAR(80) NOT NULL,
+    details VARCHAR(2000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- do mês do registro mais antigo até 3 meses à frente
+SELECT ensure_monthly_partitions('audit_logs', d,
+        ((extract(year FROM age(date_trunc('month', now()), d)) * 12
+          + extract(month FROM age(date_trunc('month', now()), d)))::int + 4))
+FROM (SELECT date_trunc('month', coalesce(min(created_at), now()) AT TIME ZONE 'UTC')::date AS d
+      FROM audit_logs_legacy) s;
+
+INSERT INTO audit_logs (id, actor_user_id, action, details, created_at)
+SELECT id, actor_user_id, action, details, coalesce(created_at, now()) FROM audit_logs_legacy;
+DROP TABLE audit_logs_legacy;
+
+-- índices no pai: replicados em cada partição, inclusive nas criadas depois
+CREATE INDEX idx_audit_logs_created ON audit_logs(created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_actor_created ON audit_logs(actor_user_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_action_created ON audit_logs(action, created_at DESC, id DESC);
+
+-- moderation_logs
+ALTER TABLE moderation_logs RENAME TO moderation_logs_legacy;
+
+CREATE TABLE moderation_logs (
+    id UUID NOT NULL,
+    admin_user_id UUID NOT NULL,
+    action VARCHAR(80) NOT NULL,
+    details VARCHAR(2000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+SELECT ensure_monthly_partitions('moderation_logs', d,
+        ((extract(year FROM age(date_trunc('month', now()), d)) * 12
+          + extract(month FROM age(date_trunc('month', now()), d)))::int + 4))
+FROM (SELECT date_trunc('month', coalesce(min(created_at), now()) AT TIME ZONE 'UTC')::date AS d
+      FROM moderation_logs_legacy) s;
+
+INSERT INTO moderation_logs (id, admin_user_id, action, details, created_at)
+SELECT id, admin_user_id, action, details, coalesce(created_at, now()) FROM moderation_logs_legacy;
+DROP TABLE moderation_logs_legacy;
+
+CREATE INDEX idx_moderation_logs_created ON moderation_logs(created_at DESC, id DESC);
+CREATE INDEX idx_moderation_logs_admin_created ON moderation_logs(admin_user_id, created_at DESC, id DESC);
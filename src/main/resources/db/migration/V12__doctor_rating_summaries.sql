@@ -0,0 +1,26 @@
+-- Resumo de notas por médico (só avaliações APPROVED), atualizado a cada moderação em vez de agregado por leitura
+CREATE TABLE doctor_rating_summaries (
+    doctor_id UUID PRIMARY KEY REFERENCES doctor_profiles(id) ON DELETE CASCADE,
+    review_count INT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_1 INT NOT NULL DEFAULT 0,
+    rating_2 INT NOT NULL DEFAULT 0,
+    rating_3 INT NOT NULL DEFAULT 0,
+    rating_4 INT NOT NULL DEFAULT 0,
+    rating_5 INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT chk_rating_summary_count CHECK (review_count >= 0
+        AND review_count = rating_1 + rating_2 + rating_3 + rating_4 + rating_5)
+);
+
+ALTER TABLE reviews ADD CONSTRAINT chk_reviews_rating CHECK (rating BETWEEN 1 AND 5);
+
+INSERT INTO doctor_rating_summaries (doctor_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5)
+SELECT a.doctor_id, count(*), sum(r.rating),
+       count(*) FILTER (WHERE r.rating = 1), count(*) FILTER (WHERE r.rating = 2),
+       count(*) FILTER (WHERE r.rating = 3), count(*) FILTER (WHERE r.rating = 4),
+       count(*) FILTER (WHERE r.rating = 5)
+FROM reviews r
+JOIN appointments a ON a.id = r.appointment_id
+WHERE r.status = 'APPROVED'
+GROUP BY a.doctor_id;
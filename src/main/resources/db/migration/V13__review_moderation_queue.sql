@@ -0,0 +1,8 @@
+-- Fila de moderação de avaliações: cada moderador reivindica um lote (SKIP LOCKED) por tempo limitado
+ALTER TABLE reviews
+    ADD COLUMN created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    ADD COLUMN claimed_by_id UUID REFERENCES users(id) ON DELETE SET NULL,
+    ADD COLUMN claim_expires_at TIMESTAMP WITH TIME ZONE;
+
+-- ordem de chegada, só pendentes: o índice encolhe conforme a fila é moderada
+CREATE INDEX idx_reviews_pending_queue ON reviews(created_at, id) WHERE status = 'PENDING';
@@ -0,0 +1,10 @@
+-- Busca de médicos: prefixo/aproximada por trigramas em nome e especialidade, texto em especialidade + bio
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_doctor_profiles_specialty_trgm ON doctor_profiles USING gin (lower(specialty) gin_trgm_ops);
+CREATE INDEX idx_doctor_profiles_search_tsv ON doctor_profiles
+    USING gin (to_tsvector('simple', coalesce(specialty, '') || ' ' || coalesce(bio, '')));
+
+-- filtro por clínica parte da clínica (a PK começa por doctor_id)
+CREATE INDEX idx_doctor_clinics_clinic ON doctor_clinics(clinic_id, doctor_id);
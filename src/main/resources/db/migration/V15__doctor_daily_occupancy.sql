@@ -0,0 +1,57 @@
+-- Ocupação diária por médico (dia no fuso da agenda), mantida pelo OccupancyRollupService
+CREATE TABLE doctor_daily_occupancy (
+    doctor_id UUID NOT NULL REFERENCES doctor_profiles(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    available_slots INT NOT NULL,
+    booked_slots INT NOT NULL,
+    canceled INT NOT NULL,
+    no_shows INT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (doctor_id, day)
+);
+
+-- até onde as alterações de consultas já foram incorporadas; histórico anterior entra pelo rebuild
+CREATE TABLE rollup_watermarks (
+    name VARCHAR(80) PRIMARY KEY,
+    watermark TIMESTAMP WITH TIME ZONE NOT NULL
+);
+INSERT INTO rollup_watermarks (name, watermark) VALUES ('doctor-occupancy', now());
+
+-- consultas: updated_at mantido pelo banco, lido pela janela (watermark, agora - atraso]
+ALTER TABLE appointments ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+CREATE INDEX idx_appointments_updated_at ON appointments(updated_at);
+
+CREATE OR REPLACE FUNCTION touch_updated_at() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_appointments_touch_updated_at
+    BEFORE UPDATE ON appointments
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
+
+-- disponibilidade mudou: os dias futuros do médico são recalculados na próxima execução.
+-- Sem FK: a exclusão em cascata de um médico também dispara o gatilho (o job ignora ids inexistentes)
+CREATE TABLE occupancy_refresh_requests (
+    doctor_id UUID PRIMARY KEY,
+    requested_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE OR REPLACE FUNCTION request_occupancy_refresh() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO occupancy_refresh_requests (doctor_id)
+    VALUES (CASE WHEN TG_OP = 'DELETE' THEN OLD.doctor_id ELSE NEW.doctor_id END)
+    ON CONFLICT (doctor_id) DO NOTHING;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_availabilities_occupancy
+    AFTER INSERT OR UPDATE OR DELETE ON availabilities
+    FOR EACH ROW EXECUTE FUNCTION request_occupancy_refresh();
+
+CREATE TRIGGER trg_availability_exceptions_occupancy
+    AFTER INSERT OR UPDATE OR DELETE ON availability_exceptions
+    FOR EACH ROW EXECUTE FUNCTION request_occupancy_refresh();
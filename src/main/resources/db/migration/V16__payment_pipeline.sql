@@ -0,0 +1,38 @@
+-- Pipeline de pagamentos: intenção criada na requisição, cobrança no gateway fora da transação,
+-- confirmação por webhook processada em lotes
+ALTER TABLE payments ADD COLUMN gateway VARCHAR(40);
+ALTER TABLE payments ADD COLUMN gateway_reference VARCHAR(120);
+ALTER TABLE payments ADD COLUMN checkout_data VARCHAR(2000);
+ALTER TABLE payments ADD COLUMN created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE payments ADD CONSTRAINT chk_payments_status
+    CHECK (status IN ('PENDING', 'PAID', 'FAILED', 'REFUNDED'));
+
+-- Idempotency-Key por usuário; a FK é verificada no commit porque a chave é gravada antes do pagamento
+-- (a chave decide a corrida entre requisições repetidas)
+CREATE TABLE payment_idempotency_keys (
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(120) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    payment_id UUID NOT NULL REFERENCES payments(id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (user_id, idempotency_key)
+);
+CREATE INDEX idx_payment_idempotency_keys_created_at ON payment_idempotency_keys(created_at);
+
+-- webhooks recebidos: (gateway, event_id) único descarta reenvios; sem FK para pagamentos desconhecidos
+CREATE TABLE payment_webhook_events (
+    id UUID PRIMARY KEY,
+    gateway VARCHAR(40) NOT NULL,
+    event_id VARCHAR(120) NOT NULL,
+    payment_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    receipt VARCHAR(255),
+    received_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    available_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    attempts INT NOT NULL DEFAULT 0,
+    processed_at TIMESTAMP WITH TIME ZONE,
+    outcome VARCHAR(20),
+    CONSTRAINT uq_payment_webhook_events UNIQUE (gateway, event_id)
+);
+CREATE INDEX idx_payment_webhook_events_pending ON payment_webhook_events(available_at)
+    WHERE processed_at IS NULL;
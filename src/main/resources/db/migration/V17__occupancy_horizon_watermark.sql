@@ -0,0 +1,3 @@
+-- último dia do horizonte já materializado para todos os médicos (início do dia no fuso da agenda).
+-- Época = nada materializado: a primeira execução cobre o horizonte inteiro, inclusive dias sem consultas
+INSERT INTO rollup_watermarks (name, watermark) VALUES ('doctor-occupancy-horizon', 'epoch');
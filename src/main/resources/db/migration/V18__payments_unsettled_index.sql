@@ -0,0 +1,3 @@
+-- reconciliação periódica: só pagamentos PENDING ainda sem resultado da cobrança
+CREATE INDEX idx_payments_unsettled ON payments(created_at)
+    WHERE status = 'PENDING' AND gateway_reference IS NULL;
@@ -0,0 +1,10 @@
+-- CONCURRENTLY: sem bloquear gravações em appointments durante a criação. O Flyway executa este arquivo fora
+-- de transação (só contém comandos CONCURRENTLY). Se falhar, o índice fica INVALID: remova-o e repita.
+
+-- Um único agendamento ativo por médico e horário, garantido pelo banco
+CREATE UNIQUE INDEX CONCURRENTLY ux_appointments_doctor_slot_active
+    ON appointments(doctor_id, date_time)
+    WHERE status IN ('PENDING', 'IN_PROGRESS', 'DONE');
+
+-- Consultas por faixa de horário do médico em qualquer status
+CREATE INDEX CONCURRENTLY idx_appointments_doctor_date_time ON appointments(doctor_id, date_time);
@@ -0,0 +1,15 @@
+-- O check-then-insert antigo deixava dois agendamentos ativos no mesmo horário do médico. Antes do índice
+-- único (V3_1), mantém um por (doctor_id, date_time) e cancela os demais. Não há coluna de criação: fica o
+-- mais avançado (DONE > IN_PROGRESS > PENDING) e, no empate, o gravado primeiro na tabela (ctid).
+WITH ranked AS (
+    SELECT id, row_number() OVER (
+               PARTITION BY doctor_id, date_time
+               ORDER BY CASE status WHEN 'DONE' THEN 0 WHEN 'IN_PROGRESS' THEN 1 ELSE 2 END, ctid
+           ) AS rn
+    FROM appointments
+    WHERE status IN ('PENDING', 'IN_PROGRESS', 'DONE')
+)
+UPDATE appointments a
+SET status = 'CANCELED'
+FROM ranked r
+WHERE a.id = r.id AND r.rn > 1;
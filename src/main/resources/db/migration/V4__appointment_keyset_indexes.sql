@@ -0,0 +1,10 @@
+-- Paginação por chave (date_time, id) em listagens de paciente e médico.
+-- INCLUDE cobre as colunas da projeção, permitindo index-only scan.
+CREATE INDEX idx_appointments_patient_keyset
+    ON appointments(patient_id, date_time, id) INCLUDE (status, doctor_id);
+
+CREATE INDEX idx_appointments_doctor_keyset
+    ON appointments(doctor_id, date_time, id) INCLUDE (status, patient_id);
+
+-- Substituído pelo índice de keyset do médico (mesmo prefixo)
+DROP INDEX IF EXISTS idx_appointments_doctor_date_time;
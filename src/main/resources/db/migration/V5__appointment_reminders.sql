@@ -0,0 +1,18 @@
+-- Leases de tarefas agendadas: um único nó executa cada tarefa por vez.
+CREATE TABLE scheduler_leases (
+    name VARCHAR(80) PRIMARY KEY,
+    owner VARCHAR(120) NOT NULL,
+    lease_until TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Registro dos lembretes enviados (consulta + antecedência); impede envio duplicado em troca de lease.
+CREATE TABLE appointment_reminders (
+    appointment_id UUID NOT NULL REFERENCES appointments(id) ON DELETE CASCADE,
+    offset_minutes INTEGER NOT NULL,
+    sent_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (appointment_id, offset_minutes)
+);
+
+-- Recarga da roda de lembretes: faixa de date_time só sobre consultas pendentes
+CREATE INDEX idx_appointments_pending_date_time
+    ON appointments(date_time) INCLUDE (patient_id) WHERE status = 'PENDING';
@@ -0,0 +1,8 @@
+-- Job de ciclo de vida: busca por faixa de date_time só entre consultas em andamento
+-- (as pendentes já usam idx_appointments_pending_date_time).
+CREATE INDEX idx_appointments_in_progress_date_time
+    ON appointments(date_time) WHERE status = 'IN_PROGRESS';
+
+-- Decide entre DONE e NO_SHOW pela existência de nota clínica
+CREATE INDEX idx_clinical_notes_appointment
+    ON clinical_notes(appointment_id);
@@ -0,0 +1,18 @@
+-- Exceções por data ao modelo semanal: bloqueios (feriados, férias) e horários extras.
+CREATE TABLE availability_exceptions (
+    id UUID PRIMARY KEY,
+    doctor_id UUID NOT NULL REFERENCES doctor_profiles(id) ON DELETE CASCADE,
+    type VARCHAR(12) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    start_time TIME,
+    end_time TIME,
+    reason VARCHAR(200),
+    CHECK (end_date >= start_date),
+    CHECK ((start_time IS NULL AND end_time IS NULL) OR (start_time IS NOT NULL AND end_time IS NOT NULL AND start_time < end_time)),
+    CHECK (type <> 'EXTRA' OR start_time IS NOT NULL)
+);
+
+-- Busca por sobreposição de período: end_date >= :from filtra o histórico, start_date vem do INCLUDE
+CREATE INDEX idx_availability_exceptions_doctor_end
+    ON availability_exceptions(doctor_id, end_date) INCLUDE (start_date);
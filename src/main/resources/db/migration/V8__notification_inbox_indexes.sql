@@ -0,0 +1,7 @@
+-- Caixa de entrada: paginação por chave (created_at, id) decrescente por usuário
+CREATE INDEX idx_notifications_user_keyset
+    ON notifications(user_id, created_at DESC, id DESC);
+
+-- Não lidas: contagem, listagem filtrada e "marcar todas" sem tocar nas já lidas
+CREATE INDEX idx_notifications_user_unread
+    ON notifications(user_id, created_at DESC, id DESC) WHERE read_flag = false;
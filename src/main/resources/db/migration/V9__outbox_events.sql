@@ -0,0 +1,18 @@
+-- Outbox transacional: eventos gravados na mesma transação da mudança de negócio e entregues depois
+-- por um despachante assíncrono (com novas tentativas).
+CREATE TABLE outbox_events (
+    id UUID PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    available_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    dispatched_at TIMESTAMP WITH TIME ZONE,
+    failed_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Fila do despachante: só eventos ainda pendentes, na ordem em que ficam disponíveis
+CREATE INDEX idx_outbox_events_pending
+    ON outbox_events(available_at) WHERE dispatched_at IS NULL AND failed_at IS NULL;
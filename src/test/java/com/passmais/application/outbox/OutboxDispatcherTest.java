@@ -0,0 +1,25 @@
+package com.passmais.application.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboxDispatcherTest {
+
+    private final OutboxDispatcher dispatcher = new OutboxDispatcher(null, null, null,
+            List.of(new LocalStubChannel(List.of("EMAIL"))), new SimpleMeterRegistry(),
+            100, 8, 2_000, 60_000, "America/Sao_Paulo");
+
+    @Test
+    void backoffDoublesUntilTheCap() {
+        assertEquals(Duration.ofSeconds(2), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(4), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(32), dispatcher.backoff(5));
+        assertEquals(Duration.ofSeconds(60), dispatcher.backoff(6));
+        assertEquals(Duration.ofSeconds(60), dispatcher.backoff(40));
+    }
+}
@@ -0,0 +1,53 @@
+package com.passmais.application.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+
+    @Test
+    void encodeDecodeRoundTripKeepsNanos() {
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2026-03-02T11:20:00.123456789Z"), UUID.randomUUID());
+        assertEquals(cursor, KeysetCursor.decodeOr(cursor.encode(), KeysetCursor.START));
+    }
+
+    @Test
+    void missingCursorFallsBackAndMalformedIsRejected() {
+        assertSame(KeysetCursor.START, KeysetCursor.decodeOr(null, KeysetCursor.START));
+        assertSame(KeysetCursor.END, KeysetCursor.decodeOr("  ", KeysetCursor.END));
+        // IllegalArgumentException vira 400 no GlobalExceptionHandler
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decodeOr("não-é-base64!", KeysetCursor.START));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decodeOr("Zm9vOmJhcg", KeysetCursor.START));
+    }
+
+    @Test
+    void clampLimitBounds() {
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.clampLimit(null));
+        assertEquals(1, KeysetCursor.clampLimit(1));
+        assertEquals(KeysetCursor.MAX_LIMIT, KeysetCursor.clampLimit(KeysetCursor.MAX_LIMIT));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.clampLimit(0));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.clampLimit(KeysetCursor.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void pageUsesExtraRowOnlyToSignalNextPage() {
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        List<KeysetCursor> rows = List.of(
+                new KeysetCursor(t, UUID.randomUUID()),
+                new KeysetCursor(t.plusSeconds(1), UUID.randomUUID()),
+                new KeysetCursor(t.plusSeconds(2), UUID.randomUUID()));
+
+        KeysetPage<KeysetCursor> full = KeysetPage.of(rows, 2, c -> c);
+        assertEquals(rows.subList(0, 2), full.items());
+        assertEquals(rows.get(1), full.next());
+
+        KeysetPage<KeysetCursor> last = KeysetPage.of(rows, 3, c -> c);
+        assertEquals(rows, last.items());
+        assertNull(last.next());
+    }
+}
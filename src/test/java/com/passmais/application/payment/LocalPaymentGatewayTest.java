@@ -0,0 +1,44 @@
+package com.passmais.application.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.passmais.domain.enums.PaymentMethod;
+import com.passmais.domain.enums.PaymentStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalPaymentGatewayTest {
+
+    private final LocalPaymentGateway gateway = new LocalPaymentGateway(new ObjectMapper(), "segredo", 0);
+
+    @Test
+    void chargeIsStablePerPayment() {
+        UUID paymentId = UUID.randomUUID();
+        ChargeRequest request = new ChargeRequest(paymentId, PaymentMethod.PIX, new BigDecimal("150.00"), "Consulta");
+        ChargeResponse first = gateway.createCharge(request).join();
+        ChargeResponse second = gateway.createCharge(request).join();
+        assertEquals(first.reference(), second.reference());
+        assertTrue(first.checkoutData().startsWith("PIX-LOCAL:"));
+    }
+
+    @Test
+    void webhookRequiresValidSignature() {
+        UUID paymentId = UUID.randomUUID();
+        byte[] body = ("{\"eventId\":\"evt-1\",\"paymentId\":\"" + paymentId + "\",\"status\":\"PAID\",\"receipt\":\"r1\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        GatewayEvent event = gateway.parseWebhook(body, gateway.sign(body));
+        assertEquals(new GatewayEvent("evt-1", paymentId, PaymentStatus.PAID, "r1"), event);
+
+        assertThrows(BadCredentialsException.class, () -> gateway.parseWebhook(body, "00"));
+        assertThrows(BadCredentialsException.class, () -> gateway.parseWebhook(body, null));
+        String tampered = new String(body, StandardCharsets.UTF_8).replace("PAID", "PENDING");
+        byte[] bad = tampered.getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> gateway.parseWebhook(bad, gateway.sign(bad)));
+    }
+}
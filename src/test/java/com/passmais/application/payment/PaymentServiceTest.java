@@ -0,0 +1,142 @@
+package com.passmais.application.payment;
+
+import com.passmais.application.service.ResourceNotFoundException;
+import com.passmais.domain.enums.PaymentMethod;
+import com.passmais.domain.enums.PaymentStatus;
+import com.passmais.infrastructure.audit.AuditEvent;
+import com.passmais.infrastructure.audit.AuditTrailWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PaymentServiceTest {
+
+    private static final String KEY = "chave-secreta-123";
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID appointmentId = UUID.randomUUID();
+    private final UUID paymentId = UUID.randomUUID();
+    private JdbcTemplate jdbc;
+    private PaymentGateway gateway;
+    private AuditTrailWriter auditTrail;
+    private PaymentService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() throws Exception {
+        jdbc = Mockito.mock(JdbcTemplate.class);
+        TransactionTemplate tx = Mockito.mock(TransactionTemplate.class);
+        when(tx.execute(any())).thenAnswer(inv -> inv.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        gateway = Mockito.mock(PaymentGateway.class);
+        when(gateway.name()).thenReturn("local");
+        auditTrail = Mockito.mock(AuditTrailWriter.class);
+
+        when(jdbc.queryForList(startsWith("select p.user_id"), (Object) eq(appointmentId)))
+                .thenReturn(List.of(Map.of("user_id", userId, "status", "PENDING")));
+        when(jdbc.update(startsWith("insert into payment_idempotency_keys"), any(), any(), any(), any())).thenReturn(1);
+        when(jdbc.queryForList(startsWith("insert into payments"), eq(UUID.class), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(paymentId));
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        when(rs.getObject("id", UUID.class)).thenReturn(paymentId);
+        when(rs.getObject("appointment_id", UUID.class)).thenReturn(appointmentId);
+        when(rs.getString("method")).thenReturn("PIX");
+        when(rs.getString("status")).thenReturn("PENDING");
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.from(Instant.now()));
+        when(jdbc.query(startsWith("select py.id"), any(RowMapper.class), (Object) eq(paymentId)))
+                .thenAnswer(inv -> List.of(inv.getArgument(1, RowMapper.class).mapRow(rs, 0)));
+
+        service = new PaymentService(jdbc, tx, auditTrail, List.of(gateway), new SimpleMeterRegistry(),
+                "local", new BigDecimal("150.00"), 5000, 1, 1);
+    }
+
+    @Test
+    void auditsIntentAfterChargeOutcomeWithoutIdempotencyKey() {
+        CompletableFuture<ChargeResponse> charge = new CompletableFuture<>();
+        when(gateway.createCharge(any())).thenReturn(charge);
+
+        CompletableFuture<PaymentService.IntentResult> result = service.createIntent(userId, KEY, appointmentId, PaymentMethod.PIX);
+        verifyNoInteractions(auditTrail);
+
+        charge.complete(new ChargeResponse("ref-1", "pix-copia-e-cola"));
+        assertFalse(result.join().replayed());
+        AuditEvent event = captureEvent();
+        assertEquals("PAYMENT_INTENT_CREATED", event.action());
+        assertEquals(userId, event.actorUserId());
+        assertTrue(event.details().contains(paymentId.toString()));
+        assertFalse(event.details().contains(KEY));
+    }
+
+    @Test
+    void failedChargeIsAuditedAsFailure() {
+        when(gateway.createCharge(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("fora do ar")));
+
+        service.createIntent(userId, KEY, appointmentId, PaymentMethod.PIX).join();
+
+        assertEquals("PAYMENT_INTENT_FAILED", captureEvent().action());
+    }
+
+    @Test
+    void saturatedCallbackPoolAnswersFromMemoryWithoutWritingOnGatewayThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbc.update(startsWith("update payments set gateway_reference"), any(), any(), any())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        CompletableFuture<ChargeResponse> first = new CompletableFuture<>();
+        CompletableFuture<ChargeResponse> second = new CompletableFuture<>();
+        CompletableFuture<ChargeResponse> third = new CompletableFuture<>();
+        when(gateway.createCharge(any())).thenReturn(first, second, third);
+
+        CompletableFuture<PaymentService.IntentResult> r1 = service.createIntent(userId, KEY + "-1", appointmentId, PaymentMethod.PIX);
+        CompletableFuture<PaymentService.IntentResult> r2 = service.createIntent(userId, KEY + "-2", appointmentId, PaymentMethod.PIX);
+        CompletableFuture<PaymentService.IntentResult> r3 = service.createIntent(userId, KEY + "-3", appointmentId, PaymentMethod.PIX);
+        first.complete(new ChargeResponse("ref-1", "pix-1"));
+        verify(jdbc, timeout(2000)).update(startsWith("update payments set gateway_reference"), eq("ref-1"), any(), any());
+        second.complete(new ChargeResponse("ref-2", "pix-2"));
+        // único thread ocupado e fila cheia: o terceiro retorno é rejeitado e respondido sem JDBC
+        third.complete(new ChargeResponse("ref-3", "pix-3"));
+
+        assertTrue(r3.isDone());
+        PaymentService.PaymentView view = r3.join().payment();
+        assertEquals(PaymentStatus.PENDING, view.status());
+        assertEquals("pix-3", view.checkoutData());
+        verify(jdbc, never()).update(anyString(), eq("ref-3"), any(), any());
+
+        release.countDown();
+        r1.get(5, TimeUnit.SECONDS);
+        r2.get(5, TimeUnit.SECONDS);
+        verify(auditTrail, times(3)).enqueue(any());
+    }
+
+    @Test
+    void unknownPaymentIsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> service.find(UUID.randomUUID(), userId, false));
+    }
+
+    private AuditEvent captureEvent() {
+        ArgumentCaptor<AuditEvent> captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditTrail).enqueue(captor.capture());
+        return captor.getValue();
+    }
+}
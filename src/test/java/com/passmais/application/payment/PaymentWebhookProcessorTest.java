@@ -0,0 +1,93 @@
+package com.passmais.application.payment;
+
+import com.passmais.application.payment.PaymentWebhookProcessor.Outcome;
+import com.passmais.domain.enums.PaymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PaymentWebhookProcessorTest {
+
+    @Test
+    void classifyTreatsRepeatsAsDuplicatesAndDefersEarlyRefunds() {
+        assertEquals(Outcome.DUPLICATE, PaymentWebhookProcessor.classify(PaymentStatus.PAID, PaymentStatus.PAID, true));
+        assertEquals(Outcome.IGNORED, PaymentWebhookProcessor.classify(PaymentStatus.FAILED, PaymentStatus.PAID, true));
+        assertEquals(Outcome.IGNORED, PaymentWebhookProcessor.classify(PaymentStatus.PAID, null, true));
+        assertEquals(Outcome.DEFERRED, PaymentWebhookProcessor.classify(PaymentStatus.REFUNDED, PaymentStatus.PENDING, true));
+        assertEquals(Outcome.IGNORED, PaymentWebhookProcessor.classify(PaymentStatus.REFUNDED, PaymentStatus.PENDING, false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void duplicateWebhookInSameBatchIsRecordedWithoutSecondTransition() {
+        JdbcTemplate jdbc = Mockito.mock(JdbcTemplate.class);
+        PaymentWebhookProcessor processor = new PaymentWebhookProcessor(jdbc, Mockito.mock(TransactionTemplate.class),
+                new SimpleMeterRegistry(), 200, 10, 30000);
+        UUID paymentId = UUID.randomUUID();
+        var first = new PaymentWebhookProcessor.Claimed(UUID.randomUUID(), "local", paymentId, PaymentStatus.PAID, "r1", 0);
+        var again = new PaymentWebhookProcessor.Claimed(UUID.randomUUID(), "local", paymentId, PaymentStatus.PAID, "r1", 0);
+        when(jdbc.query(anyString(), any(RowMapper.class), anyInt())).thenReturn(List.of(first, again));
+        // o segundo UPDATE não encontra mais o status de origem
+        when(jdbc.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 0}});
+        when(jdbc.execute(any(ConnectionCallback.class))).thenReturn(Map.of("local:" + paymentId, PaymentStatus.PAID));
+        List<List<Object[]>> marks = new ArrayList<>();
+        when(jdbc.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            marks.add(inv.getArgument(1));
+            return new int[0];
+        });
+
+        assertEquals(2, processor.processBatch(Instant.now()));
+
+        List<Object[]> done = marks.get(0);
+        assertEquals(2, done.size());
+        assertEquals("APPLIED", done.get(0)[1]);
+        assertEquals("DUPLICATE", done.get(1)[1]);
+        assertTrue(marks.get(1).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventOnlyTransitionsPaymentsOfItsOwnGateway() throws Exception {
+        JdbcTemplate jdbc = Mockito.mock(JdbcTemplate.class);
+        PaymentWebhookProcessor processor = new PaymentWebhookProcessor(jdbc, Mockito.mock(TransactionTemplate.class),
+                new SimpleMeterRegistry(), 200, 10, 30000);
+        UUID paymentId = UUID.randomUUID();
+        var forged = new PaymentWebhookProcessor.Claimed(UUID.randomUUID(), "local", paymentId, PaymentStatus.PAID, null, 0);
+        when(jdbc.query(anyString(), any(RowMapper.class), anyInt())).thenReturn(List.of(forged));
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<PaymentWebhookProcessor.Claimed>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        when(jdbc.batchUpdate(anyString(), anyList(), anyInt(), setter.capture())).thenReturn(new int[][]{{0}});
+        // o pagamento existe, mas foi criado por outro gateway
+        when(jdbc.execute(any(ConnectionCallback.class))).thenReturn(Map.of("provedor:" + paymentId, PaymentStatus.PENDING));
+        List<List<Object[]>> marks = new ArrayList<>();
+        when(jdbc.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            marks.add(inv.getArgument(1));
+            return new int[0];
+        });
+
+        processor.processBatch(Instant.now());
+
+        PreparedStatement ps = Mockito.mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, forged);
+        verify(ps).setString(6, "local");
+        assertEquals("IGNORED", marks.get(0).get(0)[1]);
+    }
+}
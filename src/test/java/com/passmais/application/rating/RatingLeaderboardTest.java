@@ -0,0 +1,64 @@
+package com.passmais.application.rating;
+
+import com.passmais.application.rating.RatingLeaderboard.Entry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RatingLeaderboardTest {
+
+    private static Entry entry(UUID id, double score) {
+        return new Entry(id, "Dr " + score, "cardiologia", 10, 40, score);
+    }
+
+    private static List<UUID> ids(int n) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            ids.add(new UUID(0, i + 1));
+        }
+        return ids;
+    }
+
+    @Test
+    void completeBoardAcceptsNewcomersAndEvictsLast() {
+        List<UUID> ids = ids(4);
+        RatingLeaderboard board = new RatingLeaderboard(3, List.of(entry(ids.get(0), 4.5), entry(ids.get(1), 4.0)), Instant.now());
+        board.update(ids.get(2), entry(ids.get(2), 3.0));
+        board.update(ids.get(3), entry(ids.get(3), 4.8));
+        List<Entry> top = board.top(3);
+        assertEquals(List.of(ids.get(3), ids.get(0), ids.get(1)), top.stream().map(Entry::doctorId).toList());
+        assertFalse(board.needsReload(Instant.EPOCH));
+    }
+
+    @Test
+    void fullBoardMarksStaleWhenMemberFallsBelowLast() {
+        List<UUID> ids = ids(3);
+        RatingLeaderboard board = new RatingLeaderboard(3,
+                List.of(entry(ids.get(0), 4.9), entry(ids.get(1), 4.5), entry(ids.get(2), 4.2)), Instant.now());
+        // sobe de posição: aplicado na hora
+        board.update(ids.get(1), entry(ids.get(1), 4.95));
+        assertEquals(ids.get(1), board.top(1).get(0).doctorId());
+        assertFalse(board.needsReload(Instant.EPOCH));
+        // cai abaixo do último: quem está fora do quadro pode superá-lo
+        board.update(ids.get(0), entry(ids.get(0), 3.0));
+        assertTrue(board.needsReload(Instant.EPOCH));
+    }
+
+    @Test
+    void fullBoardTakesOutsiderOnlyWhenAboveLast() {
+        List<UUID> ids = ids(4);
+        RatingLeaderboard board = new RatingLeaderboard(3,
+                List.of(entry(ids.get(0), 4.9), entry(ids.get(1), 4.5), entry(ids.get(2), 4.2)), Instant.now());
+        board.update(ids.get(3), entry(ids.get(3), 4.0));
+        assertEquals(3, board.size());
+        assertTrue(board.top(3).stream().noneMatch(e -> e.doctorId().equals(ids.get(3))));
+        board.update(ids.get(3), entry(ids.get(3), 4.6));
+        assertEquals(List.of(ids.get(0), ids.get(3), ids.get(1)), board.top(3).stream().map(Entry::doctorId).toList());
+        assertFalse(board.needsReload(Instant.EPOCH));
+    }
+}
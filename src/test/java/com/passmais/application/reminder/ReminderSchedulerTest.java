@@ -0,0 +1,57 @@
+package com.passmais.application.reminder;
+
+import com.passmais.infrastructure.notification.NotificationWriter;
+import com.passmais.infrastructure.repository.AppointmentRepository;
+import com.passmais.infrastructure.repository.AppointmentRepository.ReminderCandidate;
+import com.passmais.infrastructure.scheduling.ClusterLease;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReminderSchedulerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reminderIsDeliveredOnNextTickAfterDatabaseFailure() {
+        AppointmentRepository appointments = Mockito.mock(AppointmentRepository.class);
+        JdbcTemplate jdbc = Mockito.mock(JdbcTemplate.class);
+        ClusterLease lease = Mockito.mock(ClusterLease.class);
+        NotificationWriter writer = Mockito.mock(NotificationWriter.class);
+        TransactionTemplate tx = Mockito.mock(TransactionTemplate.class);
+        when(tx.execute(any())).thenAnswer(inv -> inv.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        doCallRealMethod().when(tx).executeWithoutResult(any());
+        when(lease.tryAcquire(anyString(), any())).thenReturn(true);
+
+        // prazo de 60 min já passou, consulta ainda no futuro: vence no primeiro tick
+        Instant dateTime = Instant.now().plus(Duration.ofMinutes(59));
+        ReminderCandidate candidate = Mockito.mock(ReminderCandidate.class);
+        when(candidate.getAppointmentId()).thenReturn(UUID.randomUUID());
+        when(candidate.getDateTime()).thenReturn(dateTime);
+        when(candidate.getUserId()).thenReturn(UUID.randomUUID());
+        when(appointments.findPendingBetween(any(), any())).thenReturn(List.of(candidate));
+        when(jdbc.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("banco fora do ar"))
+                .thenReturn(new int[][]{{1}});
+
+        ReminderScheduler scheduler = new ReminderScheduler(appointments, jdbc, tx, lease, writer,
+                true, List.of(60), 60000, 5, 500, "America/Sao_Paulo");
+
+        scheduler.tick();
+        verify(writer, never()).write(anyList());
+
+        scheduler.tick();
+        verify(writer).write(argThat(events -> events.size() == 1));
+    }
+}
@@ -0,0 +1,60 @@
+package com.passmais.application.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    private static final Instant START = Instant.parse("2030-01-07T12:00:00Z");
+
+    @Test
+    void firesItemsOnTheirTickAcrossLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMinutes(1), 8, 2, START);
+        wheel.schedule(START.plus(Duration.ofMinutes(3)), "3min");
+        wheel.schedule(START.plus(Duration.ofMinutes(20)), "20min");
+        wheel.schedule(START.plus(Duration.ofMinutes(63)), "63min");
+
+        assertTrue(wheel.advanceTo(START.plus(Duration.ofMinutes(2))).isEmpty());
+        assertEquals(List.of("3min"), wheel.advanceTo(START.plus(Duration.ofMinutes(3))));
+        assertTrue(wheel.advanceTo(START.plus(Duration.ofMinutes(19))).isEmpty());
+        assertEquals(List.of("20min"), wheel.advanceTo(START.plus(Duration.ofMinutes(20))));
+        assertTrue(wheel.advanceTo(START.plus(Duration.ofMinutes(62))).isEmpty());
+        assertEquals(List.of("63min"), wheel.advanceTo(START.plus(Duration.ofMinutes(63))));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void overdueItemsFireOnNextAdvanceAndBeyondHorizonIsRejected() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMinutes(1), 8, 2, START);
+        assertTrue(wheel.schedule(START.minus(Duration.ofHours(1)), "atrasado"));
+        assertFalse(wheel.schedule(START.plus(wheel.horizon()), "longe"));
+        assertEquals(List.of("atrasado"), wheel.advanceTo(START));
+    }
+
+    @Test
+    void neverFiresEarlyOrLate() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofMinutes(1), 16, 3, START.plusSeconds(37));
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            long minute = 1 + random.nextInt(16 * 16 * 16 - 20);
+            expected.add(minute);
+            wheel.schedule(START.plus(Duration.ofMinutes(minute)), minute);
+        }
+        int fired = 0;
+        for (long minute = 1; minute <= 16 * 16 * 16; minute += 1 + random.nextInt(3)) {
+            for (long m : wheel.advanceTo(START.plus(Duration.ofMinutes(minute)))) {
+                assertTrue(m <= minute && m > minute - 3, "disparou fora do tick: " + m + " em " + minute);
+                fired++;
+            }
+        }
+        assertEquals(expected.size(), fired);
+    }
+}
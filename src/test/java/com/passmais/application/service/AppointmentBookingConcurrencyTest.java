@@ -0,0 +1,96 @@
+package com.passmais.application.service;
+
+import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.domain.entity.PatientProfile;
+import com.passmais.domain.entity.User;
+import com.passmais.domain.enums.Role;
+import com.passmais.infrastructure.repository.DoctorProfileRepository;
+import com.passmais.infrastructure.repository.PatientProfileRepository;
+import com.passmais.infrastructure.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Requer PostgreSQL real (ex.: docker compose up -d db e SPRING_DATASOURCE_URL definido; ver README, seção Testes).
+// A vazão sob disputa é medida em src/jmh (AppointmentBookingBenchmark, perfil jmh)
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+public class AppointmentBookingConcurrencyTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DoctorProfileRepository doctorRepo;
+    @Autowired
+    private PatientProfileRepository patientRepo;
+
+    private final List<UUID> createdUsers = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        userRepository.deleteAllById(createdUsers);
+    }
+
+    @Test
+    void hundredsOfParallelBookingsOnOneSlotHaveExactlyOneWinner() throws Exception {
+        DoctorProfile doctor = doctorRepo.save(DoctorProfile.builder().user(user(Role.DOCTOR)).crm("CRM-" + UUID.randomUUID()).build());
+        PatientProfile patient = patientRepo.save(PatientProfile.builder().user(user(Role.PATIENT)).cpf("000.000.000-00").build());
+        Instant slot = Instant.now().plus(Duration.ofDays(3)).truncatedTo(ChronoUnit.HOURS);
+
+        int attempts = 400;
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                try {
+                    appointmentService.schedule(doctor, patient, slot);
+                    wins.incrementAndGet();
+                } catch (SlotUnavailableException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        assertEquals(1, wins.get());
+        assertEquals(attempts - 1, conflicts.get());
+    }
+
+    private User user(Role role) {
+        User u = userRepository.save(User.builder()
+                .name("Teste concorrência")
+                .email(UUID.randomUUID() + "@passmais.test")
+                .password("x")
+                .role(role)
+                .build());
+        createdUsers.add(u.getId());
+        return u;
+    }
+}
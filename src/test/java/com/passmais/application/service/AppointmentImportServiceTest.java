@@ -0,0 +1,103 @@
+package com.passmais.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.passmais.application.service.AppointmentImportService.Format;
+import com.passmais.application.service.AppointmentImportService.ImportReport;
+import com.passmais.application.service.AppointmentImportService.RowError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AppointmentImportServiceTest {
+
+    private final UUID doctorId = UUID.randomUUID();
+    private final UUID patientId = UUID.randomUUID();
+    private final Instant future = Instant.now().plus(Duration.ofDays(3)).truncatedTo(ChronoUnit.SECONDS);
+    private final List<String> insertedStatuses = new ArrayList<>();
+    private AppointmentImportService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        JdbcTemplate jdbc = Mockito.mock(JdbcTemplate.class);
+        // médico e paciente existem (consulta de existência feita pelo NamedParameterJdbcTemplate)
+        when(jdbc.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn(List.of(doctorId, patientId));
+        when(jdbc.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class))).thenAnswer(inv -> {
+            List<Object> rows = inv.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = inv.getArgument(3);
+            int[] counts = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                PreparedStatement ps = Mockito.mock(PreparedStatement.class);
+                doAnswer(a -> insertedStatuses.add(a.getArgument(1))).when(ps).setString(eq(5), anyString());
+                setter.setValues(ps, rows.get(i));
+                counts[i] = 1;
+            }
+            return new int[][]{counts};
+        });
+        TransactionTemplate tx = Mockito.mock(TransactionTemplate.class);
+        when(tx.execute(any())).thenAnswer(inv -> inv.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        doCallRealMethod().when(tx).executeWithoutResult(any());
+        service = new AppointmentImportService(jdbc, tx, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void csvWithoutStatusColumnImportsAsPending() throws Exception {
+        String csv = "doctorId,patientId,dateTime\n"
+                + doctorId + "," + patientId + "," + future + "\n"
+                + doctorId + "," + patientId + "," + future.plus(Duration.ofHours(1)) + ",DONE,120.00\n";
+
+        ImportReport report = service.importAppointments(new StringReader(csv), Format.CSV);
+
+        assertEquals(2, report.totalRows());
+        assertEquals(2, report.imported());
+        assertEquals(List.of("PENDING", "DONE"), insertedStatuses);
+    }
+
+    @Test
+    void ndjsonWithoutStatusImportsAsPendingAndReportsBadLines() throws Exception {
+        String ndjson = "{\"doctorId\":\"" + doctorId + "\",\"patientId\":\"" + patientId + "\",\"dateTime\":\"" + future + "\"}\n"
+                + "{não é json}\n"
+                + "{\"doctorId\":\"" + doctorId + "\",\"patientId\":\"" + patientId + "\",\"dateTime\":\"2020-01-01T10:00:00Z\"}\n";
+
+        ImportReport report = service.importAppointments(new StringReader(ndjson), Format.NDJSON);
+
+        assertEquals(3, report.totalRows());
+        assertEquals(1, report.imported());
+        assertEquals(List.of("PENDING"), insertedStatuses);
+        assertEquals(List.of(new RowError(2, "Linha mal formatada"), new RowError(3, "Consulta pendente deve ser no futuro")),
+                report.errors());
+    }
+
+    @Test
+    void duplicateActiveSlotInFileIsRejected() throws Exception {
+        String csv = doctorId + "," + patientId + "," + future + ",PENDING\n"
+                + doctorId + "," + patientId + "," + future + "\n"
+                // cancelada não ocupa o horário
+                + doctorId + "," + patientId + "," + future + ",CANCELED\n";
+
+        ImportReport report = service.importAppointments(new StringReader(csv), Format.CSV);
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new RowError(2, "Horário duplicado no arquivo para o mesmo médico")), report.errors());
+    }
+}
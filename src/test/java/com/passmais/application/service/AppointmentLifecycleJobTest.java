@@ -0,0 +1,32 @@
+package com.passmais.application.service;
+
+import com.passmais.infrastructure.repository.AppointmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class AppointmentLifecycleJobTest {
+
+    @Test
+    void drainsEachTransitionInChunksAndCountsRows() {
+        AppointmentRepository repo = mock(AppointmentRepository.class);
+        when(repo.startDue(any(Instant.class), anyInt())).thenReturn(10, 10, 3);
+        when(repo.completeAttended(any(Instant.class), anyInt())).thenReturn(4);
+        when(repo.markNoShows(any(Instant.class), anyInt())).thenReturn(0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new AppointmentLifecycleJob(repo, registry, 10, 120).run();
+
+        verify(repo, times(3)).startDue(any(Instant.class), eq(10));
+        verify(repo, times(1)).completeAttended(any(Instant.class), eq(10));
+        assertEquals(23.0, registry.get("appointments.lifecycle.transitions").tag("to", "in_progress").counter().count());
+        assertEquals(4.0, registry.get("appointments.lifecycle.transitions").tag("to", "done").counter().count());
+        assertEquals(1, registry.get("appointments.lifecycle.run").timer().count());
+    }
+}
@@ -1,5 +1,6 @@
 package com.passmais.application.service;
 
+import com.passmais.application.outbox.OutboxWriter;
 import com.passmais.domain.entity.Appointment;
 import com.passmais.domain.entity.DoctorProfile;
 import com.passmais.domain.entity.PatientProfile;
@@ -24,7 +25,7 @@ public class AppointmentServiceTest {
     @BeforeEach
     void setup() {
         repo = Mockito.mock(AppointmentRepository.class);
-        service = new AppointmentService(repo);
+        service = new AppointmentService(repo, Mockito.mock(OutboxWriter.class));
     }
 
     @Test
@@ -47,10 +48,20 @@ public class AppointmentServiceTest {
         DoctorProfile d = new DoctorProfile();
         PatientProfile p = new PatientProfile();
         Instant future = Instant.now().plus(Duration.ofHours(24));
-        when(repo.existsByDoctorAndDateTimeAndStatusIn(any(), any(), anyList())).thenReturn(false);
-        when(repo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(repo.insertIfSlotFree(any(), any(), any(), any(), any())).thenReturn(1);
         Appointment appt = service.schedule(d, p, future);
         assertEquals(AppointmentStatus.PENDING, appt.getStatus());
         assertEquals(future, appt.getDateTime());
+        assertNotNull(appt.getId());
+    }
+
+    @Test
+    void scheduleFailsFastWhenSlotTaken() {
+        DoctorProfile d = new DoctorProfile();
+        PatientProfile p = new PatientProfile();
+        Instant future = Instant.now().plus(Duration.ofHours(24));
+        when(repo.insertIfSlotFree(any(), any(), any(), any(), any())).thenReturn(0);
+        SlotUnavailableException ex = assertThrows(SlotUnavailableException.class, () -> service.schedule(d, p, future));
+        assertEquals(0, ex.getStackTrace().length);
     }
 }
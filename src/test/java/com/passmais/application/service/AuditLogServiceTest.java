@@ -0,0 +1,61 @@
+package com.passmais.application.service;
+
+import com.passmais.application.pagination.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AuditLogServiceTest {
+
+    @Test
+    void onlySuppliedFiltersAppearInSql() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = AuditLogService.select(new AuditLogService.Filter(null, "LOGIN", null, null), params).toString();
+        assertTrue(sql.contains("action = :action"));
+        assertFalse(sql.contains("actor_user_id = :actor"));
+        assertFalse(sql.contains("created_at >="));
+        assertFalse(sql.contains("created_at <"));
+        assertEquals(Set.of("action"), Set.of(params.getParameterNames()));
+    }
+
+    @Test
+    void allFiltersAppearWhenSupplied() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        String sql = AuditLogService.select(new AuditLogService.Filter(UUID.randomUUID(), "LOGIN", from, from.plusSeconds(60)), params).toString();
+        assertTrue(sql.contains("actor_user_id = :actor"));
+        assertTrue(sql.contains("action = :action"));
+        assertTrue(sql.contains("created_at >= :from"));
+        assertTrue(sql.contains("created_at < :to"));
+        assertEquals(Set.of("actor", "action", "from", "to"), Set.of(params.getParameterNames()));
+    }
+
+    @Test
+    void blankActionIsIgnored() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = AuditLogService.select(new AuditLogService.Filter(null, "  ", null, null), params).toString();
+        assertFalse(sql.contains(":action"));
+        assertEquals(0, params.getParameterNames().length);
+    }
+
+    @Test
+    void fromNotBeforeToIsRejectedBeforeQuerying() {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        AuditLogService service = new AuditLogService(dataSource, Mockito.mock(PlatformTransactionManager.class), 1000);
+        Instant at = Instant.parse("2024-01-01T00:00:00Z");
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(new AuditLogService.Filter(null, null, at, at), KeysetCursor.END, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.export(new AuditLogService.Filter(null, null, at.plusSeconds(1), at), row -> {}));
+        verifyNoInteractions(dataSource);
+    }
+}
@@ -0,0 +1,65 @@
+package com.passmais.application.service;
+
+import com.passmais.domain.entity.User;
+import com.passmais.domain.enums.Role;
+import com.passmais.infrastructure.repository.UserRepository;
+import com.passmais.infrastructure.security.JwtService;
+import com.passmais.infrastructure.security.LoginAttemptTracker;
+import com.passmais.infrastructure.security.PasswordHashingExecutor;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AuthServiceTest {
+
+    private UserRepository users;
+    private User user;
+    private AuthService service;
+
+    @BeforeEach
+    void setup() {
+        users = Mockito.mock(UserRepository.class);
+        RefreshTokenService refreshTokens = Mockito.mock(RefreshTokenService.class);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("paciente@x.com");
+        user.setPassword("hash");
+        user.setRole(Role.PATIENT);
+        when(users.findByEmail("paciente@x.com")).thenReturn(Optional.of(user));
+        when(refreshTokens.startFamily(user)).thenReturn(
+                new RefreshTokenService.IssuedRefreshToken("refresh", UUID.randomUUID(), UUID.randomUUID()));
+        service = new AuthService(Mockito.mock(AuthenticationManager.class), users,
+                Mockito.mock(PasswordEncoder.class), Mockito.mock(JwtService.class),
+                Mockito.mock(UserSecurityStateCache.class), Mockito.mock(PasswordHashingExecutor.class),
+                Mockito.mock(LoginAttemptTracker.class), refreshTokens, 15);
+    }
+
+    @Test
+    void loginTouchesStaleTokenRevalidation() {
+        user.setLastTokenRevalidatedAt(Instant.now().minus(Duration.ofHours(1)));
+
+        service.login("paciente@x.com", "senha");
+
+        verify(users).touchTokenRevalidation(eq(user.getId()), notNull());
+    }
+
+    @Test
+    void loginSkipsWriteWhenRevalidationIsRecent() {
+        user.setLastTokenRevalidatedAt(Instant.now().minus(Duration.ofMinutes(1)));
+
+        service.login("paciente@x.com", "senha");
+
+        verify(users, never()).touchTokenRevalidation(any(), any());
+    }
+}
@@ -0,0 +1,101 @@
+package com.passmais.application.service;
+
+import com.passmais.application.service.AvailabilityService.WeeklyBlock;
+import com.passmais.domain.entity.Availability;
+import com.passmais.domain.entity.AvailabilityException;
+import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.domain.entity.User;
+import com.passmais.infrastructure.repository.AvailabilityExceptionRepository;
+import com.passmais.infrastructure.repository.AvailabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AvailabilityServiceTest {
+
+    private AvailabilityRepository repo;
+    private AvailabilityExceptionRepository exceptionRepo;
+    private AvailabilityService service;
+    private final DoctorProfile doctor = new DoctorProfile();
+
+    @BeforeEach
+    void setup() {
+        repo = Mockito.mock(AvailabilityRepository.class);
+        exceptionRepo = Mockito.mock(AvailabilityExceptionRepository.class);
+        service = new AvailabilityService(repo, exceptionRepo);
+        when(repo.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void replaceWeekRejectsOverlapRegardlessOfOrder() {
+        List<WeeklyBlock> blocks = List.of(
+                block(DayOfWeek.MONDAY, 10, 0, 11, 10),
+                block(DayOfWeek.MONDAY, 8, 0, 10, 20));
+        assertThrows(IllegalArgumentException.class, () -> service.replaceWeek(doctor, blocks));
+        verify(repo, never()).findByDoctor(any());
+    }
+
+    @Test
+    void replaceWeekRejectsBlocksNotMultipleOf35Minutes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.replaceWeek(doctor, List.of(block(DayOfWeek.TUESDAY, 8, 0, 9, 0))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaceWeekWritesOnlyTheDiff() {
+        Availability kept = existing(DayOfWeek.MONDAY, 8, 0, 9, 10);
+        Availability removed = existing(DayOfWeek.WEDNESDAY, 14, 0, 14, 35);
+        when(repo.findByDoctor(doctor)).thenReturn(List.of(kept, removed));
+
+        List<Availability> week = service.replaceWeek(doctor, List.of(
+                block(DayOfWeek.MONDAY, 8, 0, 9, 10),
+                block(DayOfWeek.FRIDAY, 9, 0, 9, 35)));
+
+        verify(repo).deleteAllInBatch(List.of(removed));
+        ArgumentCaptor<List<Availability>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(repo).saveAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        assertEquals(DayOfWeek.FRIDAY, inserted.getValue().get(0).getDayOfWeek());
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), week.stream().map(Availability::getDayOfWeek).toList());
+        assertSame(kept, week.get(0));
+    }
+
+    @Test
+    void deleteExceptionOnlyByOwnerOrAdmin() {
+        UUID ownerId = UUID.randomUUID();
+        UUID exceptionId = UUID.randomUUID();
+        AvailabilityException exception = AvailabilityException.builder()
+                .doctor(DoctorProfile.builder().user(User.builder().id(ownerId).build()).build())
+                .build();
+        when(exceptionRepo.findById(exceptionId)).thenReturn(Optional.of(exception));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.deleteException(exceptionId, UUID.randomUUID(), false));
+        assertThrows(ResourceNotFoundException.class, () -> service.deleteException(UUID.randomUUID(), ownerId, false));
+        verify(exceptionRepo, never()).delete(any());
+
+        service.deleteException(exceptionId, ownerId, false);
+        service.deleteException(exceptionId, null, true);
+        verify(exceptionRepo, times(2)).delete(exception);
+    }
+
+    private static WeeklyBlock block(DayOfWeek day, int h1, int m1, int h2, int m2) {
+        return new WeeklyBlock(day, LocalTime.of(h1, m1), LocalTime.of(h2, m2));
+    }
+
+    private Availability existing(DayOfWeek day, int h1, int m1, int h2, int m2) {
+        return Availability.builder().doctor(doctor).dayOfWeek(day)
+                .startTime(LocalTime.of(h1, m1)).endTime(LocalTime.of(h2, m2)).build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.passmais.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DoctorSearchServiceTest {
+
+    @Test
+    void normalizesTextAndBuildsPrefixTsQuery() {
+        assertEquals("card silva", DoctorSearchService.normalize("  Card   SILVA "));
+        assertNull(DoctorSearchService.normalize(" %_ "));
+        assertEquals("card:* & são:*", DoctorSearchService.prefixTsQuery("card-são"));
+    }
+
+    @Test
+    void firstPagesAreCachedUntilADoctorIsApproved() {
+        JdbcTemplate jdbc = Mockito.mock(JdbcTemplate.class);
+        DoctorSearchService service = new DoctorSearchService(jdbc, 100, 60);
+        var query = new DoctorSearchService.Query("Cardiologia", null, true);
+
+        service.search(query, null, 20);
+        service.search(new DoctorSearchService.Query("cardiologia ", null, true), null, 20);
+        verify(jdbc, times(1)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+
+        service.onDoctorApproved(new DoctorApprovedEvent(UUID.randomUUID()));
+        service.search(query, null, 20);
+        verify(jdbc, times(2)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+}
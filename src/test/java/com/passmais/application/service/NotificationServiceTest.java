@@ -0,0 +1,47 @@
+package com.passmais.application.service;
+
+import com.passmais.infrastructure.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class NotificationServiceTest {
+
+    private NotificationRepository repo;
+    private NotificationService service;
+    private final UUID user = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        repo = Mockito.mock(NotificationRepository.class);
+        service = new NotificationService(repo, 100, 60);
+    }
+
+    @Test
+    void unreadCountIsLoadedOnceAndAdjustedOnWrites() {
+        when(repo.countUnread(user)).thenReturn(5L);
+        when(repo.markRead(eq(user), any())).thenReturn(2);
+
+        assertEquals(5, service.unreadCount(user));
+        service.recordCreated(List.of(user, user));
+        service.markRead(user, List.of(UUID.randomUUID(), UUID.randomUUID()));
+        assertEquals(5, service.unreadCount(user));
+        service.markAllRead(user);
+        assertEquals(0, service.unreadCount(user));
+
+        verify(repo, times(1)).countUnread(user);
+    }
+
+    @Test
+    void recordCreatedDoesNotLoadUncachedCounters() {
+        service.recordCreated(List.of(user));
+        verifyNoInteractions(repo);
+    }
+}
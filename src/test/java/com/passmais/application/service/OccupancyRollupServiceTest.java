@@ -0,0 +1,118 @@
+package com.passmais.application.service;
+
+import com.passmais.infrastructure.repository.AvailabilityExceptionRepository;
+import com.passmais.infrastructure.repository.AvailabilityRepository;
+import com.passmais.infrastructure.repository.AvailabilityRepository.AvailabilityWindow;
+import com.passmais.infrastructure.scheduling.ClusterLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OccupancyRollupServiceTest {
+
+    record Window(DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) implements AvailabilityWindow {
+        public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+        public LocalTime getStartTime() { return startTime; }
+        public LocalTime getEndTime() { return endTime; }
+    }
+
+    private JdbcTemplate jdbc;
+    private AvailabilityRepository availabilityRepository;
+    private OccupancyRollupService service;
+
+    @BeforeEach
+    void setup() {
+        jdbc = Mockito.mock(JdbcTemplate.class);
+        availabilityRepository = Mockito.mock(AvailabilityRepository.class);
+        AvailabilityExceptionRepository exceptionRepository = Mockito.mock(AvailabilityExceptionRepository.class);
+        when(exceptionRepository.findWindows(any(), any(), any())).thenReturn(List.of());
+        service = new OccupancyRollupService(jdbc, Mockito.mock(PlatformTransactionManager.class),
+                availabilityRepository, exceptionRepository, Mockito.mock(ClusterLease.class),
+                "America/Sao_Paulo", 120, 90);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recomputeUpsertsSlotsAndCountsPerDay() throws Exception {
+        UUID doctorId = UUID.randomUUID();
+        LocalDate monday = LocalDate.of(2026, 3, 2);
+        // 08:00-10:00 comporta 3 slots de 35 minutos; terça não atende
+        when(availabilityRepository.findWindowsByDoctorId(doctorId)).thenReturn(
+                List.<AvailabilityWindow>of(new Window(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(10, 0))));
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        when(rs.getDate("day")).thenReturn(Date.valueOf(monday));
+        when(rs.getInt("booked")).thenReturn(2);
+        when(rs.getInt("canceled")).thenReturn(1);
+        when(rs.getInt("no_shows")).thenReturn(1);
+        doAnswer(inv -> {
+            inv.getArgument(1, RowCallbackHandler.class).processRow(rs);
+            return null;
+        }).when(jdbc).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        int n = service.recompute(doctorId, new TreeSet<>(List.of(monday, monday.plusDays(1))));
+
+        assertEquals(2, n);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbc).batchUpdate(anyString(), rows.capture());
+        Object[] mon = rows.getValue().get(0);
+        Object[] tue = rows.getValue().get(1);
+        assertArrayEquals(new Object[]{doctorId, Date.valueOf(monday), 3, 2, 1, 1}, mon);
+        assertArrayEquals(new Object[]{doctorId, Date.valueOf(monday.plusDays(1)), 0, 0, 0, 0}, tue);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rollHorizonMaterializesOnlyTheDayEnteringTheHorizonForEveryDoctor() {
+        ZoneId zone = ZoneId.of("America/Sao_Paulo");
+        LocalDate end = LocalDate.now(zone).plusDays(89);
+        when(jdbc.queryForObject(anyString(), eq(Timestamp.class), eq("doctor-occupancy-horizon")))
+                .thenReturn(Timestamp.from(end.minusDays(1).atStartOfDay(zone).toInstant()));
+        when(jdbc.queryForList(startsWith("select id from doctor_profiles"), eq(UUID.class)))
+                .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        assertEquals(2, service.rollHorizon());
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbc, times(2)).batchUpdate(anyString(), rows.capture());
+        for (List<Object[]> doctorRows : rows.getAllValues()) {
+            // dia sem consultas também ganha linha (0 ocupados)
+            assertEquals(1, doctorRows.size());
+            assertEquals(Date.valueOf(end), doctorRows.get(0)[1]);
+            assertEquals(0, doctorRows.get(0)[3]);
+        }
+        verify(jdbc).update(anyString(), eq(Timestamp.from(end.atStartOfDay(zone).toInstant())), eq("doctor-occupancy-horizon"));
+
+        // horizonte já coberto: nada a fazer
+        when(jdbc.queryForObject(anyString(), eq(Timestamp.class), eq("doctor-occupancy-horizon")))
+                .thenReturn(Timestamp.from(end.atStartOfDay(zone).toInstant()));
+        assertEquals(0, service.rollHorizon());
+    }
+
+    @Test
+    void rebuildRejectsInvertedOrHugeRange() {
+        LocalDate d = LocalDate.of(2026, 1, 10);
+        assertThrows(IllegalArgumentException.class, () -> service.rebuild(d, d.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.rebuild(d, d.plusDays(OccupancyRollupService.MAX_REBUILD_DAYS)));
+        verifyNoInteractions(jdbc);
+    }
+}
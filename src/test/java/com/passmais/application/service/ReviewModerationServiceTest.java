@@ -0,0 +1,61 @@
+package com.passmais.application.service;
+
+import com.passmais.application.service.ReviewModerationService.ModerationResult;
+import com.passmais.application.service.ReviewService.ModeratedReview;
+import com.passmais.domain.enums.ReviewStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReviewModerationServiceTest {
+
+    private final ReviewService reviewService = Mockito.mock(ReviewService.class);
+    private final JdbcTemplate jdbc = Mockito.mock(JdbcTemplate.class);
+    private final ReviewModerationService service = new ReviewModerationService(reviewService, jdbc, 600, 3);
+
+    @Test
+    void approveLogsChangedReviewsInOneInsertAndReportsSkipped() {
+        UUID moderator = UUID.randomUUID();
+        UUID a = UUID.randomUUID(), b = UUID.randomUUID(), lost = UUID.randomUUID();
+        UUID doctor = UUID.randomUUID();
+        when(reviewService.moderateClaimed(any(), eq(ReviewStatus.APPROVED), eq(moderator)))
+                .thenReturn(List.of(new ModeratedReview(a, doctor), new ModeratedReview(b, doctor)));
+
+        ModerationResult result = service.approve(moderator, List.of(a, b, lost));
+
+        assertEquals(List.of(a, b), result.updated());
+        assertEquals(List.of(lost), result.skipped());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc, times(1)).update(sql.capture(), args.capture());
+        assertTrue(sql.getValue().startsWith("insert into moderation_logs"));
+        assertEquals(10, args.getValue().length);
+        assertEquals("REVIEW_APPROVED", args.getValue()[2]);
+    }
+
+    @Test
+    void nothingChangedWritesNoLogs() {
+        UUID moderator = UUID.randomUUID();
+        UUID id = UUID.randomUUID();
+        when(reviewService.moderateClaimed(any(), eq(ReviewStatus.REJECTED), eq(moderator))).thenReturn(List.of());
+        ModerationResult result = service.reject(moderator, List.of(id));
+        assertEquals(List.of(id), result.skipped());
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void rejectsOversizedBatchesAndClaims() {
+        UUID moderator = UUID.randomUUID();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        assertThrows(IllegalArgumentException.class, () -> service.approve(moderator, ids));
+        assertThrows(IllegalArgumentException.class, () -> service.claim(moderator, 4));
+    }
+}
@@ -0,0 +1,151 @@
+package com.passmais.application.service;
+
+import com.passmais.domain.enums.AvailabilityExceptionType;
+import com.passmais.infrastructure.repository.AvailabilityExceptionRepository.ExceptionWindow;
+import com.passmais.infrastructure.repository.AvailabilityRepository.AvailabilityWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlotCalendarTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    // segunda-feira
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    record Window(DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) implements AvailabilityWindow {
+        public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+        public LocalTime getStartTime() { return startTime; }
+        public LocalTime getEndTime() { return endTime; }
+    }
+
+    record Exception(AvailabilityExceptionType type, LocalDate startDate, LocalDate endDate,
+                     LocalTime startTime, LocalTime endTime) implements ExceptionWindow {
+        public AvailabilityExceptionType getType() { return type; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public LocalTime getStartTime() { return startTime; }
+        public LocalTime getEndTime() { return endTime; }
+    }
+
+    @Test
+    void expandsWeeklyTemplateInto35MinuteSlots() {
+        SlotCalendar calendar = new SlotCalendar(List.of(
+                new Window(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 45)),
+                new Window(DayOfWeek.MONDAY, LocalTime.of(14, 0), LocalTime.of(14, 35))), ZONE);
+        List<SlotCalendar.DaySlots> days = calendar.freeSlots(MONDAY, MONDAY.plusDays(1), List.of(), Instant.EPOCH);
+        assertEquals(4, days.get(0).slots().size());
+        assertEquals(at(MONDAY, 8, 35), days.get(0).slots().get(1));
+        assertTrue(days.get(1).slots().isEmpty());
+    }
+
+    @Test
+    void removesOccupiedSlotsIncludingMisalignedAppointments() {
+        SlotCalendar calendar = new SlotCalendar(List.of(
+                new Window(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 45))), ZONE);
+        // 08:00 exato e um horário desalinhado (08:50) que invade os slots 08:35 e 09:10
+        List<Instant> occupied = List.of(at(MONDAY, 8, 0), at(MONDAY, 8, 50));
+        List<Instant> free = calendar.freeSlots(MONDAY, MONDAY, occupied, Instant.EPOCH).get(0).slots();
+        assertTrue(free.isEmpty());
+    }
+
+    @Test
+    void denseCalendarSixtyDays() {
+        List<Window> windows = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            windows.add(new Window(day, LocalTime.of(0, 0), LocalTime.of(23, 55)));
+        }
+        SlotCalendar calendar = new SlotCalendar(windows, ZONE);
+        LocalDate to = MONDAY.plusDays(59);
+        List<Instant> occupied = new ArrayList<>();
+        for (LocalDate d = MONDAY; !d.isAfter(to); d = d.plusDays(1)) {
+            for (int i = 0; i < 41; i += 2) {
+                occupied.add(d.atTime(LocalTime.ofSecondOfDay(i * 35 * 60L)).atZone(ZONE).toInstant());
+            }
+        }
+        List<SlotCalendar.DaySlots> days = calendar.freeSlots(MONDAY, to, occupied, Instant.EPOCH);
+        assertEquals(60, days.size());
+        // slots ímpares livres: 20 por dia, começando às 00:35
+        assertEquals(60 * 20, days.stream().mapToInt(d -> d.slots().size()).sum());
+        assertEquals(at(MONDAY, 0, 35), days.get(0).slots().get(0));
+    }
+
+    @Test
+    void appliesBlockedDaysPartialBlocksAndExtraWindows() {
+        List<Window> weekly = List.of(new Window(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(11, 30)));
+        LocalDate nextMonday = MONDAY.plusDays(7);
+        LocalDate saturday = MONDAY.plusDays(5);
+        SlotCalendar calendar = new SlotCalendar(weekly, List.of(
+                // feriado: dia inteiro
+                new Exception(AvailabilityExceptionType.BLOCKED, MONDAY, MONDAY, null, null),
+                // bloqueio parcial das 09:00 às 10:00
+                new Exception(AvailabilityExceptionType.BLOCKED, nextMonday, nextMonday, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                // sábado extra
+                new Exception(AvailabilityExceptionType.EXTRA, saturday, saturday, LocalTime.of(9, 0), LocalTime.of(10, 10))), ZONE);
+
+        List<SlotCalendar.DaySlots> days = calendar.freeSlots(MONDAY, nextMonday, List.of(at(saturday, 9, 0)), Instant.EPOCH);
+        assertTrue(days.get(0).slots().isEmpty());
+        assertEquals(List.of(at(saturday, 9, 35)), days.get(5).slots());
+        // 08:00-09:00 cabe um slot; 10:00-11:30 cabem dois (10:00 e 10:35)
+        assertEquals(List.of(at(nextMonday, 8, 0), at(nextMonday, 10, 0), at(nextMonday, 10, 35)), days.get(7).slots());
+    }
+
+    @Test
+    void mergeDayMatchesWeeklyTemplateWhenExceptionsDoNotTouchTheWindows() {
+        List<Window> weekly = List.of(
+                new Window(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 45)),
+                new Window(DayOfWeek.MONDAY, LocalTime.of(14, 0), LocalTime.of(16, 20)));
+        SlotCalendar plain = new SlotCalendar(weekly, ZONE);
+        SlotCalendar withException = new SlotCalendar(weekly, List.of(
+                new Exception(AvailabilityExceptionType.BLOCKED, MONDAY, MONDAY, LocalTime.of(20, 0), LocalTime.of(21, 0))), ZONE);
+        assertArrayEquals(plain.dayTemplates(MONDAY, MONDAY)[0], withException.dayTemplates(MONDAY, MONDAY)[0]);
+    }
+
+    // tempo por consulta: SlotCalendarBenchmark (perfil jmh)
+    @Test
+    void hundredsOfExceptionsPerYear() {
+        List<Window> windows = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            windows.add(new Window(day, LocalTime.of(8, 0), LocalTime.of(12, 40)));
+            windows.add(new Window(day, LocalTime.of(14, 0), LocalTime.of(18, 40)));
+        }
+        // ~400 exceções em um ano: bloqueios parciais em dias alternados, alguns dias inteiros e extras
+        List<Exception> exceptions = new ArrayList<>();
+        for (int d = 0; d < 365; d++) {
+            LocalDate date = MONDAY.plusDays(d);
+            if (d % 2 == 0) {
+                exceptions.add(new Exception(AvailabilityExceptionType.BLOCKED, date, date, LocalTime.of(9, 10), LocalTime.of(10, 20)));
+            }
+            if (d % 7 == 3) {
+                exceptions.add(new Exception(AvailabilityExceptionType.EXTRA, date, date, LocalTime.of(19, 0), LocalTime.of(21, 20)));
+            }
+            if (d % 30 == 0) {
+                exceptions.add(new Exception(AvailabilityExceptionType.BLOCKED, date, date.plusDays(1), null, null));
+            }
+        }
+        SlotCalendar calendar = new SlotCalendar(windows, exceptions, ZONE);
+        LocalDate to = MONDAY.plusDays(89);
+        List<SlotCalendar.DaySlots> days = calendar.freeSlots(MONDAY, to, List.of(), Instant.EPOCH);
+        assertEquals(90, days.size());
+        // dias 0 e 1 bloqueados inteiros
+        assertTrue(days.get(0).slots().isEmpty());
+        assertTrue(days.get(1).slots().isEmpty());
+        // dia 2: bloqueio 09:10-10:20 deixa 08:00, 08:35 e quatro slots a partir de 10:20, mais a tarde
+        assertEquals(2 + 4 + 8, days.get(2).slots().size());
+        assertEquals(at(MONDAY.plusDays(2), 10, 20), days.get(2).slots().get(2));
+        // dia 3: sem bloqueio, com janela extra 19:00-21:20
+        assertEquals(8 + 8 + 4, days.get(3).slots().size());
+    }
+
+    private static Instant at(LocalDate date, int hour, int minute) {
+        return date.atTime(hour, minute).atZone(ZONE).toInstant();
+    }
+}
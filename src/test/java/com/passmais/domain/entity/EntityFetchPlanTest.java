@@ -0,0 +1,37 @@
+package com.passmais.domain.entity;
+
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Associações to-one devem ser LAZY; cada caminho de leitura declara o que busca (projeção ou entity graph)
+public class EntityFetchPlanTest {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Appointment.class, AuditLog.class, Availability.class, Clinic.class, ClinicalNote.class,
+            Dependent.class, DoctorProfile.class, ModerationLog.class, Notification.class,
+            PatientProfile.class, Payment.class, RefreshToken.class, Review.class, User.class);
+
+    @Test
+    void toOneAssociationsAreLazy() {
+        List<String> eager = new ArrayList<>();
+        for (Class<?> entity : ENTITIES) {
+            for (Field f : entity.getDeclaredFields()) {
+                ManyToOne manyToOne = f.getAnnotation(ManyToOne.class);
+                OneToOne oneToOne = f.getAnnotation(OneToOne.class);
+                if ((manyToOne != null && manyToOne.fetch() != FetchType.LAZY)
+                        || (oneToOne != null && oneToOne.fetch() != FetchType.LAZY)) {
+                    eager.add(entity.getSimpleName() + "." + f.getName());
+                }
+            }
+        }
+        assertTrue(eager.isEmpty(), "Associações EAGER: " + eager);
+    }
+}
@@ -0,0 +1,59 @@
+package com.passmais.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.passmais.infrastructure.scheduling.ClusterLease;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AuditPartitionMaintenanceTest {
+
+    @Test
+    void parsesMonthOnlyFromOwnPartitionNames() {
+        assertEquals(Optional.of(YearMonth.of(2025, 3)), AuditPartitionMaintenance.partitionMonth("audit_logs", "audit_logs_202503"));
+        assertTrue(AuditPartitionMaintenance.partitionMonth("audit_logs", "moderation_logs_202503").isEmpty());
+        assertTrue(AuditPartitionMaintenance.partitionMonth("audit_logs", "audit_logs_legacy").isEmpty());
+        assertTrue(AuditPartitionMaintenance.partitionMonth("audit_logs", "audit_logs_202513").isEmpty());
+    }
+
+    @Test
+    void runHandsWorkToOwnThreadAndSkipsWhileStillRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(inv -> {
+            assertEquals("audit-archive", Thread.currentThread().getName());
+            started.countDown();
+            unblock.await(5, TimeUnit.SECONDS);
+            throw new SQLException("banco fora do ar");
+        });
+        ClusterLease lease = Mockito.mock(ClusterLease.class);
+        when(lease.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        AuditPartitionMaintenance maintenance = new AuditPartitionMaintenance(dataSource,
+                Mockito.mock(PlatformTransactionManager.class), lease, new ObjectMapper(), 3, 12, "target/audit-archive", 100, 600);
+        try {
+            // o thread do agendador volta logo; a exportação roda no executor próprio
+            maintenance.run();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            maintenance.run();
+            verify(lease, times(1)).tryAcquire(anyString(), any(Duration.class));
+
+            unblock.countDown();
+            verify(lease, timeout(5000)).release("audit-partitions");
+        } finally {
+            maintenance.destroy();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.passmais.infrastructure.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AuditTrailWriterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbc = Mockito.mock(JdbcTemplate.class);
+
+    private static AuditEvent event(boolean moderation) {
+        return new AuditEvent(UUID.randomUUID(), moderation, UUID.randomUUID(), "ACAO", "x", Instant.now());
+    }
+
+    @Test
+    void flushWritesMultiRowInsertsPerTable() {
+        AuditTrailWriter writer = new AuditTrailWriter(jdbc, registry, 16, 3, 60_000, 1_000);
+        for (int i = 0; i < 4; i++) {
+            writer.enqueue(event(false));
+        }
+        writer.enqueue(event(true));
+        writer.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc, times(3)).update(sql.capture(), args.capture());
+        // lote de 3 (só auditoria), depois 1 de auditoria + 1 de moderação
+        assertTrue(sql.getAllValues().get(0).startsWith("insert into audit_logs"));
+        assertEquals(15, args.getAllValues().get(0).length);
+        assertTrue(sql.getAllValues().get(2).startsWith("insert into moderation_logs (id, admin_user_id"));
+        assertEquals(5, registry.counter("audit.writer.written").count());
+    }
+
+    @Test
+    void dropsWhenBufferIsFullWithoutBlocking() {
+        AuditTrailWriter writer = new AuditTrailWriter(jdbc, registry, 4, 100, 60_000, 1_000);
+        for (int i = 0; i < 6; i++) {
+            writer.enqueue(event(false));
+        }
+        assertEquals(2, registry.counter("audit.writer.dropped").count());
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void fullBatchWakesWriterAndStopDrainsRemainder() throws Exception {
+        CountDownLatch firstWrite = new CountDownLatch(1);
+        when(jdbc.update(anyString(), any(Object[].class))).thenAnswer(inv -> {
+            firstWrite.countDown();
+            return 1;
+        });
+        // intervalo longo: só o lote cheio pode disparar a gravação antes do stop
+        AuditTrailWriter writer = new AuditTrailWriter(jdbc, registry, 64, 2, 60_000, 5_000);
+        writer.start();
+        writer.enqueue(event(false));
+        writer.enqueue(event(false));
+        assertTrue(firstWrite.await(5, TimeUnit.SECONDS));
+        assertEquals(1, registry.counter("audit.writer.backpressure").count());
+
+        writer.enqueue(event(false));
+        writer.stop();
+        assertEquals(3, registry.counter("audit.writer.written").count());
+    }
+
+    @Test
+    void writeFailureIsCountedAndDoesNotStopFlushing() {
+        when(jdbc.update(anyString(), any(Object[].class))).thenThrow(new RuntimeException("fora do ar")).thenReturn(1);
+        AuditTrailWriter writer = new AuditTrailWriter(jdbc, registry, 16, 1, 60_000, 1_000);
+        writer.enqueue(event(false));
+        writer.enqueue(event(false));
+        writer.flush();
+        assertEquals(1, registry.counter("audit.writer.failed").count());
+        assertEquals(1, registry.counter("audit.writer.written").count());
+    }
+
+    @Test
+    void ringBufferDeliversEachItemOnceUnderConcurrentProducers() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        Set<Integer> seen = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            Integer v = ring.poll();
+            if (v != null) {
+                assertTrue(seen.add(v), "item repetido: " + v);
+            }
+        }
+        pool.shutdown();
+        assertEquals(producers * perProducer, seen.size());
+        assertNull(ring.poll());
+    }
+}
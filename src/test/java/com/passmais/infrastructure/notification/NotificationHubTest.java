@@ -0,0 +1,57 @@
+package com.passmais.infrastructure.notification;
+
+import com.passmais.domain.enums.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationHubTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private NotificationHub hub;
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void enforcesGlobalAndPerUserConnectionLimits() {
+        hub = new NotificationHub(registry, 3, 2, 8, 60_000, 1);
+        UUID user = UUID.randomUUID();
+        hub.subscribe(user);
+        hub.subscribe(user);
+        // terceira conexão do mesmo usuário derruba a mais antiga
+        hub.subscribe(user);
+        assertEquals(2, hub.connectionCount());
+        hub.subscribe(UUID.randomUUID());
+        assertThrows(StreamCapacityExceededException.class, () -> hub.subscribe(UUID.randomUUID()));
+    }
+
+    @Test
+    void dropsSubscriberWhoseBufferOverflows() {
+        // pool que nunca executa: simula um cliente que não lê, a fila só enche
+        ExecutorService stalled = Executors.newSingleThreadExecutor();
+        stalled.execute(() -> {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        hub = new NotificationHub(registry, 10, 2, 2, 60_000, stalled);
+        UUID user = UUID.randomUUID();
+        hub.subscribe(user);
+        for (int i = 0; i < 10; i++) {
+            hub.onNotification(new NotificationEvent(UUID.randomUUID(), user, NotificationType.REMINDER, "x", Instant.now()));
+        }
+        assertEquals(0, hub.connectionCount());
+        assertTrue(registry.counter("notifications.stream.dropped").count() >= 1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.passmais.infrastructure.security;
+
+import com.passmais.domain.entity.User;
+import com.passmais.domain.enums.Role;
+import com.passmais.infrastructure.repository.RefreshTokenRepository;
+import com.passmais.infrastructure.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "d4a94c1d02b64f8a9f5d2d5a3e2f4b6c0a1d2e3f4a5b6c7d8e9f0a1b2c3d4e5";
+
+    private UserRepository userRepository;
+    private JwtService jwtService;
+    private RevokedTokenFamilies revokedFamilies;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        userRepository = Mockito.mock(UserRepository.class);
+        jwtService = new JwtService("passmais-api", SECRET, 60, 24, false, 0);
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository);
+        UserSecurityStateCache cache = new UserSecurityStateCache(userRepository, 100, 60);
+        revokedFamilies = new RevokedTokenFamilies(Mockito.mock(RefreshTokenRepository.class), jwtService);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, cache, revokedFamilies, true);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("paciente@passmais.com")
+                .password("hash")
+                .role(Role.PATIENT)
+                .build();
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachedUserCostsNoQueryPerRequest() throws Exception {
+        String token = jwtService.generateAccessToken(user.getEmail(), Map.of(JwtService.ROLE_CLAIM, "PATIENT"));
+        for (int i = 0; i < 100; i++) {
+            Authentication auth = authenticate(token);
+            assertNotNull(auth);
+            assertTrue(auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT")));
+        }
+        // só a primeira requisição carrega o estado de segurança; as demais saem do cache
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void legacyModeQueriesOncePerRequest() throws Exception {
+        filter = new JwtAuthenticationFilter(jwtService, new CustomUserDetailsService(userRepository),
+                new UserSecurityStateCache(userRepository, 100, 60), revokedFamilies, false);
+        String token = jwtService.generateAccessToken(user.getEmail(), Map.of(JwtService.ROLE_CLAIM, "PATIENT"));
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(authenticate(token));
+        }
+        verify(userRepository, times(10)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void lockedUserIsNotAuthenticated() throws Exception {
+        user.setAccountLockedUntil(Instant.now().plus(Duration.ofMinutes(15)));
+        String token = jwtService.generateAccessToken(user.getEmail(), Map.of(JwtService.ROLE_CLAIM, "PATIENT"));
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void revokedSessionAndRefreshTokensAreRejected() throws Exception {
+        UUID family = UUID.randomUUID();
+        String token = jwtService.generateAccessToken(user.getEmail(),
+                Map.of(JwtService.ROLE_CLAIM, "PATIENT", JwtService.FAMILY_CLAIM, family.toString()));
+        assertNotNull(authenticate(token));
+        revokedFamilies.markRevoked(family, Instant.now());
+        assertNull(authenticate(token));
+        assertNull(authenticate(jwtService.generateRefreshToken(user.getEmail(), UUID.randomUUID(), UUID.randomUUID())));
+    }
+
+    @Test
+    void invalidTokenIsIgnored() throws Exception {
+        assertNull(authenticate("nao-e-um-jwt"));
+        verifyNoInteractions(userRepository);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/appointments");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,74 @@
+package com.passmais.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceTest {
+
+    private static final String SECRET = "d4a94c1d02b64f8a9f5d2d5a3e2f4b6c0a1d2e3f4a5b6c7d8e9f0a1b2c3d4e5";
+    private static final String ISSUER = "passmais-api";
+
+    @Test
+    void verifyReturnsClaimsOnce() {
+        JwtService service = new JwtService(ISSUER, SECRET, 60, 24, false, 0);
+        String token = service.generateAccessToken("medico@passmais.com", Map.of(JwtService.ROLE_CLAIM, "DOCTOR"));
+        Optional<Claims> claims = service.verify(token);
+        assertTrue(claims.isPresent());
+        assertEquals("medico@passmais.com", claims.get().getSubject());
+        assertEquals("DOCTOR", claims.get().get(JwtService.ROLE_CLAIM, String.class));
+    }
+
+    @Test
+    void verifyRejectsTamperedAndForeignTokens() {
+        JwtService service = new JwtService(ISSUER, SECRET, 60, 24, true, 100);
+        String token = service.generateAccessToken("medico@passmais.com", Map.of());
+        assertTrue(service.verify(token).isPresent());
+        assertTrue(service.verify(token.substring(0, token.length() - 2) + "xx").isEmpty());
+        JwtService other = new JwtService("outro-emissor", SECRET, 60, 24, true, 100);
+        assertTrue(other.verify(token).isEmpty());
+        assertTrue(service.verify("").isEmpty());
+    }
+
+    @Test
+    void cacheHitReturnsSameClaims() {
+        JwtService cached = new JwtService(ISSUER, SECRET, 60, 24, true, 100);
+        String token = cached.generateAccessToken("paciente@passmais.com", Map.of(JwtService.ROLE_CLAIM, "PATIENT"));
+        Claims first = cached.verify(token).orElseThrow();
+        assertSame(first, cached.verify(token).orElseThrow());
+
+        JwtService uncached = new JwtService(ISSUER, SECRET, 60, 24, false, 0);
+        assertNotSame(uncached.verify(token).orElseThrow(), uncached.verify(token).orElseThrow());
+    }
+
+    @Test
+    void expiredTokenIsEvictedFromCache() throws InterruptedException {
+        JwtService cached = new JwtService(ISSUER, SECRET, 60, 24, true, 100);
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Instant exp = Instant.now().plusSeconds(1).truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        String token = Jwts.builder()
+                .setIssuer(ISSUER)
+                .setSubject("paciente@passmais.com")
+                .setExpiration(Date.from(exp))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        assertTrue(cached.verify(token).isPresent());
+
+        // espera o `exp` passar: a entrada em cache não pode sobreviver ao token
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), exp).toMillis()) + 50);
+        assertTrue(cached.verify(token).isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.passmais.infrastructure.security;
+
+import com.passmais.infrastructure.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LoginAttemptTrackerTest {
+
+    private static final String EMAIL = "paciente@passmais.com";
+
+    private UserRepository repo;
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setup() {
+        repo = Mockito.mock(UserRepository.class);
+        tracker = new LoginAttemptTracker(repo);
+    }
+
+    @Test
+    void locksAfterMaxAttemptsWithoutTouchingDatabase() {
+        Instant now = Instant.now();
+        for (int i = 1; i < LoginAttemptTracker.MAX_ATTEMPTS; i++) {
+            assertNull(tracker.recordFailure(EMAIL, 0, now));
+        }
+        assertFalse(tracker.isLocked(EMAIL, now));
+        Instant lockedUntil = tracker.recordFailure(EMAIL, 0, now);
+        assertEquals(now.plus(LoginAttemptTracker.LOCK_DURATION).toEpochMilli(), lockedUntil.toEpochMilli());
+        assertTrue(tracker.isLocked(EMAIL, now));
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void countsAttemptsPersistedByOtherNodes() {
+        Instant now = Instant.now();
+        assertNotNull(tracker.recordFailure(EMAIL, LoginAttemptTracker.MAX_ATTEMPTS - 1, now));
+    }
+
+    @Test
+    void concurrentFailuresLockExactlyOnceAndFlushAsSingleWrite() throws Exception {
+        Instant now = Instant.now();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        AtomicInteger transitions = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            futures.add(pool.submit(() -> {
+                if (tracker.recordFailure(EMAIL, 0, now) != null) {
+                    transitions.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+        assertEquals(1, transitions.get());
+
+        tracker.flush();
+        verify(repo, times(1)).applyFailedLoginAttempts(eq(EMAIL), eq(1_000), eq(LoginAttemptTracker.MAX_ATTEMPTS), eq(true), any());
+        tracker.flush();
+        verifyNoMoreInteractions(repo);
+    }
+
+    @Test
+    void successOnCleanAccountDoesNotWrite() {
+        tracker.recordSuccess(EMAIL, false);
+        tracker.flush();
+        verifyNoInteractions(repo);
+
+        tracker.recordFailure(EMAIL, 0, Instant.now());
+        tracker.recordSuccess(EMAIL, false);
+        tracker.flush();
+        verify(repo).resetLoginState(EMAIL);
+        verify(repo, never()).applyFailedLoginAttempts(anyString(), anyInt(), anyInt(), anyBoolean(), any());
+    }
+}
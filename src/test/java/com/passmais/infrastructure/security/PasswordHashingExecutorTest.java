@@ -0,0 +1,69 @@
+package com.passmais.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingExecutorTest {
+
+    @Test
+    void overflowIsRejectedImmediately() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.submit(() -> await(release));
+            executor.submit(() -> await(release));
+            assertThrows(PasswordHashingOverloadedException.class, () -> executor.submit(() -> await(release)));
+        } finally {
+            release.countDown();
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void upgradesHashWhenStrengthIncreases() {
+        BCryptPasswordEncoder oldEncoder = new BCryptPasswordEncoder(4);
+        BCryptPasswordEncoder newEncoder = new BCryptPasswordEncoder(6);
+        String oldHash = oldEncoder.encode("segredo");
+        assertTrue(newEncoder.matches("segredo", oldHash));
+        assertTrue(newEncoder.upgradeEncoding(oldHash));
+        assertFalse(newEncoder.upgradeEncoding(newEncoder.encode("segredo")));
+    }
+
+    // a thread da requisição só enfileira: recebe o future pendente e o hash roda no pool dedicado
+    @Test
+    void submitDoesNotBlockRequestThread() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = executor.submit(() -> {
+                await(release);
+                return Thread.currentThread().getName();
+            });
+            CompletableFuture<String> queued = executor.submit(() -> Thread.currentThread().getName());
+            assertFalse(running.isDone());
+            assertFalse(queued.isDone());
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS).startsWith("password-hashing-"));
+            assertTrue(queued.get(5, TimeUnit.SECONDS).startsWith("password-hashing-"));
+        } finally {
+            release.countDown();
+            executor.destroy();
+        }
+    }
+
+    private static Boolean await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+}
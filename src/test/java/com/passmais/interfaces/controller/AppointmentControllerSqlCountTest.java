@@ -0,0 +1,114 @@
+package com.passmais.interfaces.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.domain.entity.PatientProfile;
+import com.passmais.domain.entity.User;
+import com.passmais.domain.enums.Role;
+import com.passmais.infrastructure.repository.DoctorProfileRepository;
+import com.passmais.infrastructure.repository.PatientProfileRepository;
+import com.passmais.infrastructure.repository.UserRepository;
+import com.passmais.infrastructure.security.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Orçamento de comandos SQL por endpoint: regressões N+1 quebram o build. Requer PostgreSQL real.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.passmais.interfaces.controller.SqlStatementCounter")
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+public class AppointmentControllerSqlCountTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DoctorProfileRepository doctorRepo;
+    @Autowired
+    private PatientProfileRepository patientRepo;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<UUID> createdUsers = new ArrayList<>();
+    private DoctorProfile doctor;
+    private PatientProfile patient;
+    private String patientToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        User doctorUser = user(Role.DOCTOR);
+        User patientUser = user(Role.PATIENT);
+        doctor = doctorRepo.save(DoctorProfile.builder().user(doctorUser).crm("CRM-" + UUID.randomUUID()).build());
+        patient = patientRepo.save(PatientProfile.builder().user(patientUser).cpf("000.000.000-00").build());
+        patientToken = jwtService.generateAccessToken(patientUser.getEmail(), Map.of(JwtService.ROLE_CLAIM, "PATIENT"));
+        // aquece o cache de estado de segurança do filtro JWT
+        mvc.perform(authorized(get("/api/appointments/" + UUID.randomUUID())));
+    }
+
+    @AfterEach
+    void cleanup() {
+        userRepository.deleteAllById(createdUsers);
+    }
+
+    @Test
+    void scheduleGetAndCancelStayWithinStatementBudget() throws Exception {
+        Instant when = Instant.now().plus(Duration.ofDays(5)).truncatedTo(ChronoUnit.HOURS);
+        String body = "{\"doctorId\":\"" + doctor.getId() + "\",\"patientId\":\"" + patient.getId() + "\",\"dateTime\":\"" + when + "\"}";
+
+        // médico + paciente + insert
+        MvcResult created = assertStatements(3, authorized(post("/api/appointments").contentType(MediaType.APPLICATION_JSON).content(body)));
+        String id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText();
+
+        // projeção única (usuários de paciente e médico no mesmo select)
+        assertStatements(1, authorized(get("/api/appointments/" + id)));
+        // carga + merge (select) + update
+        assertStatements(3, authorized(post("/api/appointments/" + id + "/cancel")));
+    }
+
+    private MvcResult assertStatements(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        SqlStatementCounter.reset();
+        MvcResult result = mvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn();
+        int count = SqlStatementCounter.count();
+        assertTrue(count <= budget, "Esperado no máximo " + budget + " comandos SQL, executados " + count);
+        return result;
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + patientToken);
+    }
+
+    private User user(Role role) {
+        User u = userRepository.save(User.builder()
+                .name("Teste SQL")
+                .email(UUID.randomUUID() + "@passmais.test")
+                .password("x")
+                .role(role)
+                .build());
+        createdUsers.add(u.getId());
+        return u;
+    }
+}
@@ -0,0 +1,79 @@
+package com.passmais.interfaces.controller;
+
+import com.passmais.application.service.AppointmentImportService;
+import com.passmais.application.service.AppointmentService;
+import com.passmais.application.service.ResourceNotFoundException;
+import com.passmais.domain.enums.AppointmentStatus;
+import com.passmais.infrastructure.repository.AppointmentRepository;
+import com.passmais.infrastructure.repository.DoctorProfileRepository;
+import com.passmais.infrastructure.repository.PatientProfileRepository;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import com.passmais.interfaces.mapper.AppointmentMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AppointmentControllerTest {
+
+    private final UUID appointmentId = UUID.randomUUID();
+    private final UUID patientUserId = UUID.randomUUID();
+    private final UUID doctorUserId = UUID.randomUUID();
+    private UserSecurityStateCache securityStateCache;
+    private AppointmentController controller;
+
+    @BeforeEach
+    void setup() {
+        AppointmentRepository appointments = Mockito.mock(AppointmentRepository.class);
+        securityStateCache = Mockito.mock(UserSecurityStateCache.class);
+        when(appointments.findAccessSummaryById(appointmentId)).thenReturn(Optional.of(summary()));
+        controller = new AppointmentController(Mockito.mock(AppointmentService.class), appointments,
+                Mockito.mock(DoctorProfileRepository.class), Mockito.mock(PatientProfileRepository.class),
+                Mockito.mock(AppointmentMapper.class), Mockito.mock(AppointmentImportService.class), securityStateCache);
+    }
+
+    @Test
+    void otherPatientGetsNotFound() {
+        when(securityStateCache.get("outro@x.com")).thenReturn(Optional.of(new UserSecurityState(UUID.randomUUID(), null)));
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.get(appointmentId, auth("outro@x.com", "ROLE_PATIENT")));
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.get(UUID.randomUUID(), auth("outro@x.com", "ROLE_PATIENT")));
+    }
+
+    @Test
+    void participantsAndAdminCanRead() {
+        when(securityStateCache.get("paciente@x.com")).thenReturn(Optional.of(new UserSecurityState(patientUserId, null)));
+        when(securityStateCache.get("medico@x.com")).thenReturn(Optional.of(new UserSecurityState(doctorUserId, null)));
+        assertEquals(200, controller.get(appointmentId, auth("paciente@x.com", "ROLE_PATIENT")).getStatusCode().value());
+        assertEquals(200, controller.get(appointmentId, auth("medico@x.com", "ROLE_DOCTOR")).getStatusCode().value());
+        assertEquals(200, controller.get(appointmentId, auth("admin@x.com", "ROLE_SUPERADMIN")).getStatusCode().value());
+    }
+
+    private AppointmentRepository.AppointmentAccessSummary summary() {
+        return new AppointmentRepository.AppointmentAccessSummary() {
+            public UUID getId() { return appointmentId; }
+            public UUID getDoctorId() { return UUID.randomUUID(); }
+            public UUID getPatientId() { return UUID.randomUUID(); }
+            public Instant getDateTime() { return Instant.now(); }
+            public AppointmentStatus getStatus() { return AppointmentStatus.PENDING; }
+            public UUID getPatientUserId() { return patientUserId; }
+            public UUID getDoctorUserId() { return doctorUserId; }
+        };
+    }
+
+    private static Authentication auth(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+}
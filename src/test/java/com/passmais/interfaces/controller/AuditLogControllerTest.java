@@ -0,0 +1,63 @@
+package com.passmais.interfaces.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.passmais.application.service.AuditLogService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+public class AuditLogControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportWritesOneJsonObjectPerLine() throws Exception {
+        AuditLogService service = Mockito.mock(AuditLogService.class);
+        UUID actor = UUID.randomUUID();
+        Instant at = Instant.parse("2024-03-01T12:00:00Z");
+        AuditLogService.Row first = new AuditLogService.Row(UUID.randomUUID(), actor, "LOGIN", "a\nb", at);
+        AuditLogService.Row second = new AuditLogService.Row(UUID.randomUUID(), null, "LOGOUT", null, at.minusSeconds(1));
+        doAnswer(inv -> {
+            Consumer<AuditLogService.Row> sink = inv.getArgument(1);
+            sink.accept(first);
+            sink.accept(second);
+            return null;
+        }).when(service).export(any(), any(Consumer.class));
+
+        AuditLogController controller = new AuditLogController(service, objectMapper, 600_000);
+        var response = controller.export(null, null, null, null, new ServletWebRequest(new MockHttpServletRequest()));
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+
+        var line = objectMapper.readTree(lines[0]);
+        assertEquals(first.id().toString(), line.get("id").asText());
+        assertEquals(actor.toString(), line.get("actorUserId").asText());
+        assertEquals("LOGIN", line.get("action").asText());
+        // quebra de linha no conteúdo é escapada, sem partir o registro
+        assertEquals("a\nb", line.get("details").asText());
+        assertEquals("2024-03-01T12:00:00Z", line.get("createdAt").asText());
+        assertEquals("LOGOUT", objectMapper.readTree(lines[1]).get("action").asText());
+    }
+}
@@ -0,0 +1,82 @@
+package com.passmais.interfaces.controller;
+
+import com.passmais.application.service.AvailabilityService;
+import com.passmais.application.service.ResourceNotFoundException;
+import com.passmais.domain.entity.DoctorProfile;
+import com.passmais.domain.entity.User;
+import com.passmais.domain.enums.AvailabilityExceptionType;
+import com.passmais.infrastructure.repository.DoctorProfileRepository;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import com.passmais.interfaces.dto.AvailabilityExceptionCreateDTO;
+import com.passmais.interfaces.dto.WeeklyTemplateDTO;
+import com.passmais.interfaces.mapper.AvailabilityExceptionMapper;
+import com.passmais.interfaces.mapper.AvailabilityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AvailabilityControllerTest {
+
+    private final UUID doctorId = UUID.randomUUID();
+    private final UUID ownerUserId = UUID.randomUUID();
+    private final DoctorProfile doctor = DoctorProfile.builder().id(doctorId).user(User.builder().id(ownerUserId).build()).build();
+    private AvailabilityService availabilityService;
+    private UserSecurityStateCache securityStateCache;
+    private AvailabilityController controller;
+
+    @BeforeEach
+    void setup() {
+        availabilityService = Mockito.mock(AvailabilityService.class);
+        securityStateCache = Mockito.mock(UserSecurityStateCache.class);
+        DoctorProfileRepository doctors = Mockito.mock(DoctorProfileRepository.class);
+        when(doctors.findById(doctorId)).thenReturn(Optional.of(doctor));
+        when(securityStateCache.get("dono@x.com")).thenReturn(Optional.of(new UserSecurityState(ownerUserId, null)));
+        when(securityStateCache.get("outro@x.com")).thenReturn(Optional.of(new UserSecurityState(UUID.randomUUID(), null)));
+        controller = new AvailabilityController(availabilityService, doctors, Mockito.mock(AvailabilityMapper.class),
+                Mockito.mock(AvailabilityExceptionMapper.class), securityStateCache);
+    }
+
+    @Test
+    void otherDoctorCannotReplaceWeek() {
+        WeeklyTemplateDTO empty = new WeeklyTemplateDTO(List.of());
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.replaceWeek(doctorId, empty, auth("outro@x.com", "ROLE_DOCTOR")));
+        verifyNoInteractions(availabilityService);
+
+        controller.replaceWeek(doctorId, empty, auth("dono@x.com", "ROLE_DOCTOR"));
+        controller.replaceWeek(doctorId, empty, auth("admin@x.com", "ROLE_ADMIN"));
+        verify(availabilityService, times(2)).replaceWeek(same(doctor), eq(List.of()));
+    }
+
+    @Test
+    void otherDoctorCannotCreateException() {
+        AvailabilityExceptionCreateDTO dto = new AvailabilityExceptionCreateDTO(AvailabilityExceptionType.BLOCKED,
+                LocalDate.now(), LocalDate.now().plusDays(365), null, null, "férias");
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.createException(doctorId, dto, auth("outro@x.com", "ROLE_DOCTOR")));
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.createException(UUID.randomUUID(), dto, auth("dono@x.com", "ROLE_DOCTOR")));
+        verifyNoInteractions(availabilityService);
+
+        controller.createException(doctorId, dto, auth("dono@x.com", "ROLE_DOCTOR"));
+        verify(availabilityService).createException(same(doctor), eq(AvailabilityExceptionType.BLOCKED),
+                any(), any(), isNull(), isNull(), eq("férias"));
+    }
+
+    private static Authentication auth(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+}
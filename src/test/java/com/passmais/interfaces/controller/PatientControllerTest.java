@@ -0,0 +1,64 @@
+package com.passmais.interfaces.controller;
+
+import com.passmais.application.pagination.KeysetPage;
+import com.passmais.application.service.AppointmentService;
+import com.passmais.application.service.ResourceNotFoundException;
+import com.passmais.infrastructure.repository.PatientProfileRepository;
+import com.passmais.infrastructure.security.UserSecurityState;
+import com.passmais.infrastructure.security.UserSecurityStateCache;
+import com.passmais.interfaces.mapper.AppointmentMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PatientControllerTest {
+
+    private final UUID patientId = UUID.randomUUID();
+    private final UUID ownerUserId = UUID.randomUUID();
+    private AppointmentService appointmentService;
+    private UserSecurityStateCache securityStateCache;
+    private PatientController controller;
+
+    @BeforeEach
+    void setup() {
+        appointmentService = Mockito.mock(AppointmentService.class);
+        securityStateCache = Mockito.mock(UserSecurityStateCache.class);
+        PatientProfileRepository patients = Mockito.mock(PatientProfileRepository.class);
+        when(patients.findUserIdById(patientId)).thenReturn(Optional.of(ownerUserId));
+        when(appointmentService.listByPatient(any(), any(), any(), anyInt())).thenReturn(new KeysetPage<>(List.of(), null));
+        controller = new PatientController(appointmentService, Mockito.mock(AppointmentMapper.class), patients, securityStateCache);
+    }
+
+    @Test
+    void otherPatientGetsNotFound() {
+        when(securityStateCache.get("outro@x.com")).thenReturn(Optional.of(new UserSecurityState(UUID.randomUUID(), null)));
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.appointments(patientId, null, null, null, auth("outro@x.com", "ROLE_PATIENT")));
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.appointments(UUID.randomUUID(), null, null, null, auth("outro@x.com", "ROLE_PATIENT")));
+        verifyNoInteractions(appointmentService);
+    }
+
+    @Test
+    void ownerAndAdminCanList() {
+        when(securityStateCache.get("dono@x.com")).thenReturn(Optional.of(new UserSecurityState(ownerUserId, null)));
+        assertEquals(200, controller.appointments(patientId, null, null, null, auth("dono@x.com", "ROLE_PATIENT")).getStatusCode().value());
+        assertEquals(200, controller.appointments(patientId, null, null, null, auth("admin@x.com", "ROLE_ADMIN")).getStatusCode().value());
+        verify(appointmentService, times(2)).listByPatient(eq(patientId), any(), any(), anyInt());
+    }
+
+    private static Authentication auth(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.passmais.interfaces.controller;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta os comandos SQL preparados pela thread atual (registrado via hibernate.session_factory.statement_inspector)
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}